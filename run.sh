@@ -5,4 +5,25 @@
 #./gradlew build
 
 # Run tests
-#./gradlew test
\ No newline at end of file
+#./gradlew test
+
+# Fast startup mode (Spring AOT + AppCDS, seed employees from CSV)
+#./gradlew cdsTrainingRun
+#java -XX:SharedArchiveFile=build/cds/application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast -cp build/cds/Zadanie1-0.0.1-SNAPSHOT.jar Main
+
+# Compare startup time of both modes
+#./gradlew startupTimeComparison
+
+# Run JMH benchmarks (JSON results in build/reports/jmh/)
+#./gradlew jmh
+
+# Generate a synthetic dataset / run the scale-test harness
+#./gradlew generateDataset -Pdataset="--rows=1M --companies=5000 --zipf=1.2 --output=build/data/employees.csv"
+#./gradlew scaleTest -Pdataset="--rows=1M --duplicate-rate=0.01 --malformed-rate=0.001" -PscaleHeap=8g
+
+# Record ingestion phases with Java Flight Recorder (zadanie1.* events) and summarize them
+#java -XX:StartFlightRecording=filename=build/ingestion.jfr,settings=profile -jar build/libs/Zadanie1-0.0.1-SNAPSHOT.jar
+#jfr summary build/ingestion.jfr && jfr print --categories Zadanie1 build/ingestion.jfr
+
+# Export results to files instead of printing them (csv|json, optional gzip)
+#./gradlew bootRun --args="--app.export.dir=build/export --app.export.format=csv --app.export.gzip=true"
\ No newline at end of file
@@ -0,0 +1,45 @@
+package service;
+
+import com.google.gson.Gson;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// Samo parsowanie odpowiedzi API - bez sieci
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiServiceBenchmark {
+	private static final int COMPANIES = 50;
+
+	@Param({ "10", "1000", "100000" }) public int users;
+
+	private ApiService apiService;
+	private String payload;
+
+	@Setup
+	public void setUp() {
+		apiService = new ApiService(HttpClient.newHttpClient(), new Gson(), "http://localhost/users");
+		payload = BenchmarkData.apiJson(users, COMPANIES);
+	}
+
+	@TearDown
+	public void tearDown() {
+		apiService.close();
+	}
+
+	@Benchmark
+	public List<Employee> parseApiResponse() {
+		return apiService.parseApiResponse(payload);
+	}
+}
\ No newline at end of file
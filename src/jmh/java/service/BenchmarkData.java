@@ -0,0 +1,72 @@
+package service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import model.Employee;
+import model.Position;
+
+// Deterministyczne dane dla benchmarków - te same wartości przy każdym uruchomieniu
+final class BenchmarkData {
+	private static final Position[] POSITIONS = Position.values();
+
+	private BenchmarkData() {}
+
+	static Employee employee(int id, int companies) {
+		Position position = POSITIONS[id % POSITIONS.length];
+		return new Employee("First" + id,
+							"Last" + (id * 7919 % 100_000),
+							"employee" + id + "@example.com",
+							"Company" + (id % companies),
+							position,
+							position.getBaseSalary().add(BigDecimal.valueOf(id % 5_000)));
+	}
+
+	static List<Employee> employees(int fromId, int count, int companies) {
+		List<Employee> employees = new ArrayList<>(count);
+		for (int id = fromId; id < fromId + count; id++) { employees.add(employee(id, companies)); }
+		return employees;
+	}
+
+	static EmployeeService populatedService(int size, int companies) {
+		EmployeeService employeeService = new EmployeeService();
+		employeeService.addEmployees(employees(0, size, companies));
+		return employeeService;
+	}
+
+	static void writeCsv(Path file, int rows, int companies) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			writer.write("firstName,lastName,email,company,position,salary");
+			writer.newLine();
+			for (int id = 0; id < rows; id++) {
+				Employee employee = employee(id, companies);
+				writer.write(employee.getFirstName() + "," + employee.getLastName() + "," + employee.getEmail() + "," +
+							 employee.getCompany() + "," + employee.getPosition().name() + "," + employee.getSalary());
+				writer.newLine();
+			}
+		}
+	}
+
+	static String apiJson(int users, int companies) {
+		StringBuilder json = new StringBuilder("[");
+		for (int id = 0; id < users; id++) {
+			if (id > 0) { json.append(','); }
+			json.append("{\"id\":")
+			  .append(id)
+			  .append(",\"name\":\"First")
+			  .append(id)
+			  .append(" Last")
+			  .append(id)
+			  .append("\",\"email\":\"user")
+			  .append(id)
+			  .append("@example.com\",\"company\":{\"name\":\"Company")
+			  .append(id % companies)
+			  .append("\"}}");
+		}
+		return json.append(']').toString();
+	}
+}
\ No newline at end of file
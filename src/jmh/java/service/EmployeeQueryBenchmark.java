@@ -0,0 +1,88 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import model.ApproximateStatistics;
+import model.CompanyStatistics;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeQueryBenchmark {
+	private static final int COMPANIES = 500;
+
+	@Param({ "1000", "10000", "100000" }) public int storeSize;
+
+	private EmployeeService employeeService;
+
+	@Setup
+	public void setUp() {
+		employeeService = BenchmarkData.populatedService(storeSize, COMPANIES);
+	}
+
+	@Benchmark
+	public List<Employee> findByCompany() {
+		return employeeService.findByCompany("Company42");
+	}
+
+	@Benchmark
+	public List<Employee> topEarnersInCompany() {
+		return employeeService.query(EmployeeQuery.builder()
+									   .company("Company42")
+									   .sortBy(EmployeeQuery.SortKey.SALARY, true)
+									   .limit(10)
+									   .build());
+	}
+
+	@Benchmark
+	public List<Employee> salaryRangeForPosition() {
+		return employeeService.query(EmployeeQuery.builder()
+									   .position(Position.MANAGER)
+									   .salaryBetween(BigDecimal.valueOf(12_000), BigDecimal.valueOf(12_500))
+									   .build());
+	}
+
+	@Benchmark
+	public List<Employee> findTopEarners() {
+		return employeeService.findTopEarners(100);
+	}
+
+	@Benchmark
+	public Optional<BigDecimal> medianSalaryOfPosition() {
+		return employeeService.salaryPercentile(Position.PROGRAMISTA, 0.5);
+	}
+
+	@Benchmark
+	public Optional<Employee> findHighestPaidEmployee() {
+		return employeeService.findHighestPaidEmployee();
+	}
+
+	@Benchmark
+	public Map<String, CompanyStatistics> getCompanyStatistics() {
+		return employeeService.getCompanyStatistics();
+	}
+
+	@Benchmark
+	public Map<String, ApproximateStatistics> getApproximateCompanyStatistics() {
+		return employeeService.getApproximateCompanyStatistics();
+	}
+
+	@Benchmark
+	public Optional<BigDecimal> calculateAverageSalary() {
+		return employeeService.calculateAverageSalary();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Wstawianie do magazynu o zadanym rozmiarze; magazyn jest odtwarzany przed każdą iteracją,
+// a iteracja mierzy BATCH wstawień, żeby rozmiar nie "odpływał" w trakcie pomiaru
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = EmployeeServiceBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = EmployeeServiceBenchmark.BATCH)
+public class EmployeeServiceBenchmark {
+	static final int BATCH = 1_000;
+	private static final int COMPANIES = 500;
+
+	@Param({ "1000", "10000", "100000" }) public int storeSize;
+
+	private EmployeeService employeeService;
+	private List<Employee> batch;
+	private int nextId;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		employeeService = BenchmarkData.populatedService(storeSize, COMPANIES);
+		batch = BenchmarkData.employees(storeSize, BATCH, COMPANIES);
+		nextId = 0;
+	}
+
+	@Benchmark
+	public void addEmployee() {
+		employeeService.addEmployee(batch.get(nextId++));
+	}
+
+	@Benchmark
+	@Measurement(iterations = 10, batchSize = 1)
+	@Warmup(iterations = 5, batchSize = 1)
+	public void addEmployees() {
+		employeeService.addEmployees(batch);
+	}
+}
\ No newline at end of file
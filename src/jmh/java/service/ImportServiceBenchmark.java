@@ -0,0 +1,51 @@
+package service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import model.ImportSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImportServiceBenchmark {
+	private static final int COMPANIES = 500;
+
+	@Param({ "1000", "10000", "100000" }) public int rows;
+
+	private Path csvFile;
+	private ImportService importService;
+
+	@Setup
+	public void createFile() throws IOException {
+		csvFile = Files.createTempFile("employees-benchmark", ".csv");
+		BenchmarkData.writeCsv(csvFile, rows, COMPANIES);
+	}
+
+	// Każde wywołanie importuje do pustego magazynu - inaczej wszystkie wiersze byłyby duplikatami
+	@Setup(Level.Invocation)
+	public void freshStore() {
+		importService = new ImportService(new EmployeeService());
+	}
+
+	@Benchmark
+	public ImportSummary importFromCsv() {
+		return importService.importFromCsv(csvFile);
+	}
+
+	@TearDown
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(csvFile);
+	}
+}
\ No newline at end of file
@@ -1,26 +1,34 @@
-import exception.ApiException;
+import exception.ExportException;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.Callable;
 import model.CompanyStatistics;
 import model.Employee;
+import model.ExportFormat;
 import model.ImportSummary;
 import model.Position;
+import model.SourceLoadResult;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
-import org.springframework.context.annotation.ImportResource;
 import service.ApiService;
 import service.EmployeeService;
+import service.ExportService;
 import service.ImportService;
+import service.SourceLoader;
 
 @SpringBootApplication
 @ComponentScan(basePackages = { "service", "config" })
-@ImportResource("classpath:employees-beans.xml")
 public class Main implements CommandLineRunner {
 
 	public static final String RESET = "\u001B[0m";
@@ -30,16 +38,27 @@ public class Main implements CommandLineRunner {
 	private final EmployeeService employeeService;
 	private final ImportService importService;
 	private final ApiService apiService;
-	private final List<Employee> xmlEmployees;
+	private final SourceLoader sourceLoader;
+	private final ExportService exportService;
+	private final List<Employee> seedEmployees;
+
+	// Pusty katalog = wypisywanie na konsolę jak dotychczas
+	@Value("${app.export.dir:}") private String exportDir;
+	@Value("${app.export.format:csv}") private String exportFormat;
+	@Value("${app.export.gzip:false}") private boolean exportGzip;
 
 	public Main(EmployeeService employeeService,
 				ImportService importService,
 				ApiService apiService,
-				@Qualifier("xmlEmployees") List<Employee> xmlEmployees) {
+				SourceLoader sourceLoader,
+				ExportService exportService,
+				@Qualifier("seedEmployees") List<Employee> seedEmployees) {
 		this.employeeService = employeeService;
 		this.importService = importService;
 		this.apiService = apiService;
-		this.xmlEmployees = xmlEmployees;
+		this.sourceLoader = sourceLoader;
+		this.exportService = exportService;
+		this.seedEmployees = seedEmployees;
 	}
 
 	public static void main(String[] args) {
@@ -53,38 +72,39 @@ public class Main implements CommandLineRunner {
 		System.out.println("Starting Employee Management Application");
 		System.out.println("========================================\n");
 
-		System.out.println(GREEN + "--- Dodawanie pracowników z XML ---" + RESET);
-		System.out.println("Ładowanie " + xmlEmployees.size() + " pracowników z konfiguracji XML...");
-		employeeService.addEmployees(xmlEmployees);
-		System.out.println("Dodano pracowników z XML:");
-		xmlEmployees.forEach(System.out::println);
+		System.out.println(GREEN + "--- Równoległe wczytywanie źródeł ---" + RESET);
+		Path csvPath = Paths.get("employees.csv");
+		ImportSummary importSummary = new ImportSummary();
+
+		// Kolejność wpisów określa pierwszeństwo przy powtórzonych emailach
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		sources.put("Seed", () -> seedEmployees);
+		sources.put("Inline", Main::inlineEmployees);
+		sources.put("CSV", () -> importService.parseCsv(csvPath, importSummary));
+		sources.put("API", apiService::fetchEmployeesFromApi);
+
+		List<SourceLoadResult> loadResults = sourceLoader.loadAll(sources);
+		loadResults.forEach(result -> {
+			if (result.isSuccessful()) {
+				System.out.println(result);
+			} else {
+				System.err.println(result.getSourceName() + " error: " + result.getError());
+			}
+		});
+		// parseCsv liczy wiersze poprawne w pliku; do podsumowania trafia to, co przetrwało scalanie
+		loadResults.stream()
+		  .filter(result -> result.getSourceName().equals("CSV"))
+		  .findFirst()
+		  .ifPresent(result -> importSummary.rejectDuplicates(result.getDuplicateCount()));
+		System.out.println("Podsumowanie importu CSV: " + importSummary);
+
+		if (!exportDir.isBlank()) {
+			exportResults();
+			printFooter();
+			return;
+		}
 
 		System.out.println(GREEN + "\n--- Podstawowe operacje na pracownikach ---" + RESET);
-		employeeService.addEmployee(new Employee(
-		  "Pracownik1", "Nazwisko1", "Pracownik1@Firma1.pl", "Firma1", Position.MANAGER, BigDecimal.valueOf(13_500)));
-		employeeService.addEmployee(new Employee("Pracownik2",
-												 "Nazwisko2",
-												 "Pracownik2@Firma1.pl",
-												 "Firma1",
-												 Position.PROGRAMISTA,
-												 BigDecimal.valueOf(9_200)));
-		employeeService.addEmployee(new Employee("Pracownik3",
-												 "Nazwisko3",
-												 "Pracownik3@Firma1.pl",
-												 "Firma1",
-												 Position.WICEPREZES,
-												 BigDecimal.valueOf(19_000)));
-		employeeService.addEmployee(new Employee("Pracownik4",
-												 "Nazwisko4",
-												 "Pracownik4@Firma2.pl",
-												 "Firma2",
-												 Position.PROGRAMISTA,
-												 BigDecimal.valueOf(8_700)));
-		employeeService.addEmployee(new Employee(
-		  "Pracownik5", "Nazwisko5", "Pracownik5@Firma3.pl", "Firma3", Position.STAZYSTA, BigDecimal.valueOf(3_200)));
-		employeeService.addEmployee(
-		  new Employee("Pracownik6", "Nazwisko6", "Pracownik6@Firma3.pl", "Firma3", Position.STAZYSTA));
-
 		System.out.println("Wszyscy pracownicy:");
 		employeeService.findAll().forEach(System.out::println);
 
@@ -108,18 +128,6 @@ public class Main implements CommandLineRunner {
 		employeeService.findHighestPaidEmployee().ifPresent(
 		  highest -> System.out.println("Najwyższe wynagrodzenie: " + highest));
 
-		System.out.println(GREEN + "\n--- Import z CSV ---" + RESET);
-		Path csvPath = Paths.get("employees.csv");
-		ImportSummary importSummary = importService.importFromCsv(csvPath);
-		System.out.println("Podsumowanie importu: " + importSummary);
-
-		System.out.println(GREEN + "\n--- Pobieranie danych z API ---" + RESET);
-		try {
-			List<Employee> apiEmployees = apiService.fetchEmployeesFromApi();
-			employeeService.addEmployees(apiEmployees);
-			System.out.println("Zaimportowano " + apiEmployees.size() + " pracowników z API");
-		} catch (ApiException e) { System.err.println("API error: " + e.getMessage()); }
-
 		System.out.println(GREEN + "\n--- Walidacja wynagrodzeń ---" + RESET);
 		List<Employee> underpaidEmployees = employeeService.validateSalaryConsistency();
 		System.out.println("Źle wynagradzani pracownicy:");
@@ -130,8 +138,58 @@ public class Main implements CommandLineRunner {
 		System.out.println("Statystyki firmy:");
 		companyStats.forEach((company, stats) -> { System.out.println(company + ": " + stats); });
 
+		printFooter();
+	}
+
+	private static void printFooter() {
 		System.out.println("\n========================================");
 		System.out.println("Application finished successfully!");
 		System.out.println("========================================\n");
 	}
+
+	private void exportResults() throws ExportException, IOException {
+		System.out.println(GREEN + "\n--- Eksport wyników ---" + RESET);
+		ExportFormat format = ExportFormat.valueOf(exportFormat.toUpperCase());
+		String suffix = "." + format.getExtension() + (exportGzip ? ".gz" : "");
+		Path directory = Files.createDirectories(Paths.get(exportDir));
+
+		Path employeesFile = directory.resolve("employees" + suffix);
+		long employees = exportService.exportEmployees(employeesFile, format);
+		System.out.println("Pracownicy: " + employees + " -> " + employeesFile);
+
+		Path byPositionFile = directory.resolve("employees-by-position" + suffix);
+		long grouped = exportService.exportByPosition(byPositionFile, format);
+		System.out.println("Grupowanie według stanowiska: " + grouped + " -> " + byPositionFile);
+
+		Path statisticsFile = directory.resolve("company-statistics" + suffix);
+		long companies = exportService.exportCompanyStatistics(statisticsFile, format);
+		System.out.println("Statystyki firm: " + companies + " -> " + statisticsFile);
+	}
+
+	private static List<Employee> inlineEmployees() {
+		return List.of(
+		  new Employee(
+			"Pracownik1", "Nazwisko1", "Pracownik1@Firma1.pl", "Firma1", Position.MANAGER, BigDecimal.valueOf(13_500)),
+		  new Employee("Pracownik2",
+					   "Nazwisko2",
+					   "Pracownik2@Firma1.pl",
+					   "Firma1",
+					   Position.PROGRAMISTA,
+					   BigDecimal.valueOf(9_200)),
+		  new Employee("Pracownik3",
+					   "Nazwisko3",
+					   "Pracownik3@Firma1.pl",
+					   "Firma1",
+					   Position.WICEPREZES,
+					   BigDecimal.valueOf(19_000)),
+		  new Employee("Pracownik4",
+					   "Nazwisko4",
+					   "Pracownik4@Firma2.pl",
+					   "Firma2",
+					   Position.PROGRAMISTA,
+					   BigDecimal.valueOf(8_700)),
+		  new Employee(
+			"Pracownik5", "Nazwisko5", "Pracownik5@Firma3.pl", "Firma3", Position.STAZYSTA, BigDecimal.valueOf(3_200)),
+		  new Employee("Pracownik6", "Nazwisko6", "Pracownik6@Firma3.pl", "Firma3", Position.STAZYSTA));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package config;
+
+import java.time.Duration;
+
+public class ApiClientSettings {
+	private final Duration initialTimeout;
+	private final Duration minTimeout;
+	private final Duration maxTimeout;
+	private final double timeoutMultiplier;
+	private final boolean hedgingEnabled;
+	private final int minLatencySamples;
+	private final int maxRetries;
+	private final Duration backoffBase;
+	private final Duration backoffMax;
+	private final int circuitFailureThreshold;
+	private final Duration circuitOpenDuration;
+
+	private ApiClientSettings(Builder builder) {
+		this.initialTimeout = builder.initialTimeout;
+		this.minTimeout = builder.minTimeout;
+		this.maxTimeout = builder.maxTimeout;
+		this.timeoutMultiplier = builder.timeoutMultiplier;
+		this.hedgingEnabled = builder.hedgingEnabled;
+		this.minLatencySamples = builder.minLatencySamples;
+		this.maxRetries = builder.maxRetries;
+		this.backoffBase = builder.backoffBase;
+		this.backoffMax = builder.backoffMax;
+		this.circuitFailureThreshold = builder.circuitFailureThreshold;
+		this.circuitOpenDuration = builder.circuitOpenDuration;
+	}
+
+	public static ApiClientSettings defaults() { return builder().build(); }
+
+	public static Builder builder() { return new Builder(); }
+
+	public Duration getInitialTimeout() { return initialTimeout; }
+
+	public Duration getMinTimeout() { return minTimeout; }
+
+	public Duration getMaxTimeout() { return maxTimeout; }
+
+	public double getTimeoutMultiplier() { return timeoutMultiplier; }
+
+	public boolean isHedgingEnabled() { return hedgingEnabled; }
+
+	public int getMinLatencySamples() { return minLatencySamples; }
+
+	public int getMaxRetries() { return maxRetries; }
+
+	public Duration getBackoffBase() { return backoffBase; }
+
+	public Duration getBackoffMax() { return backoffMax; }
+
+	public int getCircuitFailureThreshold() { return circuitFailureThreshold; }
+
+	public Duration getCircuitOpenDuration() { return circuitOpenDuration; }
+
+	public static class Builder {
+		private Duration initialTimeout = Duration.ofSeconds(5);
+		private Duration minTimeout = Duration.ofMillis(250);
+		private Duration maxTimeout = Duration.ofSeconds(10);
+		private double timeoutMultiplier = 3.0;
+		private boolean hedgingEnabled = true;
+		private int minLatencySamples = 20;
+		private int maxRetries = 2;
+		private Duration backoffBase = Duration.ofMillis(100);
+		private Duration backoffMax = Duration.ofSeconds(2);
+		private int circuitFailureThreshold = 5;
+		private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+		public Builder initialTimeout(Duration initialTimeout) {
+			this.initialTimeout = initialTimeout;
+			return this;
+		}
+
+		public Builder minTimeout(Duration minTimeout) {
+			this.minTimeout = minTimeout;
+			return this;
+		}
+
+		public Builder maxTimeout(Duration maxTimeout) {
+			this.maxTimeout = maxTimeout;
+			return this;
+		}
+
+		public Builder timeoutMultiplier(double timeoutMultiplier) {
+			this.timeoutMultiplier = timeoutMultiplier;
+			return this;
+		}
+
+		public Builder hedgingEnabled(boolean hedgingEnabled) {
+			this.hedgingEnabled = hedgingEnabled;
+			return this;
+		}
+
+		public Builder minLatencySamples(int minLatencySamples) {
+			this.minLatencySamples = minLatencySamples;
+			return this;
+		}
+
+		public Builder maxRetries(int maxRetries) {
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		public Builder backoffBase(Duration backoffBase) {
+			this.backoffBase = backoffBase;
+			return this;
+		}
+
+		public Builder backoffMax(Duration backoffMax) {
+			this.backoffMax = backoffMax;
+			return this;
+		}
+
+		public Builder circuitFailureThreshold(int circuitFailureThreshold) {
+			this.circuitFailureThreshold = circuitFailureThreshold;
+			return this;
+		}
+
+		public Builder circuitOpenDuration(Duration circuitOpenDuration) {
+			this.circuitOpenDuration = circuitOpenDuration;
+			return this;
+		}
+
+		public ApiClientSettings build() {
+			if (minTimeout.compareTo(maxTimeout) > 0) {
+				throw new IllegalArgumentException("minTimeout must not be greater than maxTimeout");
+			}
+			if (maxRetries < 0) { throw new IllegalArgumentException("maxRetries must not be negative"); }
+			if (circuitFailureThreshold < 1) {
+				throw new IllegalArgumentException("circuitFailureThreshold must be at least 1");
+			}
+			return new ApiClientSettings(this);
+		}
+	}
+}
\ No newline at end of file
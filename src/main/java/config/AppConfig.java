@@ -2,6 +2,14 @@ package config;
 
 import com.google.gson.Gson;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import metrics.MetricsRegistry;
+import metrics.MetricsReporter;
+import metrics.NoopMetricsRegistry;
+import metrics.SimpleMetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,9 +17,38 @@ import org.springframework.context.annotation.Configuration;
 public class AppConfig {
 
 	@Bean
-	public HttpClient httpClient() {
+	public HttpClient httpClient(@Value("${app.api.connect-timeout-ms}") long connectTimeoutMs) {
 		System.out.println("Creating HttpClient bean...");
-		return HttpClient.newHttpClient();
+		return HttpClient.newBuilder().connectTimeout(Duration.ofMillis(connectTimeoutMs)).build();
+	}
+
+	@Bean
+	public ApiClientSettings apiClientSettings(@Value("${app.api.initial-timeout-ms}") long initialTimeoutMs,
+											   @Value("${app.api.min-timeout-ms}") long minTimeoutMs,
+											   @Value("${app.api.max-timeout-ms}") long maxTimeoutMs,
+											   @Value("${app.api.hedging-enabled}") boolean hedgingEnabled,
+											   @Value("${app.api.max-retries}") int maxRetries,
+											   @Value("${app.api.backoff-base-ms}") long backoffBaseMs,
+											   @Value("${app.api.circuit-failure-threshold}") int failureThreshold,
+											   @Value("${app.api.circuit-open-ms}") long circuitOpenMs) {
+		System.out.println("Creating ApiClientSettings bean...");
+		return ApiClientSettings.builder()
+		  .initialTimeout(Duration.ofMillis(initialTimeoutMs))
+		  .minTimeout(Duration.ofMillis(minTimeoutMs))
+		  .maxTimeout(Duration.ofMillis(maxTimeoutMs))
+		  .hedgingEnabled(hedgingEnabled)
+		  .maxRetries(maxRetries)
+		  .backoffBase(Duration.ofMillis(backoffBaseMs))
+		  .circuitFailureThreshold(failureThreshold)
+		  .circuitOpenDuration(Duration.ofMillis(circuitOpenMs))
+		  .build();
+	}
+
+	@Bean
+	public QueryCacheSettings queryCacheSettings(@Value("${app.query-cache.max-entries}") int maxEntries,
+												 @Value("${app.query-cache.max-weight}") long maxWeight) {
+		System.out.println("Creating QueryCacheSettings bean...");
+		return QueryCacheSettings.builder().maxEntries(maxEntries).maxWeight(maxWeight).build();
 	}
 
 	@Bean
@@ -19,4 +56,20 @@ public class AppConfig {
 		System.out.println("Creating Gson bean...");
 		return new Gson();
 	}
+
+	@Bean
+	public MetricsRegistry metricsRegistry(@Value("${app.metrics.enabled}") boolean enabled) {
+		System.out.println("Creating MetricsRegistry bean (enabled=" + enabled + ")...");
+		return enabled ? new SimpleMetricsRegistry() : NoopMetricsRegistry.INSTANCE;
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "app.metrics.enabled", havingValue = "true")
+	public MetricsReporter metricsReporter(MetricsRegistry metricsRegistry,
+										   @Value("${app.metrics.dump-file:}") String dumpFile,
+										   @Value("${app.metrics.dump-interval-ms}") long intervalMs) {
+		System.out.println("Creating MetricsReporter bean...");
+		return new MetricsReporter(
+		  metricsRegistry, dumpFile.isBlank() ? null : Path.of(dumpFile), Duration.ofMillis(intervalMs));
+	}
 }
\ No newline at end of file
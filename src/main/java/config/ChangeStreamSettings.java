@@ -0,0 +1,53 @@
+package config;
+
+import model.OverflowPolicy;
+
+public class ChangeStreamSettings {
+	private final int bufferCapacity;
+	private final int maxBatchSize;
+	private final OverflowPolicy overflowPolicy;
+
+	private ChangeStreamSettings(Builder builder) {
+		this.bufferCapacity = builder.bufferCapacity;
+		this.maxBatchSize = builder.maxBatchSize;
+		this.overflowPolicy = builder.overflowPolicy;
+	}
+
+	public static ChangeStreamSettings defaults() { return builder().build(); }
+
+	public static Builder builder() { return new Builder(); }
+
+	public int getBufferCapacity() { return bufferCapacity; }
+
+	public int getMaxBatchSize() { return maxBatchSize; }
+
+	public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+
+	public static class Builder {
+		private int bufferCapacity = 4096;
+		private int maxBatchSize = 256;
+		private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+		public Builder bufferCapacity(int bufferCapacity) {
+			this.bufferCapacity = bufferCapacity;
+			return this;
+		}
+
+		public Builder maxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+			this.overflowPolicy = overflowPolicy;
+			return this;
+		}
+
+		public ChangeStreamSettings build() {
+			if (bufferCapacity < 1) { throw new IllegalArgumentException("bufferCapacity must be at least 1"); }
+			if (maxBatchSize < 1) { throw new IllegalArgumentException("maxBatchSize must be at least 1"); }
+			if (overflowPolicy == null) { throw new IllegalArgumentException("overflowPolicy must not be null"); }
+			return new ChangeStreamSettings(this);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package config;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import model.Employee;
+import model.ImportSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import service.ImportService;
+
+// Pracownicy startowi z CSV zamiast employees-beans.xml - bez parsowania XML przy starcie
+@Configuration
+@ConditionalOnProperty(name = "app.seed.source", havingValue = "csv")
+public class CsvSeedConfig {
+
+	@Bean
+	public List<Employee> seedEmployees(ImportService importService,
+										@Value("${app.seed.csv-resource}") Resource seedResource) throws IOException {
+		System.out.println("Creating seedEmployees bean from " + seedResource.getDescription() + "...");
+		ImportSummary summary = new ImportSummary();
+		try (Reader reader = new InputStreamReader(seedResource.getInputStream(), StandardCharsets.UTF_8)) {
+			List<Employee> employees = importService.parseCsv(reader, summary);
+			if (!summary.getErrors().isEmpty()) {
+				throw new IllegalStateException("Invalid seed employees: " + summary.getErrors());
+			}
+			return employees;
+		}
+	}
+}
\ No newline at end of file
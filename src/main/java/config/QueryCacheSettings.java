@@ -0,0 +1,42 @@
+package config;
+
+public class QueryCacheSettings {
+	private final int maxEntries;
+	private final long maxWeight;
+
+	private QueryCacheSettings(Builder builder) {
+		this.maxEntries = builder.maxEntries;
+		this.maxWeight = builder.maxWeight;
+	}
+
+	public static QueryCacheSettings defaults() { return builder().build(); }
+
+	public static Builder builder() { return new Builder(); }
+
+	// 0 wyłącza pamięć podręczną
+	public int getMaxEntries() { return maxEntries; }
+
+	// Suma długości zapamiętanych list, czyli liczba referencji do pracowników
+	public long getMaxWeight() { return maxWeight; }
+
+	public static class Builder {
+		private int maxEntries = 1024;
+		private long maxWeight = 1_000_000;
+
+		public Builder maxEntries(int maxEntries) {
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		public Builder maxWeight(long maxWeight) {
+			this.maxWeight = maxWeight;
+			return this;
+		}
+
+		public QueryCacheSettings build() {
+			if (maxEntries < 0) { throw new IllegalArgumentException("maxEntries must not be negative"); }
+			if (maxWeight < 1) { throw new IllegalArgumentException("maxWeight must be at least 1"); }
+			return new QueryCacheSettings(this);
+		}
+	}
+}
\ No newline at end of file
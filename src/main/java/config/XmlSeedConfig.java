@@ -0,0 +1,10 @@
+package config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportResource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.seed.source", havingValue = "xml", matchIfMissing = true)
+@ImportResource("classpath:employees-beans.xml")
+public class XmlSeedConfig {}
\ No newline at end of file
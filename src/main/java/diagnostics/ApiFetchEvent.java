@@ -0,0 +1,24 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("zadanie1.ApiFetch")
+@Label("API Fetch")
+@Category({ "Zadanie1", "Ingestion" })
+@Description("Pojedyncze żądanie HTTP do API (czas oczekiwania na odpowiedź)")
+public class ApiFetchEvent extends Event {
+	@Label("URL") public String url;
+
+	@Label("Status Code") public int statusCode;
+
+	@Label("Hedged") public boolean hedged;
+
+	@Label("Outcome") @Description("ok, timeout, cancelled albo error") public String outcome;
+
+	@Label("Response Size") @DataAmount public long bytes;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("zadanie1.InsertBatch")
+@Label("Insert Batch")
+@Category({ "Zadanie1", "Ingestion" })
+@Description("Sprawdzenie duplikatów i zapis paczki pracowników do EmployeeService")
+public class InsertBatchEvent extends Event {
+	@Label("Source") public String source;
+
+	@Label("Rows") public int rows;
+
+	@Label("Rejected") public int rejected;
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("zadanie1.ParseBatch")
+@Label("Parse Batch")
+@Category({ "Zadanie1", "Ingestion" })
+@Description("Rozbicie paczki wierszy CSV albo odpowiedzi API na pola")
+public class ParseBatchEvent extends Event {
+	@Label("Source") public String source;
+
+	@Label("Rows") public int rows;
+
+	@Label("Errors") public int errors;
+
+	@Label("Bytes") @DataAmount public long bytes;
+}
\ No newline at end of file
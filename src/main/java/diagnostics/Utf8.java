@@ -0,0 +1,28 @@
+package diagnostics;
+
+// Rozmiar tekstu w UTF-8 liczony po znakach, bez kodowania całego tekstu do nowej tablicy (jak String.getBytes)
+public final class Utf8 {
+
+	private Utf8() {}
+
+	public static long length(CharSequence text) {
+		long bytes = text.length();
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isSurrogate(c)) {
+				// Para zastępcza to 4 bajty; samotny surogat String.getBytes zamienia na '?'
+				boolean pair = Character.isHighSurrogate(c) && i + 1 < text.length()
+							   && Character.isLowSurrogate(text.charAt(i + 1));
+				if (pair) {
+					bytes += 2;
+					i++;
+				}
+			} else if (c >= 0x800) {
+				bytes += 2;
+			} else if (c >= 0x80) {
+				bytes++;
+			}
+		}
+		return bytes;
+	}
+}
\ No newline at end of file
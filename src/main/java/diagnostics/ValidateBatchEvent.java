@@ -0,0 +1,19 @@
+package diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("zadanie1.ValidateBatch")
+@Label("Validate Batch")
+@Category({ "Zadanie1", "Ingestion" })
+@Description("Konwersja pól i walidacja w konstruktorze Employee dla paczki wierszy")
+public class ValidateBatchEvent extends Event {
+	@Label("Source") public String source;
+
+	@Label("Rows") public int rows;
+
+	@Label("Errors") public int errors;
+}
\ No newline at end of file
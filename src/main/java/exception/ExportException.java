@@ -0,0 +1,8 @@
+package exception;
+
+public class ExportException extends Exception {
+
+	public ExportException(String message) { super(message); }
+
+	public ExportException(String message, Throwable cause) { super(message, cause); }
+}
\ No newline at end of file
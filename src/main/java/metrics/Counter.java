@@ -0,0 +1,10 @@
+package metrics;
+
+public interface Counter {
+
+	void increment();
+
+	void add(long amount);
+
+	long get();
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package metrics;
+
+import java.util.function.LongSupplier;
+
+public interface MetricsRegistry {
+
+	// Metryki pobieramy raz (np. w konstruktorze) i trzymamy w polu - bez wyszukiwania po nazwie na gorącej ścieżce
+	Timer timer(String name);
+
+	Counter counter(String name);
+
+	void gauge(String name, LongSupplier value);
+
+	boolean isEnabled();
+
+	String dump();
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Okresowy zrzut rejestru do pliku (dopisywanie) albo do logu, gdy plik nie jest podany
+public class MetricsReporter implements AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+	private final MetricsRegistry registry;
+	private final Path dumpFile;
+	private final ScheduledExecutorService scheduler;
+
+	public MetricsReporter(MetricsRegistry registry, Path dumpFile, Duration interval) {
+		this.registry = registry;
+		this.dumpFile = dumpFile;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long intervalMillis = interval.toMillis();
+		scheduler.scheduleAtFixedRate(this::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public void report() {
+		String dump = registry.dump();
+		if (dump.isEmpty()) { return; }
+
+		if (dumpFile == null) {
+			log.info("Metrics:\n{}", dump);
+			return;
+		}
+		try {
+			Files.writeString(dumpFile,
+							  "# " + Instant.now() + "\n" + dump,
+							  StandardCharsets.UTF_8,
+							  StandardOpenOption.CREATE,
+							  StandardOpenOption.APPEND);
+		} catch (IOException e) { log.warn("Could not write metrics to {}: {}", dumpFile, e.getMessage()); }
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		report();
+	}
+}
\ No newline at end of file
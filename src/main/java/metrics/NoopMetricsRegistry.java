@@ -0,0 +1,66 @@
+package metrics;
+
+import java.util.function.LongSupplier;
+
+// Domyślny rejestr: metryki wyłączone, wywołania na gorącej ścieżce sprowadzają się do pustych metod
+public final class NoopMetricsRegistry implements MetricsRegistry {
+	public static final NoopMetricsRegistry INSTANCE = new NoopMetricsRegistry();
+
+	private static final TimerSnapshot EMPTY = new TimerSnapshot(0, 0, 0, 0, 0, 0);
+
+	private static final Timer NOOP_TIMER = new Timer() {
+		@Override
+		public long start() {
+			return 0;
+		}
+
+		@Override
+		public void stop(long startNanos) {}
+
+		@Override
+		public void record(long durationNanos) {}
+
+		@Override
+		public TimerSnapshot snapshot() {
+			return EMPTY;
+		}
+	};
+
+	private static final Counter NOOP_COUNTER = new Counter() {
+		@Override
+		public void increment() {}
+
+		@Override
+		public void add(long amount) {}
+
+		@Override
+		public long get() {
+			return 0;
+		}
+	};
+
+	private NoopMetricsRegistry() {}
+
+	@Override
+	public Timer timer(String name) {
+		return NOOP_TIMER;
+	}
+
+	@Override
+	public Counter counter(String name) {
+		return NOOP_COUNTER;
+	}
+
+	@Override
+	public void gauge(String name, LongSupplier value) {}
+
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+	@Override
+	public String dump() {
+		return "";
+	}
+}
\ No newline at end of file
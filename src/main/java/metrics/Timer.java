@@ -0,0 +1,12 @@
+package metrics;
+
+public interface Timer {
+
+	long start();
+
+	void stop(long startNanos);
+
+	void record(long durationNanos);
+
+	TimerSnapshot snapshot();
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package metrics;
+
+public class TimerSnapshot {
+	private final long count;
+	private final long totalNanos;
+	private final long p50Nanos;
+	private final long p95Nanos;
+	private final long p99Nanos;
+	private final long maxNanos;
+
+	public TimerSnapshot(long count, long totalNanos, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+		this.count = count;
+		this.totalNanos = totalNanos;
+		this.p50Nanos = p50Nanos;
+		this.p95Nanos = p95Nanos;
+		this.p99Nanos = p99Nanos;
+		this.maxNanos = maxNanos;
+	}
+
+	public long getCount() { return count; }
+
+	public long getTotalNanos() { return totalNanos; }
+
+	public long getMeanNanos() { return count == 0 ? 0 : totalNanos / count; }
+
+	public long getP50Nanos() { return p50Nanos; }
+
+	public long getP95Nanos() { return p95Nanos; }
+
+	public long getP99Nanos() { return p99Nanos; }
+
+	public long getMaxNanos() { return maxNanos; }
+
+	@Override
+	public String toString() {
+		return "count=" + count + ", mean=" + micros(getMeanNanos()) + ", p50=" + micros(p50Nanos) +
+		  ", p95=" + micros(p95Nanos) + ", p99=" + micros(p99Nanos) + ", max=" + micros(maxNanos);
+	}
+
+	private static String micros(long nanos) { return String.format("%.1fus", nanos / 1_000.0); }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package model;
+
+public class ApproximateStatistics {
+	private final long employeeCount;
+	private final double averageSalary;
+	private final double medianSalary;
+	private final double p90Salary;
+	private final double p99Salary;
+	private final double maxSalary;
+
+	public ApproximateStatistics(long employeeCount,
+								 double averageSalary,
+								 double medianSalary,
+								 double p90Salary,
+								 double p99Salary,
+								 double maxSalary) {
+		this.employeeCount = employeeCount;
+		this.averageSalary = averageSalary;
+		this.medianSalary = medianSalary;
+		this.p90Salary = p90Salary;
+		this.p99Salary = p99Salary;
+		this.maxSalary = maxSalary;
+	}
+
+	// Liczność, średnia i maksimum są dokładne (z dokładnością double), percentyle pochodzą ze szkicu KLL
+	public long getEmployeeCount() { return employeeCount; }
+
+	public double getAverageSalary() { return averageSalary; }
+
+	public double getMedianSalary() { return medianSalary; }
+
+	public double getP90Salary() { return p90Salary; }
+
+	public double getP99Salary() { return p99Salary; }
+
+	public double getMaxSalary() { return maxSalary; }
+
+	@Override
+	public String toString() {
+		return "ApproximateStatistics{"
+		  + "employeeCount=" + employeeCount + ", averageSalary≈" + Math.round(averageSalary) + ", median≈" +
+		  Math.round(medianSalary) + ", p90≈" + Math.round(p90Salary) + ", p99≈" + Math.round(p99Salary) +
+		  ", maxSalary=" + maxSalary + '}';
+	}
+}
\ No newline at end of file
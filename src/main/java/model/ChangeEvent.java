@@ -0,0 +1,62 @@
+package model;
+
+/*
+ * Zmiana w magazynie pracowników. INSERT to pojedyncze dodanie; UPDATE powstaje ze scalenia kilku zmian
+ * tej samej firmy (OverflowPolicy.COALESCE) i niesie tylko najnowszy stan firmy oraz liczbę scalonych zmian.
+ */
+public class ChangeEvent {
+	public enum Type {
+		INSERT,
+		UPDATE
+	}
+
+	private final Type type;
+	private final long version;
+	private final Employee employee;
+	private final CompanyAggregate companyAggregate;
+	private final int changes;
+
+	private ChangeEvent(Type type, long version, Employee employee, CompanyAggregate companyAggregate, int changes) {
+		this.type = type;
+		this.version = version;
+		this.employee = employee;
+		this.companyAggregate = companyAggregate;
+		this.changes = changes;
+	}
+
+	public static ChangeEvent inserted(long version, Employee employee, CompanyAggregate companyAggregate) {
+		return new ChangeEvent(Type.INSERT, version, employee, companyAggregate, 1);
+	}
+
+	// Scalenie z nowszym zdarzeniem tej samej firmy: stan i wersja z nowszego, liczba zmian sumowana
+	public ChangeEvent coalesce(ChangeEvent newer) {
+		if (!getCompany().equals(newer.getCompany())) {
+			throw new IllegalArgumentException("Cannot coalesce events of different companies");
+		}
+		int merged = changes + newer.changes;
+		return new ChangeEvent(Type.UPDATE, newer.version, newer.employee, newer.companyAggregate, merged);
+	}
+
+	public Type getType() { return type; }
+
+	// Wersja magazynu po tej zmianie (liczba pracowników), zgodna z EmployeeSnapshot.getVersion
+	public long getVersion() { return version; }
+
+	public String getCompany() { return employee.getCompany(); }
+
+	// Dla UPDATE - ostatni dodany pracownik ze scalonych zmian
+	public Employee getEmployee() { return employee; }
+
+	public CompanyAggregate getCompanyAggregate() { return companyAggregate; }
+
+	public CompanyStatistics getCompanyStatistics() { return companyAggregate.toStatistics(); }
+
+	public int getChanges() { return changes; }
+
+	@Override
+	public String toString() {
+		return "ChangeEvent{"
+		  + "type=" + type + ", version=" + version + ", company='" + getCompany() + '\'' +
+		  ", email='" + employee.getEmail() + '\'' + ", changes=" + changes + '}';
+	}
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Częściowe statystyki firmy, które można scalać (np. wyniki z kilku shardów)
+public class CompanyAggregate {
+	private final long employeeCount;
+	private final BigDecimal salarySum;
+	private final BigDecimal topSalary;
+	private final String topEarnerFullName;
+
+	public CompanyAggregate(long employeeCount, BigDecimal salarySum, BigDecimal topSalary, String topEarnerFullName) {
+		this.employeeCount = employeeCount;
+		this.salarySum = salarySum;
+		this.topSalary = topSalary;
+		this.topEarnerFullName = topEarnerFullName;
+	}
+
+	public static CompanyAggregate of(Employee employee) {
+		return new CompanyAggregate(1,
+									employee.getSalary(),
+									employee.getSalary(),
+									employee.getFirstName() + " " + employee.getLastName());
+	}
+
+	// Przy równych pensjach zostaje najlepiej zarabiający z this, czyli ze wcześniejszej części danych
+	public CompanyAggregate merge(CompanyAggregate other) {
+		boolean otherEarnsMore = other.topSalary.compareTo(topSalary) > 0;
+		return new CompanyAggregate(employeeCount + other.employeeCount,
+									salarySum.add(other.salarySum),
+									otherEarnsMore ? other.topSalary : topSalary,
+									otherEarnsMore ? other.topEarnerFullName : topEarnerFullName);
+	}
+
+	public CompanyStatistics toStatistics() {
+		double averageSalary =
+		  salarySum.divide(BigDecimal.valueOf(employeeCount), 2, RoundingMode.HALF_UP).doubleValue();
+		return new CompanyStatistics(employeeCount, averageSalary, topEarnerFullName);
+	}
+
+	public long getEmployeeCount() { return employeeCount; }
+
+	public BigDecimal getSalarySum() { return salarySum; }
+
+	public BigDecimal getTopSalary() { return topSalary; }
+
+	public String getTopEarnerFullName() { return topEarnerFullName; }
+
+	@Override
+	public String toString() {
+		return "CompanyAggregate{"
+		  + "employeeCount=" + employeeCount + ", salarySum=" + salarySum + ", topSalary=" + topSalary +
+		  ", topEarnerFullName='" + topEarnerFullName + '\'' + '}';
+	}
+}
\ No newline at end of file
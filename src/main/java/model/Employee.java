@@ -15,28 +15,34 @@ public class Employee {
 
 	public Employee(
 	  String firstName, String lastName, String email, String company, Position position, BigDecimal salary) {
-		this.firstName = requireText(firstName, "firstName");
+		this.firstName = pooledText(firstName, "firstName");
 		this.lastName = requireText(lastName, "lastName");
 		this.email = requireText(email, "email").toLowerCase(Locale.ROOT);
-		this.company = requireText(company, "company");
+		this.company = pooledText(company, "company");
 		this.position = Objects.requireNonNull(position, "position");
 		this.salary = validateSalary(Objects.requireNonNull(salary, "salary"), position);
 	}
 
 	public Employee(String firstName, String lastName, String email, String company, Position position) {
-		this.firstName = requireText(firstName, "firstName");
+		this.firstName = pooledText(firstName, "firstName");
 		this.lastName = requireText(lastName, "lastName");
 		this.email = requireText(email, "email").toLowerCase(Locale.ROOT);
-		this.company = requireText(company, "company");
+		this.company = pooledText(company, "company");
 		this.position = Objects.requireNonNull(position, "position");
 		this.salary = position.getBaseSalary();
 	}
 
+	// trim i toLowerCase zwracają ten sam obiekt, gdy tekst jest już znormalizowany - kopia tylko przy zmianie
 	private static String requireText(String value, String fieldName) {
 		if (value == null || value.isBlank()) { throw new IllegalArgumentException(fieldName + " must not be blank"); }
 		return value.trim();
 	}
 
+	// Firma i imię współdzielą napisy między pracownikami; nazwisko i unikalny email nie trafiają do puli
+	private static String pooledText(String value, String fieldName) {
+		return StringPool.shared().intern(requireText(value, fieldName));
+	}
+
 	private static BigDecimal validateSalary(BigDecimal salary, Position position) {
 		if (salary.compareTo(position.getBaseSalary()) < 0) {
 			throw new IllegalArgumentException("Salary must be at least base salary for position " +
@@ -0,0 +1,126 @@
+package model;
+
+import java.math.BigDecimal;
+
+public class EmployeeQuery {
+
+	// LAST_NAME i COMPANY sortują bez rozróżniania wielkości liter (jak indeksy), w przeciwieństwie do
+	// EmployeeService.findAllSortedByLastName, które porównuje nazwiska dokładnie
+	public enum SortKey { LAST_NAME, SALARY, COMPANY }
+
+	private final String company;
+	private final Position position;
+	private final BigDecimal minSalary;
+	private final BigDecimal maxSalary;
+	private final String lastNamePrefix;
+	private final SortKey sortKey;
+	private final boolean descending;
+	private final int limit;
+
+	private EmployeeQuery(Builder builder) {
+		this.company = builder.company;
+		this.position = builder.position;
+		this.minSalary = builder.minSalary;
+		this.maxSalary = builder.maxSalary;
+		this.lastNamePrefix = builder.lastNamePrefix;
+		this.sortKey = builder.sortKey;
+		this.descending = builder.descending;
+		this.limit = builder.limit;
+	}
+
+	public static Builder builder() { return new Builder(); }
+
+	public String getCompany() { return company; }
+
+	public Position getPosition() { return position; }
+
+	public BigDecimal getMinSalary() { return minSalary; }
+
+	public BigDecimal getMaxSalary() { return maxSalary; }
+
+	public String getLastNamePrefix() { return lastNamePrefix; }
+
+	public SortKey getSortKey() { return sortKey; }
+
+	public boolean isDescending() { return descending; }
+
+	public int getLimit() { return limit; }
+
+	public boolean hasLimit() { return limit != Integer.MAX_VALUE; }
+
+	public boolean hasSalaryRange() { return minSalary != null || maxSalary != null; }
+
+	public boolean matches(Employee employee) {
+		if (company != null && !employee.getCompany().equalsIgnoreCase(company)) { return false; }
+		if (position != null && employee.getPosition() != position) { return false; }
+		if (minSalary != null && employee.getSalary().compareTo(minSalary) < 0) { return false; }
+		if (maxSalary != null && employee.getSalary().compareTo(maxSalary) > 0) { return false; }
+		return lastNamePrefix == null || employee.getLastName().regionMatches(
+										   true, 0, lastNamePrefix, 0, lastNamePrefix.length());
+	}
+
+	@Override
+	public String toString() {
+		return "EmployeeQuery{"
+		  + "company=" + company + ", position=" + position + ", minSalary=" + minSalary + ", maxSalary=" + maxSalary +
+		  ", lastNamePrefix=" + lastNamePrefix + ", sortKey=" + sortKey + (descending ? " DESC" : "") +
+		  (hasLimit() ? ", limit=" + limit : "") + '}';
+	}
+
+	public static class Builder {
+		private String company;
+		private Position position;
+		private BigDecimal minSalary;
+		private BigDecimal maxSalary;
+		private String lastNamePrefix;
+		private SortKey sortKey;
+		private boolean descending;
+		private int limit = Integer.MAX_VALUE;
+
+		public Builder company(String company) {
+			this.company = company;
+			return this;
+		}
+
+		public Builder position(Position position) {
+			this.position = position;
+			return this;
+		}
+
+		// Obie granice włącznie, null oznacza brak ograniczenia z danej strony
+		public Builder salaryBetween(BigDecimal minSalary, BigDecimal maxSalary) {
+			this.minSalary = minSalary;
+			this.maxSalary = maxSalary;
+			return this;
+		}
+
+		public Builder lastNamePrefix(String lastNamePrefix) {
+			this.lastNamePrefix = lastNamePrefix;
+			return this;
+		}
+
+		public Builder sortBy(SortKey sortKey) { return sortBy(sortKey, false); }
+
+		public Builder sortBy(SortKey sortKey, boolean descending) {
+			this.sortKey = sortKey;
+			this.descending = descending;
+			return this;
+		}
+
+		public Builder limit(int limit) {
+			this.limit = limit;
+			return this;
+		}
+
+		public EmployeeQuery build() {
+			if (limit < 0) { throw new IllegalArgumentException("limit must not be negative"); }
+			if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+				throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+			}
+			if (lastNamePrefix != null && lastNamePrefix.isEmpty()) {
+				throw new IllegalArgumentException("lastNamePrefix must not be empty");
+			}
+			return new EmployeeQuery(this);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package model;
+
+public enum ExportFormat {
+	CSV,
+	JSON;
+
+	public String getExtension() { return name().toLowerCase(); }
+}
\ No newline at end of file
@@ -18,6 +18,13 @@ public class ImportSummary {
 		errors.add("Line " + lineNumber + ": " + errorMessage);
 	}
 
+	// Wiersze sparsowane, ale pominięte przy scalaniu źródeł (SourceLoader), bo email był już wczytany
+	public void rejectDuplicates(int count) {
+		if (count == 0) { return; }
+		importedCount -= count;
+		errors.add("Merge: pominięto " + count + " wierszy z emailem wczytanym wcześniej");
+	}
+
 	public int getImportedCount() { return importedCount; }
 
 	public List<String> getErrors() { return errors; }
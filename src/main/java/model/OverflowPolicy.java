@@ -0,0 +1,11 @@
+package model;
+
+// Co robi strumień zmian, gdy bufor subskrybenta jest pełny
+public enum OverflowPolicy {
+	// Piszący czeka, aż subskrybent zrobi miejsce - nic nie ginie, ale wolny odbiorca spowalnia zapisy
+	BLOCK,
+	// Nowe zdarzenie jest odrzucane i liczone - zapis nigdy nie czeka
+	DROP,
+	// Zdarzenia tej samej firmy scalają się w jedno (najnowszy stan); czekamy tylko na nową firmę w pełnym buforze
+	COALESCE
+}
\ No newline at end of file
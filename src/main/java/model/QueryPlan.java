@@ -0,0 +1,42 @@
+package model;
+
+public class QueryPlan {
+
+	public enum AccessPath {
+		FULL_SCAN,
+		COMPANY_INDEX,
+		POSITION_INDEX,
+		SALARY_INDEX,
+		COMPANY_SALARY_INDEX,
+		POSITION_SALARY_INDEX,
+		LAST_NAME_INDEX
+	}
+
+	private final AccessPath accessPath;
+	private final long estimatedRows;
+	private final boolean sortedByIndex;
+	private final boolean limitPushedDown;
+
+	public QueryPlan(AccessPath accessPath, long estimatedRows, boolean sortedByIndex, boolean limitPushedDown) {
+		this.accessPath = accessPath;
+		this.estimatedRows = estimatedRows;
+		this.sortedByIndex = sortedByIndex;
+		this.limitPushedDown = limitPushedDown;
+	}
+
+	public AccessPath getAccessPath() { return accessPath; }
+
+	// Liczba wierszy czytanych przez wybraną ścieżkę dostępu (dla prefiksu nazwiska - górne oszacowanie)
+	public long getEstimatedRows() { return estimatedRows; }
+
+	public boolean isSortedByIndex() { return sortedByIndex; }
+
+	public boolean isLimitPushedDown() { return limitPushedDown; }
+
+	@Override
+	public String toString() {
+		return "QueryPlan{"
+		  + "accessPath=" + accessPath + ", estimatedRows=" + estimatedRows + ", sortedByIndex=" + sortedByIndex +
+		  ", limitPushedDown=" + limitPushedDown + '}';
+	}
+}
\ No newline at end of file
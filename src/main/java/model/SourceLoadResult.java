@@ -0,0 +1,42 @@
+package model;
+
+public class SourceLoadResult {
+	private final String sourceName;
+	private final int loadedCount;
+	private final int addedCount;
+	private final int duplicateCount;
+	private final long loadTimeMillis;
+	private final String error;
+
+	public SourceLoadResult(
+	  String sourceName, int loadedCount, int addedCount, int duplicateCount, long loadTimeMillis, String error) {
+		this.sourceName = sourceName;
+		this.loadedCount = loadedCount;
+		this.addedCount = addedCount;
+		this.duplicateCount = duplicateCount;
+		this.loadTimeMillis = loadTimeMillis;
+		this.error = error;
+	}
+
+	public String getSourceName() { return sourceName; }
+
+	public int getLoadedCount() { return loadedCount; }
+
+	public int getAddedCount() { return addedCount; }
+
+	public int getDuplicateCount() { return duplicateCount; }
+
+	public long getLoadTimeMillis() { return loadTimeMillis; }
+
+	public String getError() { return error; }
+
+	public boolean isSuccessful() { return error == null; }
+
+	@Override
+	public String toString() {
+		return "SourceLoadResult{"
+		  + "sourceName='" + sourceName + '\'' + ", loadedCount=" + loadedCount + ", addedCount=" + addedCount +
+		  ", duplicateCount=" + duplicateCount + ", loadTimeMillis=" + loadTimeMillis +
+		  (error != null ? ", error='" + error + '\'' : "") + '}';
+	}
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package model;
+
+import java.util.Locale;
+
+public enum StorageMode {
+	HEAP,
+	OFF_HEAP,
+	// Ostatnie wstawienia w pamięci, reszta w posortowanych plikach segmentów na dysku (LSM)
+	SPILL;
+
+	// "off-heap" z pliku properties -> OFF_HEAP
+	public static StorageMode fromProperty(String value) {
+		return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+	}
+}
\ No newline at end of file
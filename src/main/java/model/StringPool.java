@@ -0,0 +1,61 @@
+package model;
+
+/*
+ * Ograniczona pula kanonicznych napisów dla pól o małej liczności (firma, imię). Każdy wiersz CSV,
+ * rekord z API i bean z XML tworzy własną kopię tych tekstów; po przejściu przez pulę pracownicy tej samej
+ * firmy współdzielą jeden obiekt String, a kopia z parsera od razu staje się śmieciem młodej generacji.
+ * Tablica o stałym rozmiarze adresowana hashem: przy kolizji nowy napis nadpisuje stary, więc pamięć jest
+ * ograniczona, a wiele razy wstawiane wartości i tak szybko wracają do swojego slotu.
+ * Bez blokad: wyścig najwyżej pomija deduplikację, a String ma pola final, więc jest bezpiecznie publikowany.
+ */
+public final class StringPool {
+	private static final StringPool SHARED = new StringPool(1 << 16);
+
+	private final String[] slots;
+	private final int mask;
+
+	public StringPool(int capacity) {
+		if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity must be a positive power of two");
+		}
+		this.slots = new String[capacity];
+		this.mask = capacity - 1;
+	}
+
+	// Pula używana przez konstruktory Employee i parser CSV w ImportService
+	public static StringPool shared() { return SHARED; }
+
+	public String intern(String value) {
+		if (value == null) { return null; }
+		int slot = slot(value.hashCode());
+		String pooled = slots[slot];
+		if (pooled != null && pooled.equals(value)) { return pooled; }
+		slots[slot] = value;
+		return value;
+	}
+
+	// Fragment [from, to) bez tworzenia podciągu, jeśli jest już w puli - dla parserów czytających całą linię
+	public String intern(CharSequence text, int from, int to) {
+		int hash = 0;
+		for (int i = from; i < to; i++) { hash = 31 * hash + text.charAt(i); }
+		int slot = slot(hash);
+		String pooled = slots[slot];
+		if (pooled != null && contentEquals(pooled, text, from, to)) { return pooled; }
+		String value = text.subSequence(from, to).toString();
+		slots[slot] = value;
+		return value;
+	}
+
+	public int capacity() { return slots.length; }
+
+	// Ten sam hash co String.hashCode, z domieszaniem starszych bitów do indeksu
+	private int slot(int hash) { return (hash ^ hash >>> 16) & mask; }
+
+	private static boolean contentEquals(String pooled, CharSequence text, int from, int to) {
+		if (pooled.length() != to - from) { return false; }
+		for (int i = 0; i < pooled.length(); i++) {
+			if (pooled.charAt(i) != text.charAt(from + i)) { return false; }
+		}
+		return true;
+	}
+}
\ No newline at end of file
@@ -3,65 +3,296 @@ package service;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import config.ApiClientSettings;
+import diagnostics.ApiFetchEvent;
+import diagnostics.ParseBatchEvent;
+import diagnostics.Utf8;
+import diagnostics.ValidateBatchEvent;
 import exception.ApiException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+import metrics.NoopMetricsRegistry;
+import metrics.Timer;
 import model.Employee;
 import model.Position;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
-public class ApiService {
+public class ApiService implements AutoCloseable {
 	private final HttpClient httpClient;
 	private final Gson gson;
 	private final String apiUrl;
+	private final ApiClientSettings settings;
+	private final LatencyTracker latencyTracker = new LatencyTracker(256);
+	private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+	private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Timer fetchTimer;
+	private final Counter fetchErrors;
+	private final Counter retries;
+	private final Counter hedgedRequests;
+	private final Counter circuitRejections;
 
-	public ApiService(HttpClient httpClient, Gson gson, @Value("${app.api.url}") String apiUrl) {
+	public ApiService(HttpClient httpClient, Gson gson, String apiUrl) {
+		this(httpClient, gson, apiUrl, ApiClientSettings.defaults());
+	}
+
+	public ApiService(HttpClient httpClient, Gson gson, String apiUrl, ApiClientSettings settings) {
+		this(httpClient, gson, apiUrl, settings, NoopMetricsRegistry.INSTANCE);
+	}
+
+	@Autowired
+	public ApiService(HttpClient httpClient,
+					  Gson gson,
+					  @Value("${app.api.url}") String apiUrl,
+					  ApiClientSettings settings,
+					  MetricsRegistry metrics) {
 		this.httpClient = httpClient;
 		this.gson = gson;
 		this.apiUrl = apiUrl;
+		this.settings = settings;
+		this.fetchTimer = metrics.timer("api.fetch");
+		this.fetchErrors = metrics.counter("api.errors");
+		this.retries = metrics.counter("api.retries");
+		this.hedgedRequests = metrics.counter("api.hedged");
+		this.circuitRejections = metrics.counter("api.circuitRejections");
 		System.out.println("ApiService has been created with dependencies injected!");
 		System.out.println("API URL: " + apiUrl);
 	}
 
 	public List<Employee> fetchEmployeesFromApi() throws ApiException {
+		long start = fetchTimer.start();
 		try {
-			HttpRequest request = HttpRequest.newBuilder().uri(URI.create(apiUrl)).GET().build();
+			return fetchWithRetries();
+		} catch (ApiException e) {
+			fetchErrors.increment();
+			throw e;
+		} finally { fetchTimer.stop(start); }
+	}
+
+	private List<Employee> fetchWithRetries() throws ApiException {
+		if (requestExecutor.isShutdown()) { throw new ApiException("ApiService is closed"); }
+		CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(
+		  apiUrl, url -> new CircuitBreaker(settings.getCircuitFailureThreshold(), settings.getCircuitOpenDuration()));
+
+		if (!circuitBreaker.allowRequest()) {
+			circuitRejections.increment();
+			throw new ApiException("Circuit breaker open, skipping endpoint: " + apiUrl);
+		}
+
+		ApiException lastError = null;
+		for (int attempt = 0; attempt <= settings.getMaxRetries(); attempt++) {
+			if (attempt > 0 && !circuitBreaker.allowRequest()) { break; }
+
+			// Każde wyjście bez odpowiedzi (też przerwanie i wyjątek runtime) to porażka - inaczej próba
+			// w stanie HALF_OPEN nigdy by się nie rozliczyła i wyłącznik blokowałby endpoint na zawsze
+			boolean settled = false;
+			try {
+				if (attempt > 0) {
+					sleepBeforeRetry(attempt);
+					retries.increment();
+				}
+				HttpResponse<String> response = sendHedged(URI.create(apiUrl));
+
+				if (response.statusCode() == 200) {
+					circuitBreaker.recordSuccess();
+					settled = true;
+					return parseApiResponse(response.body());
+				}
 
-			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+				lastError = new ApiException("API returned status code: " + response.statusCode());
+				if (!isRetryable(response.statusCode())) {
+					// Błąd po stronie klienta - endpoint działa, ponawianie nic nie da
+					circuitBreaker.recordSuccess();
+					settled = true;
+					throw lastError;
+				}
+			} catch (IOException e) {
+				lastError = new ApiException("Failed to fetch data from API: " + e.getMessage(), e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ApiException("Failed to fetch data from API: " + e.getMessage(), e);
+			} finally {
+				if (!settled) { circuitBreaker.recordFailure(); }
+			}
+		}
+
+		throw lastError;
+	}
+
+	private HttpResponse<String> sendHedged(URI uri) throws IOException, InterruptedException {
+		long timeoutNanos = currentTimeoutNanos();
+		HttpRequest request = HttpRequest.newBuilder().uri(uri).timeout(Duration.ofNanos(timeoutNanos)).GET().build();
+
+		OptionalLong hedgeDelay = settings.isHedgingEnabled()
+									? latencyTracker.percentileNanos(0.95, settings.getMinLatencySamples())
+									: OptionalLong.empty();
 
-			if (response.statusCode() != 200) {
-				throw new ApiException("API returned status code: " + response.statusCode());
+		ExecutorCompletionService<HttpResponse<String>> completion = new ExecutorCompletionService<>(requestExecutor);
+		List<Future<HttpResponse<String>>> inFlight = new ArrayList<>();
+		long deadline = System.nanoTime() + timeoutNanos;
+
+		try {
+			inFlight.add(completion.submit(() -> timedSend(request, false)));
+
+			if (hedgeDelay.isPresent() && hedgeDelay.getAsLong() < timeoutNanos) {
+				Future<HttpResponse<String>> first = completion.poll(hedgeDelay.getAsLong(), TimeUnit.NANOSECONDS);
+				if (first != null) { return awaitResult(first); }
+				// Pierwsze żądanie przekroczyło p95 - wysyłamy drugie i bierzemy szybszą odpowiedź
+				inFlight.add(completion.submit(() -> timedSend(request, true)));
+				hedgedRequests.increment();
 			}
 
-			return parseApiResponse(response.body());
-		} catch (IOException | InterruptedException e) {
+			IOException failure = null;
+			for (int pending = inFlight.size(); pending > 0; pending--) {
+				Future<HttpResponse<String>> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				if (done == null) {
+					throw new HttpTimeoutException("request timed out after " + timeoutNanos / 1_000_000 + " ms");
+				}
+				try {
+					return awaitResult(done);
+				} catch (IOException e) { failure = e; }
+			}
+			throw failure;
+		} finally { inFlight.forEach(future -> future.cancel(true)); }
+	}
+
+	private HttpResponse<String> timedSend(HttpRequest request, boolean hedged)
+	  throws IOException, InterruptedException {
+		ApiFetchEvent event = new ApiFetchEvent();
+		event.begin();
+		long start = System.nanoTime();
+		HttpResponse<String> response = null;
+		String outcome = "error";
+		try {
+			response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+			outcome = "ok";
+			return response;
+		} catch (HttpTimeoutException e) {
+			outcome = "timeout";
+			throw e;
+		} catch (InterruptedException e) {
+			// Przegrane żądanie hedgingu albo przekroczony termin w sendHedged
+			outcome = "cancelled";
+			throw e;
+		} finally {
+			/*
+			 * Także żądania przekroczone i anulowane: gdyby okno widziało tylko odpowiedzi, p99 (a z nim timeout)
+			 * nie rosłoby, kiedy API zwalnia powyżej timeoutu. Czas przycinamy do terminu żądania.
+			 */
+			long elapsed = System.nanoTime() - start;
+			latencyTracker.record(request.timeout().map(limit -> Math.min(elapsed, limit.toNanos())).orElse(elapsed));
+			event.end();
+			if (event.shouldCommit()) {
+				event.url = request.uri().toString();
+				event.hedged = hedged;
+				event.outcome = outcome;
+				if (response != null) {
+					event.statusCode = response.statusCode();
+					event.bytes = responseBytes(response);
+				}
+				event.commit();
+			}
+		}
+	}
+
+	private static long responseBytes(HttpResponse<String> response) {
+		return response.headers().firstValueAsLong("Content-Length").orElseGet(() -> Utf8.length(response.body()));
+	}
+
+	private static HttpResponse<String> awaitResult(Future<HttpResponse<String>> future)
+	  throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) { throw ioException; }
+			if (cause instanceof InterruptedException interruptedException) { throw interruptedException; }
+			if (cause instanceof RuntimeException runtimeException) { throw runtimeException; }
+			throw new IOException(cause);
+		}
+	}
+
+	private long currentTimeoutNanos() {
+		OptionalLong p99 = latencyTracker.percentileNanos(0.99, settings.getMinLatencySamples());
+		if (p99.isEmpty()) { return settings.getInitialTimeout().toNanos(); }
+
+		long adaptive = (long) (p99.getAsLong() * settings.getTimeoutMultiplier());
+		return Math.max(settings.getMinTimeout().toNanos(), Math.min(settings.getMaxTimeout().toNanos(), adaptive));
+	}
+
+	private void sleepBeforeRetry(int attempt) throws ApiException {
+		// Exponential backoff z pełnym jitterem
+		long exponential = settings.getBackoffBase().toMillis() << Math.min(attempt - 1, 20);
+		long cap = Math.min(settings.getBackoffMax().toMillis(), exponential);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			throw new ApiException("Failed to fetch data from API: " + e.getMessage(), e);
 		}
 	}
 
-	private List<Employee> parseApiResponse(String jsonResponse) {
-		List<Employee> employees = new ArrayList<>();
+	private static boolean isRetryable(int statusCode) { return statusCode == 429 || statusCode >= 500; }
+
+	// Przerywa żądania w toku; kolejne fetchEmployeesFromApi kończą się ApiException
+	@Override
+	public void close() {
+		requestExecutor.shutdownNow();
+	}
+
+	List<Employee> parseApiResponse(String jsonResponse) {
+		ParseBatchEvent parseEvent = new ParseBatchEvent();
+		parseEvent.begin();
 		JsonArray jsonArray = gson.fromJson(jsonResponse, JsonArray.class);
+		parseEvent.end();
+		if (parseEvent.shouldCommit()) {
+			parseEvent.source = "api";
+			parseEvent.rows = jsonArray.size();
+			parseEvent.bytes = Utf8.length(jsonResponse);
+			parseEvent.commit();
+		}
 
+		ValidateBatchEvent validateEvent = new ValidateBatchEvent();
+		validateEvent.begin();
+		List<Employee> employees = new ArrayList<>(jsonArray.size());
 		for (int i = 0; i < jsonArray.size(); i++) {
 			JsonObject userJson = jsonArray.get(i).getAsJsonObject();
 
-			String firstName = userJson.get("name").getAsString().split(" ")[0];
-			String lastName = userJson.get("name").getAsString().split(" ").length > 1
-								? userJson.get("name").getAsString().split(" ")[1]
-								: "";
+			String[] name = userJson.get("name").getAsString().split(" ");
+			String firstName = name[0];
+			String lastName = name.length > 1 ? name[1] : "";
 			String email = userJson.get("email").getAsString();
 			String company = userJson.getAsJsonObject("company").get("name").getAsString();
 			// Pracownicy z API to programiści
 			employees.add(new Employee(firstName, lastName, email, company, Position.PROGRAMISTA));
 		}
+		validateEvent.end();
+		if (validateEvent.shouldCommit()) {
+			validateEvent.source = "api";
+			validateEvent.rows = jsonArray.size();
+			validateEvent.commit();
+		}
 
 		return employees;
 	}
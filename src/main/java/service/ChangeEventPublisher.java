@@ -0,0 +1,267 @@
+package service;
+
+import config.ChangeStreamSettings;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+import metrics.NoopMetricsRegistry;
+import model.ChangeEvent;
+import model.OverflowPolicy;
+
+/*
+ * Strumień zmian EmployeeService jako Flow.Publisher partii zdarzeń. Każdy subskrybent ma własny
+ * ograniczony bufor i politykę przepełnienia (ChangeStreamSettings). Dostarczanie idzie na wątkach
+ * wirtualnych, najwyżej jedna partia naraz na subskrybenta; request(1) to jedna partia do maxBatchSize zdarzeń.
+ * Bez subskrybentów zapis nie tworzy żadnych zdarzeń.
+ */
+public class ChangeEventPublisher implements Flow.Publisher<List<ChangeEvent>>, AutoCloseable {
+	private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Counter bufferedEvents;
+	private final Counter droppedEvents;
+	private final Counter coalescedEvents;
+	private volatile boolean closed;
+
+	public ChangeEventPublisher() { this(NoopMetricsRegistry.INSTANCE); }
+
+	public ChangeEventPublisher(MetricsRegistry metrics) {
+		this.bufferedEvents = metrics.counter("employees.changes.buffered");
+		this.droppedEvents = metrics.counter("employees.changes.dropped");
+		this.coalescedEvents = metrics.counter("employees.changes.coalesced");
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super List<ChangeEvent>> subscriber) {
+		subscribe(subscriber, ChangeStreamSettings.defaults());
+	}
+
+	public void subscribe(Flow.Subscriber<? super List<ChangeEvent>> subscriber, ChangeStreamSettings settings) {
+		if (subscriber == null) { throw new NullPointerException("Subscriber cannot be null"); }
+		if (settings == null) { throw new NullPointerException("Settings cannot be null"); }
+
+		ChangeSubscription subscription = new ChangeSubscription(subscriber, settings);
+		subscriptions.add(subscription);
+		subscriber.onSubscribe(subscription);
+		if (closed) { subscription.complete(); }
+	}
+
+	public int getSubscriberCount() { return subscriptions.size(); }
+
+	boolean hasSubscribers() { return !subscriptions.isEmpty(); }
+
+	void publish(ChangeEvent event) {
+		if (closed) { return; }
+		for (ChangeSubscription subscription : subscriptions) { subscription.offer(event); }
+	}
+
+	/*
+	 * Subskrybenci dostają onComplete po odebraniu tego, co już jest w ich buforach. Executor przyjmuje
+	 * już tylko zaplanowane opróżnienia; kolejne (po request od subskrybenta) idą na wątku wywołującym.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		subscriptions.forEach(ChangeSubscription::complete);
+		executor.shutdown();
+	}
+
+	private final class ChangeSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super List<ChangeEvent>> subscriber;
+		private final ChangeStreamSettings settings;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition notFull = lock.newCondition();
+		// BLOCK i DROP: kolejka zdarzeń; COALESCE: najnowsze zdarzenie firmy w kolejności pierwszego pojawienia się
+		private final ArrayDeque<ChangeEvent> queue = new ArrayDeque<>();
+		private final Map<String, ChangeEvent> byCompany = new LinkedHashMap<>();
+		private long demand;
+		private Throwable error;
+		private boolean draining;
+		private boolean completing;
+		private boolean terminated;
+
+		ChangeSubscription(Flow.Subscriber<? super List<ChangeEvent>> subscriber, ChangeStreamSettings settings) {
+			this.subscriber = subscriber;
+			this.settings = settings;
+		}
+
+		void offer(ChangeEvent event) {
+			lock.lock();
+			try {
+				if (!enqueue(event)) { return; }
+			} finally { lock.unlock(); }
+			scheduleDrain();
+		}
+
+		private boolean enqueue(ChangeEvent event) {
+			int capacity = settings.getBufferCapacity();
+			switch (settings.getOverflowPolicy()) {
+				case DROP -> {
+					if (terminated) { return false; }
+					if (queue.size() >= capacity) {
+						droppedEvents.increment();
+						return false;
+					}
+					queue.add(event);
+				}
+				case BLOCK -> {
+					while (!terminated && queue.size() >= capacity) {
+						if (!awaitSpace()) { return false; }
+					}
+					if (terminated) { return false; }
+					queue.add(event);
+				}
+				case COALESCE -> {
+					while (true) {
+						if (terminated) { return false; }
+						ChangeEvent pending = byCompany.get(event.getCompany());
+						if (pending != null) {
+							byCompany.put(event.getCompany(), pending.coalesce(event));
+							coalescedEvents.increment();
+							return true;
+						}
+						if (byCompany.size() < capacity) { break; }
+						if (!awaitSpace()) { return false; }
+					}
+					byCompany.put(event.getCompany(), event);
+				}
+			}
+			bufferedEvents.increment();
+			return true;
+		}
+
+		// Przerwany piszący nie czeka dalej - zdarzenie liczymy jako odrzucone i zostawiamy flagę przerwania
+		private boolean awaitSpace() {
+			try {
+				notFull.await();
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				droppedEvents.increment();
+				return false;
+			}
+		}
+
+		// Błędne n (reguła 3.9) zgłaszamy przez pętlę drain, żeby onError nie biegło równolegle z onNext
+		@Override
+		public void request(long n) {
+			lock.lock();
+			try {
+				if (n <= 0) {
+					String message = "Requested " + n + " batches, expected a positive number";
+					if (error == null) { error = new IllegalArgumentException(message); }
+					discard();
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+			} finally { lock.unlock(); }
+			scheduleDrain();
+		}
+
+		@Override
+		public void cancel() {
+			lock.lock();
+			try {
+				terminated = true;
+				discard();
+			} finally { lock.unlock(); }
+			subscriptions.remove(this);
+		}
+
+		private void discard() {
+			queue.clear();
+			byCompany.clear();
+			notFull.signalAll();
+		}
+
+		void complete() {
+			lock.lock();
+			try {
+				completing = true;
+			} finally { lock.unlock(); }
+			scheduleDrain();
+		}
+
+		private void scheduleDrain() {
+			lock.lock();
+			try {
+				boolean work = error != null || (buffered() > 0 ? demand > 0 : completing);
+				if (draining || terminated || !work) { return; }
+				draining = true;
+			} finally { lock.unlock(); }
+			try {
+				executor.execute(this::drain);
+			} catch (RejectedExecutionException e) { drain(); }
+		}
+
+		private void drain() {
+			while (true) {
+				List<ChangeEvent> batch;
+				Throwable failure = null;
+				lock.lock();
+				try {
+					if (error != null && !terminated) {
+						terminated = true;
+						failure = error;
+						batch = null;
+					} else if (terminated || buffered() > 0 && demand == 0 || buffered() == 0 && !completing) {
+						draining = false;
+						return;
+					} else if (buffered() == 0) {
+						terminated = true;
+						batch = null;
+					} else {
+						batch = takeBatch();
+						demand--;
+						notFull.signalAll();
+					}
+				} finally { lock.unlock(); }
+
+				if (batch == null) {
+					subscriptions.remove(this);
+					if (failure != null) {
+						subscriber.onError(failure);
+					} else {
+						subscriber.onComplete();
+					}
+					return;
+				}
+				try {
+					subscriber.onNext(batch);
+				} catch (RuntimeException e) {
+					// Wyjątek z onNext kończy subskrypcję (reguła 2.13 Reactive Streams)
+					cancel();
+					return;
+				}
+			}
+		}
+
+		private List<ChangeEvent> takeBatch() {
+			int size = Math.min(settings.getMaxBatchSize(), buffered());
+			List<ChangeEvent> batch = new ArrayList<>(size);
+			if (settings.getOverflowPolicy() == OverflowPolicy.COALESCE) {
+				Iterator<ChangeEvent> pending = byCompany.values().iterator();
+				while (batch.size() < size) {
+					batch.add(pending.next());
+					pending.remove();
+				}
+			} else {
+				while (batch.size() < size) { batch.add(queue.poll()); }
+			}
+			return batch;
+		}
+
+		private int buffered() { return queue.size() + byCompany.size(); }
+	}
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package service;
+
+import java.time.Duration;
+
+class CircuitBreaker {
+
+	enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final int failureThreshold;
+	private final long openDurationNanos;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+
+	CircuitBreaker(int failureThreshold, Duration openDuration) {
+		this.failureThreshold = failureThreshold;
+		this.openDurationNanos = openDuration.toNanos();
+	}
+
+	synchronized boolean allowRequest() {
+		if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+			// Po upływie czasu przepuszczamy jedno żądanie próbne
+			state = State.HALF_OPEN;
+			return true;
+		}
+		return state == State.CLOSED;
+	}
+
+	synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+		state = State.CLOSED;
+	}
+
+	synchronized void recordFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+	}
+
+	synchronized State getState() { return state; }
+}
\ No newline at end of file
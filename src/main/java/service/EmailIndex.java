@@ -0,0 +1,15 @@
+package service;
+
+/*
+ * Indeks emaili do wykrywania duplikatów; adresy są już zapisane małymi literami.
+ * Domyślnie HashSet na stercie, a magazyn SPILL odpowiada z własnej memtable i plików segmentów.
+ */
+interface EmailIndex {
+
+	boolean contains(String email);
+
+	void add(String email);
+
+	// Przybliżony rozmiar na stercie
+	long bytes();
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import model.Employee;
+import model.Position;
+
+/*
+ * Indeksy wtórne utrzymywane przy każdym dodaniu; trzymają numery wierszy magazynu w kolejności wstawiania.
+ * Wszystko można czytać bez blokad równolegle z (jednym) piszącym: listy firm i stanowisk publikują rozmiar
+ * (migawki), drzewa pensji są trwałe (SalaryIndex), a mapy to ConcurrentHashMap i ConcurrentSkipListMap.
+ */
+class EmployeeIndexes {
+	private static final SalaryIndex EMPTY = new SalaryIndex(new HeapEmployeeStore());
+
+	private final EmployeeStore store;
+	private final Map<String, RowList> byCompany = new ConcurrentHashMap<>();
+	private final Map<Position, RowList> byPosition = new EnumMap<>(Position.class);
+	private final SalaryIndex bySalary;
+	private final Map<String, SalaryIndex> salaryByCompany = new ConcurrentHashMap<>();
+	private final Map<Position, SalaryIndex> salaryByPosition = new EnumMap<>(Position.class);
+	private final NavigableMap<String, RowList> byLastName = new ConcurrentSkipListMap<>();
+
+	// SPILL indeksuje firmy i stanowiska w plikach segmentów, więc dostaje własną odmianę
+	static EmployeeIndexes create(EmployeeStore store) {
+		return store instanceof SpillEmployeeStore spill ? new SpillIndexes(spill) : new EmployeeIndexes(store);
+	}
+
+	EmployeeIndexes(EmployeeStore store) {
+		this.store = store;
+		this.bySalary = new SalaryIndex(store);
+		// Wszystkie stanowiska od razu, żeby mapa nie zmieniała się po konstrukcji
+		for (Position position : Position.values()) {
+			byPosition.put(position, new RowList(store));
+			salaryByPosition.put(position, new SalaryIndex(store));
+		}
+	}
+
+	void add(Employee employee, int row) {
+		String company = key(employee.getCompany());
+		BigDecimal salary = employee.getSalary();
+		byCompany.computeIfAbsent(company, k -> new RowList(store)).addRow(row);
+		byPosition.get(employee.getPosition()).addRow(row);
+		bySalary.add(row, salary);
+		salaryByCompany.computeIfAbsent(company, k -> new SalaryIndex(store)).add(row, salary);
+		salaryByPosition.get(employee.getPosition()).add(row, salary);
+		byLastName.computeIfAbsent(key(employee.getLastName()), k -> new RowList(store)).addRow(row);
+	}
+
+	List<Employee> company(String company) { return readOnly(byCompany.get(key(company))); }
+
+	List<Employee> position(Position position) { return readOnly(byPosition.get(position)); }
+
+	// Tylko niepuste stanowiska
+	Map<Position, List<Employee>> positions() {
+		Map<Position, List<Employee>> positions = new EnumMap<>(Position.class);
+		byPosition.forEach((position, rows) -> {
+			if (!rows.isEmpty()) { positions.put(position, readOnly(rows)); }
+		});
+		return positions;
+	}
+
+	// Widoki dla migawki: tylko wiersze < watermark
+	List<Employee> company(String company, int watermark) {
+		RowList rows = byCompany.get(key(company));
+		return rows == null ? List.of() : rows.upTo(watermark);
+	}
+
+	List<Employee> position(Position position, int watermark) { return byPosition.get(position).upTo(watermark); }
+
+	// false = brak drzew pensji i indeksu nazwisk; salaries() i lastNamePrefix skanują, a planer ich nie wybiera
+	boolean ordered() { return true; }
+
+	SalaryQueries salaries() { return bySalary; }
+
+	// Dla nieznanej firmy zwracamy pusty indeks, żeby wywołujący nie musieli sprawdzać null
+	SalaryQueries salaries(String company) { return salaryByCompany.getOrDefault(key(company), EMPTY); }
+
+	SalaryQueries salaries(Position position) { return salaryByPosition.get(position); }
+
+	NavigableMap<String, List<Employee>> lastNamePrefix(String prefix) {
+		String from = key(prefix);
+		char last = from.charAt(from.length() - 1);
+		NavigableMap<String, RowList> range;
+		if (last == Character.MAX_VALUE) {
+			range = byLastName.tailMap(from, true);
+		} else {
+			range = byLastName.subMap(from, true, from.substring(0, from.length() - 1) + (char) (last + 1), false);
+		}
+		return Collections.unmodifiableNavigableMap(range);
+	}
+
+	private static List<Employee> readOnly(RowList rows) {
+		return rows == null ? List.of() : Collections.unmodifiableList(rows);
+	}
+
+	static String key(String value) { return value.toLowerCase(Locale.ROOT); }
+}
\ No newline at end of file
@@ -1,98 +1,358 @@
 package service;
 
+import config.QueryCacheSettings;
+import jakarta.annotation.PreDestroy;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import metrics.MetricsRegistry;
+import metrics.NoopMetricsRegistry;
+import metrics.Timer;
+import model.ApproximateStatistics;
+import model.ChangeEvent;
+import model.CompanyAggregate;
 import model.CompanyStatistics;
 import model.Employee;
+import model.EmployeeQuery;
 import model.Position;
+import model.QueryPlan;
+import model.StorageMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
-public class EmployeeService {
-	private final List<Employee> employees = new ArrayList<>();
+public class EmployeeService implements EmployeeShard {
+	private final EmployeeStore store;
+	private final EmailIndex emailIndex;
+	private final EmployeeIndexes indexes;
+	private final QueryPlanner queryPlanner;
+	private final SalarySketches sketches = new SalarySketches();
+	// Ostatnia opublikowana wersja agregatów; zapis volatile kończy każde dodanie
+	private volatile StoreVersion version = StoreVersion.EMPTY;
+	private final ChangeEventPublisher changes;
+	private final QueryResultCache cache;
 
-	public EmployeeService() { System.out.println("EmployeeService has been created by Spring!"); }
+	private final Timer addTimer;
+	private final Timer findAllTimer;
+	private final Timer findByCompanyTimer;
+	private final Timer sortedByLastNameTimer;
+	private final Timer groupByPositionTimer;
+	private final Timer countByPositionTimer;
+	private final Timer averageSalaryTimer;
+	private final Timer highestPaidTimer;
+	private final Timer salaryConsistencyTimer;
+	private final Timer companyStatisticsTimer;
+	private final Timer adHocQueryTimer;
 
+	public EmployeeService() { this(NoopMetricsRegistry.INSTANCE); }
+
+	public EmployeeService(MetricsRegistry metrics) { this(metrics, StorageMode.HEAP); }
+
+	public EmployeeService(StorageMode storageMode) { this(NoopMetricsRegistry.INSTANCE, storageMode); }
+
+	@Autowired
+	public EmployeeService(MetricsRegistry metrics,
+						   @Value("${app.storage.mode:heap}") String storageMode,
+						   QueryCacheSettings cacheSettings) {
+		this(metrics, StorageMode.fromProperty(storageMode), cacheSettings);
+	}
+
+	public EmployeeService(MetricsRegistry metrics, StorageMode storageMode) {
+		this(metrics, storageMode, QueryCacheSettings.defaults());
+	}
+
+	// OFF_HEAP: rekordy w buforach bezpośrednich, a indeksy trzymają tylko numery wierszy;
+	// SPILL: rekordy, indeks emaili i listy firm w plikach segmentów, na stercie tylko ostatnie wstawienia
+	public EmployeeService(MetricsRegistry metrics, StorageMode storageMode, QueryCacheSettings cacheSettings) {
+		this.store = EmployeeStore.create(storageMode);
+		this.emailIndex = store.emailIndex();
+		this.indexes = EmployeeIndexes.create(store);
+		this.queryPlanner = new QueryPlanner(store, indexes);
+		this.changes = new ChangeEventPublisher(metrics);
+		// W SPILL wynik to pracownicy odczytani z dysku - zapamiętane listy trzymałyby ich na stercie
+		boolean spill = storageMode == StorageMode.SPILL;
+		this.cache = new QueryResultCache(spill ? QueryCacheSettings.builder().maxEntries(0).build() : cacheSettings,
+										  metrics);
+		this.addTimer = metrics.timer("employees.add");
+		this.findAllTimer = metrics.timer("employees.query.findAll");
+		this.findByCompanyTimer = metrics.timer("employees.query.findByCompany");
+		this.sortedByLastNameTimer = metrics.timer("employees.query.findAllSortedByLastName");
+		this.groupByPositionTimer = metrics.timer("employees.query.groupByPosition");
+		this.countByPositionTimer = metrics.timer("employees.query.countByPosition");
+		this.averageSalaryTimer = metrics.timer("employees.query.calculateAverageSalary");
+		this.highestPaidTimer = metrics.timer("employees.query.findHighestPaidEmployee");
+		this.salaryConsistencyTimer = metrics.timer("employees.query.validateSalaryConsistency");
+		this.companyStatisticsTimer = metrics.timer("employees.query.getCompanyStatistics");
+		this.adHocQueryTimer = metrics.timer("employees.query.adHoc");
+		metrics.gauge("employees.store.size", this::count);
+		metrics.gauge("employees.index.email.bytes", emailIndex::bytes);
+		metrics.gauge("employees.store.offHeap.bytes", store::offHeapBytes);
+		metrics.gauge("employees.store.disk.bytes", store::diskBytes);
+		System.out.println("EmployeeService has been created by Spring!");
+	}
+
+	@Override
 	public void addEmployee(Employee employee) {
 		// Validate null
 		if (employee == null) { throw new NullPointerException("Employee cannot be null"); }
 
-		// Validate duplicate email
-		boolean emailExists = employees.stream().anyMatch(e -> e.getEmail().equalsIgnoreCase(employee.getEmail()));
+		long start = addTimer.start();
+		try {
+			// Validate duplicate email
+			if (containsEmail(employee.getEmail())) {
+				throw new IllegalArgumentException("Employee with email " + employee.getEmail() + " already exists");
+			}
 
-		if (emailExists) {
-			throw new IllegalArgumentException("Employee with email " + employee.getEmail() + " already exists");
-		}
+			int row = store.add(employee);
+			indexes.add(employee, row);
+			sketches.add(employee);
+			StoreVersion published = version.add(employee, row);
+			version = published;
+			emailIndex.add(employee.getEmail());
+			// Po publikacji wersji, żeby wynik liczony równolegle z tym zapisem nie trafił do pamięci podręcznej
+			cache.invalidate(employee);
 
-		employees.add(employee);
+			// Po publikacji wersji - odbiorca zdarzenia widzi w snapshot() co najmniej tę zmianę
+			if (changes.hasSubscribers()) {
+				CompanyAggregate aggregate = published.companies().get(employee.getCompany());
+				changes.publish(ChangeEvent.inserted(published.rows(), employee, aggregate));
+			}
+		} finally { addTimer.stop(start); }
 	}
 
+	@Override
 	public void addEmployees(List<Employee> employeeList) {
 		if (employeeList == null) { throw new NullPointerException("Employee list cannot be null"); }
 		employeeList.forEach(this::addEmployee);
 	}
 
-	public List<Employee> findAll() { return new ArrayList<>(employees); }
+	@Override
+	public boolean containsEmail(String email) {
+		return email != null && emailIndex.contains(email.toLowerCase(Locale.ROOT));
+	}
+
+	@Override
+	public int count() {
+		return store.size();
+	}
+
+	/*
+	 * Migawka w O(1): spójny widok pracowników i dokładnych agregatów, który nie zmienia się przy kolejnych
+	 * dodaniach. Można ją czytać z innych wątków równolegle z (jednym) piszącym, bez blokad i kopiowania.
+	 */
+	public EmployeeSnapshot snapshot() { return new EmployeeSnapshot(store, indexes, version); }
+
+	/*
+	 * Zdarzenia o dodaniach w partiach, z ograniczonym buforem i polityką przepełnienia per subskrybent
+	 * (ChangeEventPublisher.subscribe(subscriber, settings)) - zamiast cyklicznego getCompanyStatistics.
+	 */
+	public ChangeEventPublisher changes() { return changes; }
+
+	// Subskrybenci strumienia zmian dostają onComplete, a jego executor przestaje przyjmować zadania
+	@PreDestroy
+	public void shutdown() { changes.close(); }
+
+	// Przegląd bez kopiowania listy - dla eksportu i innych odbiorców strumieniowych
+	public void forEachEmployee(Consumer<? super Employee> action) { snapshot().forEachEmployee(action); }
 
+	public void forEachEmployee(Position position, Consumer<? super Employee> action) {
+		indexes.position(position).forEach(action);
+	}
+
+	public List<Employee> findAll() {
+		long start = findAllTimer.start();
+		try {
+			return new ArrayList<>(snapshot().findAll());
+		} finally { findAllTimer.stop(start); }
+	}
+
+	// Wyniki findByCompany, findAllSortedByLastName i groupByPosition są niemodyfikowalne (QueryResultCache)
 	public List<Employee> findByCompany(String company) {
-		return employees.stream().filter(e -> e.getCompany().equalsIgnoreCase(company)).collect(Collectors.toList());
+		long start = findByCompanyTimer.start();
+		try {
+			QueryResultCache.Key key = QueryResultCache.company(company);
+			return cache.get(key, () -> List.copyOf(indexes.company(company, version.rows())));
+		} finally { findByCompanyTimer.stop(start); }
+	}
+
+	@Override
+	public List<Employee> query(EmployeeQuery query) {
+		if (query == null) { throw new NullPointerException("Query cannot be null"); }
+
+		long start = adHocQueryTimer.start();
+		try {
+			return queryPlanner.execute(queryPlanner.plan(query), query);
+		} finally { adHocQueryTimer.stop(start); }
+	}
+
+	// Grupowanie po wyniku zapytania (po sortowaniu i limicie); kolejność grup jak w wyniku
+	public <K> Map<K, List<Employee>> query(EmployeeQuery query, Function<? super Employee, ? extends K> groupBy) {
+		Map<K, List<Employee>> groups = new LinkedHashMap<>();
+		for (Employee employee : query(query)) {
+			groups.computeIfAbsent(groupBy.apply(employee), k -> new ArrayList<>()).add(employee);
+		}
+		return groups;
+	}
+
+	public QueryPlan explain(EmployeeQuery query) {
+		if (query == null) { throw new NullPointerException("Query cannot be null"); }
+		return queryPlanner.plan(query);
 	}
 
+	// Dokładne porównanie nazwisk (wielkie litery przed małymi); LAST_NAME w query ignoruje wielkość liter
 	public List<Employee> findAllSortedByLastName() {
-		return employees.stream().sorted(Comparator.comparing(Employee::getLastName)).collect(Collectors.toList());
+		long start = sortedByLastNameTimer.start();
+		try {
+			return cache.get(QueryResultCache.sortedByLastName(),
+							 () -> snapshot()
+							   .findAll()
+							   .stream()
+							   .sorted(Comparator.comparing(Employee::getLastName))
+							   .toList());
+		} finally { sortedByLastNameTimer.stop(start); }
 	}
 
 	public Map<Position, List<Employee>> groupByPosition() {
-		return employees.stream().collect(Collectors.groupingBy(Employee::getPosition));
+		long start = groupByPositionTimer.start();
+		try {
+			Map<Position, List<Employee>> groups = new EnumMap<>(Position.class);
+			for (Position position : Position.values()) {
+				QueryResultCache.Key key = QueryResultCache.position(position);
+				List<Employee> group = cache.get(key, () -> List.copyOf(indexes.position(position, version.rows())));
+				if (!group.isEmpty()) { groups.put(position, group); }
+			}
+			return groups;
+		} finally { groupByPositionTimer.stop(start); }
 	}
 
+	@Override
 	public Map<Position, Long> countByPosition() {
-		return employees.stream().collect(Collectors.groupingBy(Employee::getPosition, Collectors.counting()));
+		long start = countByPositionTimer.start();
+		try {
+			Map<Position, Long> counts = new EnumMap<>(Position.class);
+			indexes.positions().forEach((position, group) -> counts.put(position, (long) group.size()));
+			return counts;
+		} finally { countByPositionTimer.stop(start); }
 	}
 
 	public Optional<BigDecimal> calculateAverageSalary() {
-		List<BigDecimal> salaries = employees.stream().map(Employee::getSalary).collect(Collectors.toList());
+		long start = averageSalaryTimer.start();
+		try {
+			// Suma jest utrzymywana przy dodawaniu, więc bez przeglądania pracowników
+			return snapshot().calculateAverageSalary();
+		} finally { averageSalaryTimer.stop(start); }
+	}
 
-		if (salaries.isEmpty()) { return Optional.empty(); }
+	@Override
+	public Optional<Employee> findHighestPaidEmployee() {
+		long start = highestPaidTimer.start();
+		try {
+			// Utrzymywany w wersji przy dodawaniu, z tym samym rozstrzyganiem remisów co SalaryIndex.highest
+			return snapshot().findHighestPaidEmployee();
+		} finally { highestPaidTimer.stop(start); }
+	}
 
-		BigDecimal sum = salaries.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+	/*
+	 * Zapytania o pensje (i query po indeksach pensji lub nazwisk) czytają jedną, niezmienną wersję drzewa
+	 * (SalaryIndex) - można je wołać równolegle z addEmployee. Widzą stan z chwili wywołania; widok spójny
+	 * z agregatami daje snapshot().
+	 */
+	@Override
+	public List<Employee> findTopEarners(int n) {
+		if (n < 0) { throw new IllegalArgumentException("n must not be negative"); }
+		return indexes.salaries().top(n);
+	}
 
-		return Optional.of(sum.divide(BigDecimal.valueOf(salaries.size()), 2, RoundingMode.HALF_UP));
+	public List<Employee> findTopEarners(String company, int n) {
+		if (n < 0) { throw new IllegalArgumentException("n must not be negative"); }
+		return indexes.salaries(company).top(n);
 	}
 
-	public Optional<Employee> findHighestPaidEmployee() {
-		return employees.stream().max(Comparator.comparing(Employee::getSalary));
+	// Granice włącznie, rosnąco po pensji
+	public List<Employee> findBySalaryRange(BigDecimal min, BigDecimal max) {
+		return indexes.salaries().range(min, max);
+	}
+
+	public List<Employee> findBySalaryRange(String company, BigDecimal min, BigDecimal max) {
+		return indexes.salaries(company).range(min, max);
+	}
+
+	public int countBySalaryRange(BigDecimal min, BigDecimal max) { return indexes.salaries().countBetween(min, max); }
+
+	// Dokładny percentyl (najbliższa ranga), np. 0.5 = mediana
+	public Optional<BigDecimal> salaryPercentile(double percentile) {
+		return Optional.ofNullable(indexes.salaries().percentile(percentile));
+	}
+
+	public Optional<BigDecimal> salaryPercentile(String company, double percentile) {
+		return Optional.ofNullable(indexes.salaries(company).percentile(percentile));
+	}
+
+	public Optional<BigDecimal> salaryPercentile(Position position, double percentile) {
+		return Optional.ofNullable(indexes.salaries(position).percentile(percentile));
 	}
 
 	public List<Employee> validateSalaryConsistency() {
-		return employees.stream()
-		  .filter(e -> e.getSalary().compareTo(e.getPosition().getBaseSalary()) < 0)
-		  .collect(Collectors.toList());
+		long start = salaryConsistencyTimer.start();
+		try {
+			return snapshot()
+			  .findAll()
+			  .stream()
+			  .filter(e -> e.getSalary().compareTo(e.getPosition().getBaseSalary()) < 0)
+			  .collect(Collectors.toList());
+		} finally { salaryConsistencyTimer.stop(start); }
 	}
 
 	public Map<String, CompanyStatistics> getCompanyStatistics() {
-		return employees.stream()
-		  .collect(Collectors.groupingBy(Employee::getCompany))
-		  .entrySet()
-		  .stream()
-		  .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
-			  List<Employee> companyEmployees = entry.getValue();
-			  long employeeCount = companyEmployees.size();
+		long start = companyStatisticsTimer.start();
+		try {
+			// Agregaty są aktualizowane przy dodawaniu, więc koszt zależy od liczby firm, nie pracowników
+			return snapshot().getCompanyStatistics();
+		} finally { companyStatisticsTimer.stop(start); }
+	}
 
-			  BigDecimal sum =
-				companyEmployees.stream().map(Employee::getSalary).reduce(BigDecimal.ZERO, BigDecimal::add);
+	@Override
+	public Map<String, CompanyAggregate> getCompanyAggregates() {
+		Map<String, CompanyAggregate> aggregates = new HashMap<>();
+		version.companies().forEach(aggregates::put);
+		return aggregates;
+	}
 
-			  double averageSalary =
-				sum.divide(BigDecimal.valueOf(companyEmployees.size()), 2, RoundingMode.HALF_UP).doubleValue();
+	/*
+	 * Tryb przybliżony: odpowiedzi ze szkiców aktualizowanych przy dodawaniu, bez przeglądania pracowników.
+	 * Liczności, średnie i maksima są dokładne w arytmetyce double; percentyle mają błąd rangi ok. 1%
+	 * (KllSketch), a liczba firm ok. 0.8% błędu względnego (HyperLogLog). Firmy jak w getCompanyStatistics
+	 * (dokładna nazwa); tylko approximateSalaryQuantile(company, q) ignoruje wielkość liter jak findByCompany.
+	 */
+	public Map<String, ApproximateStatistics> getApproximateCompanyStatistics() {
+		Map<String, ApproximateStatistics> statistics = new HashMap<>();
+		sketches.companies().forEach((company, group) -> statistics.put(company, group.toStatistics()));
+		return statistics;
+	}
 
-			  String topEarnerFullName = companyEmployees.stream()
-										   .max(Comparator.comparing(Employee::getSalary))
-										   .map(e -> e.getFirstName() + " " + e.getLastName())
-										   .orElse("N/A");
+	public Map<Position, ApproximateStatistics> getApproximatePositionStatistics() {
+		Map<Position, ApproximateStatistics> statistics = new EnumMap<>(Position.class);
+		sketches.positions().forEach((position, group) -> statistics.put(position, group.toStatistics()));
+		return statistics;
+	}
+
+	public OptionalDouble approximateAverageSalary() {
+		SalarySketches.Group overall = sketches.overall();
+		return overall.count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(overall.average());
+	}
 
-			  return new CompanyStatistics(employeeCount, averageSalary, topEarnerFullName);
-		  }));
+	public OptionalDouble approximateSalaryQuantile(double quantile) {
+		SalarySketches.Group overall = sketches.overall();
+		return overall.count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(overall.quantile(quantile));
 	}
+
+	public OptionalDouble approximateSalaryQuantile(String company, double quantile) {
+		SalarySketches.Group group = sketches.company(company);
+		return group == null ? OptionalDouble.empty() : OptionalDouble.of(group.quantile(quantile));
+	}
+
+	public long estimateDistinctCompanies() { return sketches.estimateDistinctCompanies(); }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import model.CompanyAggregate;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+
+/*
+ * Jedna partycja danych pracowników. Argumenty i wyniki to wyłącznie typy z pakietu model, a agregaty
+ * są częściowe i scalalne, więc ten sam kontrakt może spełniać shard w innym procesie.
+ */
+public interface EmployeeShard {
+
+	void addEmployee(Employee employee);
+
+	// W kolejności listy, do pierwszego duplikatu (IllegalArgumentException): wcześniejsi zostają dodani, dalsi nie
+	void addEmployees(List<Employee> employees);
+
+	boolean containsEmail(String email);
+
+	int count();
+
+	// Z sortowaniem i limitem z zapytania - koordynator scala już posortowane, przycięte listy
+	List<Employee> query(EmployeeQuery query);
+
+	// Malejąco po pensji; remisy jak w SalaryIndex (wewnątrz shardu)
+	List<Employee> findTopEarners(int n);
+
+	// Przy remisie najwcześniej dodany do tego shardu
+	Optional<Employee> findHighestPaidEmployee();
+
+	Map<Position, Long> countByPosition();
+
+	Map<String, CompanyAggregate> getCompanyAggregates();
+}
\ No newline at end of file
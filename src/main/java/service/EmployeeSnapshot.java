@@ -0,0 +1,109 @@
+package service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import model.CompanyStatistics;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+
+/*
+ * Spójny obraz magazynu i dokładnych agregatów z chwili wywołania EmployeeService.snapshot().
+ * Utworzenie kosztuje O(1): to znacznik liczby wierszy i referencja do niemutowalnej StoreVersion.
+ * Wiersze są tylko dopisywane, więc widoki poniżej znacznika nigdy się nie zmieniają i nie trzeba ich
+ * kopiować, a piszący może dalej dodawać pracowników bez czekania na długie analizy.
+ * Zapytania idą po listach firm/stanowisk albo pełnym skanie - drzewa pensji i mapa nazwisk nie znają znacznika
+ * wiersza (dają zawsze najnowszą wersję), więc migawka ich nie używa.
+ */
+public final class EmployeeSnapshot {
+	private final EmployeeStore store;
+	private final EmployeeIndexes indexes;
+	private final StoreVersion version;
+
+	EmployeeSnapshot(EmployeeStore store, EmployeeIndexes indexes, StoreVersion version) {
+		this.store = store;
+		this.indexes = indexes;
+		this.version = version;
+	}
+
+	// Numer wersji = liczba pracowników widocznych w migawce
+	public long getVersion() { return version.rows(); }
+
+	public int count() { return version.rows(); }
+
+	// Niemodyfikowalny widok bez kopiowania
+	public List<Employee> findAll() {
+		int rows = version.rows();
+		return new AbstractList<>() {
+			@Override
+			public Employee get(int index) {
+				if (index < 0 || index >= rows) {
+					throw new IndexOutOfBoundsException("index " + index + " out of " + rows);
+				}
+				return store.get(index);
+			}
+
+			@Override
+			public int size() {
+				return rows;
+			}
+		};
+	}
+
+	public void forEachEmployee(Consumer<? super Employee> action) {
+		for (int row = 0; row < version.rows(); row++) { action.accept(store.get(row)); }
+	}
+
+	public List<Employee> findByCompany(String company) { return indexes.company(company, version.rows()); }
+
+	public Map<Position, List<Employee>> groupByPosition() {
+		Map<Position, List<Employee>> groups = new EnumMap<>(Position.class);
+		for (Position position : Position.values()) {
+			List<Employee> group = indexes.position(position, version.rows());
+			if (!group.isEmpty()) { groups.put(position, group); }
+		}
+		return groups;
+	}
+
+	public Map<Position, Long> countByPosition() {
+		Map<Position, Long> counts = new EnumMap<>(Position.class);
+		groupByPosition().forEach((position, group) -> counts.put(position, (long) group.size()));
+		return counts;
+	}
+
+	public Optional<BigDecimal> calculateAverageSalary() {
+		if (version.rows() == 0) { return Optional.empty(); }
+		return Optional.of(version.salarySum().divide(BigDecimal.valueOf(version.rows()), 2, RoundingMode.HALF_UP));
+	}
+
+	public Optional<Employee> findHighestPaidEmployee() {
+		return version.highestRow() < 0 ? Optional.empty() : Optional.of(store.get(version.highestRow()));
+	}
+
+	public Map<String, CompanyStatistics> getCompanyStatistics() {
+		Map<String, CompanyStatistics> statistics = new HashMap<>();
+		version.companies().forEach((company, aggregate) -> statistics.put(company, aggregate.toStatistics()));
+		return statistics;
+	}
+
+	public List<Employee> query(EmployeeQuery query) {
+		if (query == null) { throw new NullPointerException("Query cannot be null"); }
+
+		// Najmniejsze z dostępnych źródeł; reszta predykatów jest sprawdzana w QueryPlanner.collect
+		List<Employee> source = findAll();
+		if (query.getCompany() != null) { source = smaller(source, findByCompany(query.getCompany())); }
+		if (query.getPosition() != null) {
+			source = smaller(source, indexes.position(query.getPosition(), version.rows()));
+		}
+		return QueryPlanner.collect(source.iterator(), query.getSortKey() == null, query);
+	}
+
+	private static List<Employee> smaller(List<Employee> a, List<Employee> b) { return b.size() < a.size() ? b : a; }
+}
\ No newline at end of file
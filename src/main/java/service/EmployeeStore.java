@@ -0,0 +1,57 @@
+package service;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import model.Employee;
+import model.StorageMode;
+
+/*
+ * Magazyn rekordów adresowany numerem wiersza (kolejność wstawiania, od 0). Indeksy trzymają numery
+ * wierszy zamiast obiektów, więc przy magazynie poza stertą obiekty Employee powstają dopiero przy odczycie.
+ */
+interface EmployeeStore extends Iterable<Employee> {
+
+	// Zwraca numer wiersza nowego rekordu
+	int add(Employee employee);
+
+	Employee get(int row);
+
+	int size();
+
+	// Pamięć zajęta poza stertą (bufory bezpośrednie); 0 dla magazynu na stercie
+	long offHeapBytes();
+
+	// Rozmiar plików na dysku; 0 dla magazynów w pamięci
+	default long diskBytes() { return 0; }
+
+	// Magazyn, który sam wie, jakie emaile przechowuje (SPILL), nie potrzebuje HashSet na stercie
+	default EmailIndex emailIndex() { return new HashEmailIndex(); }
+
+	static EmployeeStore create(StorageMode mode) {
+		return switch (mode) {
+			case HEAP -> new HeapEmployeeStore();
+			case OFF_HEAP -> new OffHeapEmployeeStore();
+			case SPILL -> new SpillEmployeeStore();
+		};
+	}
+
+	// Przegląd po numerach wierszy - rekordy dopisane w trakcie nie przerywają iteracji
+	@Override
+	default Iterator<Employee> iterator() {
+		return new Iterator<>() {
+			private final int end = size();
+			private int row;
+
+			@Override
+			public boolean hasNext() {
+				return row < end;
+			}
+
+			@Override
+			public Employee next() {
+				if (row >= end) { throw new NoSuchElementException(); }
+				return get(row++);
+			}
+		};
+	}
+}
\ No newline at end of file
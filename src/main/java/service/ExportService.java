@@ -0,0 +1,212 @@
+package service;
+
+import com.google.gson.stream.JsonWriter;
+import exception.ExportException;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+import model.CompanyStatistics;
+import model.Employee;
+import model.ExportFormat;
+import model.Position;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ExportService {
+	static final String EMPLOYEE_CSV_HEADER = "firstName,lastName,email,company,position,salary";
+	static final String STATISTICS_CSV_HEADER = "company,employeeCount,averageSalary,topEarnerFullName";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final EmployeeService employeeService;
+
+	public ExportService(EmployeeService employeeService) {
+		this.employeeService = employeeService;
+		System.out.println("ExportService has been created with EmployeeService injected!");
+	}
+
+	// Zwracają liczbę zapisanych wierszy; plik z rozszerzeniem .gz jest kompresowany
+	public long exportEmployees(Path target, ExportFormat format) throws ExportException {
+		try (Writer out = openWriter(target)) {
+			return format == ExportFormat.CSV ? writeEmployeesCsv(out) : writeEmployeesJson(out);
+		} catch (IOException | UncheckedIOException e) { throw exportFailed(target, e); }
+	}
+
+	public long exportByPosition(Path target, ExportFormat format) throws ExportException {
+		try (Writer out = openWriter(target)) {
+			return format == ExportFormat.CSV ? writeByPositionCsv(out) : writeByPositionJson(out);
+		} catch (IOException | UncheckedIOException e) { throw exportFailed(target, e); }
+	}
+
+	public long exportCompanyStatistics(Path target, ExportFormat format) throws ExportException {
+		// Statystyki to jeden wpis na firmę, więc mapę możemy zbudować w pamięci; sortujemy dla stabilnego wyniku
+		Map<String, CompanyStatistics> statistics = new TreeMap<>(employeeService.getCompanyStatistics());
+		try (Writer out = openWriter(target)) {
+			if (format == ExportFormat.CSV) {
+				writeStatisticsCsv(out, statistics);
+			} else {
+				writeStatisticsJson(out, statistics);
+			}
+			return statistics.size();
+		} catch (IOException e) { throw exportFailed(target, e); }
+	}
+
+	private static Writer openWriter(Path target) throws IOException {
+		FileChannel channel = FileChannel.open(
+		  target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+		if (target.getFileName().toString().endsWith(".gz")) { out = new GZIPOutputStream(out, BUFFER_SIZE); }
+		return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	private long writeEmployeesCsv(Writer out) throws IOException {
+		out.write(EMPLOYEE_CSV_HEADER);
+		out.write('\n');
+		long[] rows = new long[1];
+		employeeService.forEachEmployee(employee -> {
+			writeCsvRow(out, employee);
+			rows[0]++;
+		});
+		return rows[0];
+	}
+
+	private long writeByPositionCsv(Writer out) throws IOException {
+		out.write(EMPLOYEE_CSV_HEADER);
+		out.write('\n');
+		long[] rows = new long[1];
+		for (Position position : Position.values()) {
+			employeeService.forEachEmployee(position, employee -> {
+				writeCsvRow(out, employee);
+				rows[0]++;
+			});
+		}
+		return rows[0];
+	}
+
+	private long writeEmployeesJson(Writer out) throws IOException {
+		JsonWriter json = new JsonWriter(out);
+		long[] rows = new long[1];
+		json.beginArray();
+		employeeService.forEachEmployee(employee -> {
+			writeJsonEmployee(json, employee);
+			rows[0]++;
+		});
+		json.endArray();
+		json.flush();
+		return rows[0];
+	}
+
+	private long writeByPositionJson(Writer out) throws IOException {
+		JsonWriter json = new JsonWriter(out);
+		long[] rows = new long[1];
+		Map<Position, Long> counts = employeeService.countByPosition();
+		json.beginObject();
+		for (Position position : Position.values()) {
+			if (!counts.containsKey(position)) { continue; }
+			json.name(position.name());
+			json.beginArray();
+			employeeService.forEachEmployee(position, employee -> {
+				writeJsonEmployee(json, employee);
+				rows[0]++;
+			});
+			json.endArray();
+		}
+		json.endObject();
+		json.flush();
+		return rows[0];
+	}
+
+	private static void writeStatisticsCsv(Writer out, Map<String, CompanyStatistics> statistics) throws IOException {
+		out.write(STATISTICS_CSV_HEADER);
+		out.write('\n');
+		for (Map.Entry<String, CompanyStatistics> entry : statistics.entrySet()) {
+			CompanyStatistics stats = entry.getValue();
+			writeCsvField(out, entry.getKey());
+			out.write(',');
+			out.write(Long.toString(stats.getEmployeeCount()));
+			out.write(',');
+			out.write(Double.toString(stats.getAverageSalary()));
+			out.write(',');
+			writeCsvField(out, stats.getTopEarnerFullName());
+			out.write('\n');
+		}
+	}
+
+	private static void writeStatisticsJson(Writer out, Map<String, CompanyStatistics> statistics)
+	  throws IOException {
+		JsonWriter json = new JsonWriter(out);
+		json.beginObject();
+		for (Map.Entry<String, CompanyStatistics> entry : statistics.entrySet()) {
+			CompanyStatistics stats = entry.getValue();
+			json.name(entry.getKey());
+			json.beginObject();
+			json.name("employeeCount").value(stats.getEmployeeCount());
+			json.name("averageSalary").value(stats.getAverageSalary());
+			json.name("topEarnerFullName").value(stats.getTopEarnerFullName());
+			json.endObject();
+		}
+		json.endObject();
+		json.flush();
+	}
+
+	private static void writeCsvRow(Writer out, Employee employee) {
+		try {
+			writeCsvField(out, employee.getFirstName());
+			out.write(',');
+			writeCsvField(out, employee.getLastName());
+			out.write(',');
+			writeCsvField(out, employee.getEmail());
+			out.write(',');
+			writeCsvField(out, employee.getCompany());
+			out.write(',');
+			out.write(employee.getPosition().name());
+			out.write(',');
+			out.write(employee.getSalary().toPlainString());
+			out.write('\n');
+		} catch (IOException e) { throw new UncheckedIOException(e); }
+	}
+
+	// Cudzysłowy tylko gdy są potrzebne (RFC 4180), żeby typowe wiersze pozostały czytelne dla prostych parserów
+	private static void writeCsvField(Writer out, String value) throws IOException {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			out.write(value);
+			return;
+		}
+		out.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') { out.write('"'); }
+			out.write(c);
+		}
+		out.write('"');
+	}
+
+	private static void writeJsonEmployee(JsonWriter json, Employee employee) {
+		try {
+			json.beginObject();
+			json.name("firstName").value(employee.getFirstName());
+			json.name("lastName").value(employee.getLastName());
+			json.name("email").value(employee.getEmail());
+			json.name("company").value(employee.getCompany());
+			json.name("position").value(employee.getPosition().name());
+			json.name("salary").value(employee.getSalary());
+			json.endObject();
+		} catch (IOException e) { throw new UncheckedIOException(e); }
+	}
+
+	private static ExportException exportFailed(Path target, Exception e) {
+		Throwable cause = e instanceof UncheckedIOException unchecked ? unchecked.getCause() : e;
+		return new ExportException("Failed to export to " + target + ": " + cause.getMessage(), cause);
+	}
+}
\ No newline at end of file
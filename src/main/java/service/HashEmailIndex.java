@@ -0,0 +1,25 @@
+package service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class HashEmailIndex implements EmailIndex {
+	private final Set<String> emails = new HashSet<>();
+	// Przybliżony rozmiar: węzeł HashMap, slot tablicy i String z tablicą bajtów
+	private long bytes;
+
+	@Override
+	public boolean contains(String email) {
+		return emails.contains(email);
+	}
+
+	@Override
+	public void add(String email) {
+		if (emails.add(email)) { bytes += 32 + 8 + 40 + email.length(); }
+	}
+
+	@Override
+	public long bytes() {
+		return bytes;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package service;
+
+import java.util.Arrays;
+import model.Employee;
+
+/*
+ * Segmenty stałej wielkości zamiast ArrayList: dopisanie nigdy nie przenosi istniejących elementów, a katalog
+ * segmentów jest kopiowany przy wzroście (copy-on-write). Jeden piszący, dowolnie wielu czytających - wpis
+ * trafia do segmentu przed zapisem volatile size, więc każdy wiersz < size jest widoczny bez blokad.
+ */
+class HeapEmployeeStore implements EmployeeStore {
+	private static final int SEGMENT_SHIFT = 14;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+	private volatile Employee[][] segments = new Employee[0][];
+	private volatile int size;
+
+	@Override
+	public int add(Employee employee) {
+		int row = size;
+		int segment = row >>> SEGMENT_SHIFT;
+		Employee[][] current = segments;
+		if (segment == current.length) {
+			current = Arrays.copyOf(current, segment + 1);
+			current[segment] = new Employee[SEGMENT_SIZE];
+			segments = current;
+		}
+		current[segment][row & (SEGMENT_SIZE - 1)] = employee;
+		size = row + 1;
+		return row;
+	}
+
+	@Override
+	public Employee get(int row) {
+		if (row < 0 || row >= size) { throw new IndexOutOfBoundsException("row " + row + " out of " + size); }
+		return segments[row >>> SEGMENT_SHIFT][row & (SEGMENT_SIZE - 1)];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public long offHeapBytes() {
+		return 0;
+	}
+}
\ No newline at end of file
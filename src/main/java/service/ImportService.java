@@ -1,60 +1,292 @@
 package service;
 
+import diagnostics.InsertBatchEvent;
+import diagnostics.ParseBatchEvent;
+import diagnostics.Utf8;
+import diagnostics.ValidateBatchEvent;
 import exception.InvalidDataException;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.GZIPInputStream;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+import metrics.NoopMetricsRegistry;
+import metrics.Timer;
 import model.Employee;
 import model.ImportSummary;
 import model.Position;
+import model.StringPool;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ImportService {
+	private static final int BATCH_SIZE = 1_000;
+
 	private final EmployeeService employeeService;
 
 	@Value("${app.import.csv-file}") private String csvFilePath;
 
-	public ImportService(EmployeeService employeeService) {
+	private final Timer importTimer;
+	private final Timer parseTimer;
+	private final Counter importedRows;
+	private final Counter importErrors;
+	private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+	public ImportService(EmployeeService employeeService) { this(employeeService, NoopMetricsRegistry.INSTANCE); }
+
+	@Autowired
+	public ImportService(EmployeeService employeeService, MetricsRegistry metrics) {
 		this.employeeService = employeeService;
+		this.importTimer = metrics.timer("import.csv");
+		this.parseTimer = metrics.timer("import.csv.parse");
+		this.importedRows = metrics.counter("import.rows");
+		this.importErrors = metrics.counter("import.errors");
+		metrics.gauge("import.lastRowsPerSecond", lastRowsPerSecond::get);
 		System.out.println("ImportService has been created with EmployeeService injected!");
 	}
 
 	public ImportSummary importFromCsv(Path csvPath) {
 		ImportSummary summary = new ImportSummary();
 
-		try {
-			var lines = Files.readAllLines(csvPath);
-			boolean isFirstLine = true;
-			int lineNumber = 0;
+		long start = importTimer.start();
+		readCsv(csvPath, summary, true, (employee, lineNumber) -> {
+			employeeService.addEmployee(employee);
+			summary.incrementImportedCount();
+		});
+		recordImport(importTimer, start, summary);
 
-			for (String line : lines) {
-				lineNumber++;
+		return summary;
+	}
 
-				if (isFirstLine) {
-					isFirstLine = false;
-					continue;
-				}
+	// Parsuje plik bez zapisu do EmployeeService - pozwala wczytywać źródła równolegle
+	public List<Employee> parseCsv(Path csvPath, ImportSummary summary) {
+		List<Employee> parsed = new ArrayList<>();
+		long start = parseTimer.start();
+		readCsv(csvPath, summary, false, collectInto(parsed, summary));
+		recordImport(parseTimer, start, summary);
+		return parsed;
+	}
+
+	public List<Employee> parseCsv(Reader source, ImportSummary summary) {
+		List<Employee> parsed = new ArrayList<>();
+		readCsv(source, summary, false, collectInto(parsed, summary));
+		return parsed;
+	}
+
+	private void recordImport(Timer timer, long start, ImportSummary summary) {
+		timer.stop(start);
+		importedRows.add(summary.getImportedCount());
+		importErrors.add(summary.getErrors().size());
+		if (start != 0) {
+			long elapsedNanos = Math.max(1, System.nanoTime() - start);
+			lastRowsPerSecond.set(summary.getImportedCount() * 1_000_000_000L / elapsedNanos);
+		}
+	}
 
-				try {
-					Employee employee = parseCsvLine(line);
-					employeeService.addEmployee(employee);
-					summary.incrementImportedCount();
-				} catch (InvalidDataException | IllegalArgumentException e) {
-					summary.addError(lineNumber, e.getMessage());
+	private static ObjIntConsumer<Employee> collectInto(List<Employee> parsed, ImportSummary summary) {
+		return (employee, lineNumber) -> {
+			parsed.add(employee);
+			summary.incrementImportedCount();
+		};
+	}
+
+	private void readCsv(Path csvPath, ImportSummary summary, boolean inserting, ObjIntConsumer<Employee> sink) {
+		try (BufferedReader reader = openReader(csvPath)) {
+			readCsv(reader, summary, inserting, sink);
+		} catch (IOException e) { summary.addError(0, "Nie można odczytać pliku: " + e.getMessage()); }
+	}
+
+	private static BufferedReader openReader(Path csvPath) throws IOException {
+		if (!csvPath.getFileName().toString().endsWith(".gz")) { return Files.newBufferedReader(csvPath); }
+		InputStream in = new GZIPInputStream(Files.newInputStream(csvPath), 64 * 1024);
+		return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	private void readCsv(Reader source, ImportSummary summary, boolean inserting, ObjIntConsumer<Employee> sink) {
+		BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+		try {
+			reader.readLine(); // pomijamy nagłówek
+			List<String> batch = new ArrayList<>(BATCH_SIZE);
+			int firstLineNumber = 2;
+			String line;
+
+			while ((line = reader.readLine()) != null) {
+				batch.add(line);
+				if (batch.size() == BATCH_SIZE) {
+					processBatch(batch, firstLineNumber, summary, inserting, sink);
+					firstLineNumber += batch.size();
+					batch.clear();
 				}
 			}
+			if (!batch.isEmpty()) { processBatch(batch, firstLineNumber, summary, inserting, sink); }
 		} catch (IOException e) { summary.addError(0, "Nie można odczytać pliku: " + e.getMessage()); }
+	}
 
-		return summary;
+	/*
+	 * Paczka przechodzi kolejno przez rozbicie na pola, walidację i zapis, a każda faza ma własne
+	 * zdarzenie JFR. Błędy zbieramy posortowane po numerze linii, żeby raport miał tę samą kolejność
+	 * co przy przetwarzaniu wiersz po wierszu.
+	 */
+	private void processBatch(List<String> lines,
+							  int firstLineNumber,
+							  ImportSummary summary,
+							  boolean inserting,
+							  ObjIntConsumer<Employee> sink) {
+		int size = lines.size();
+		SortedMap<Integer, String> errors = new TreeMap<>();
+
+		ParseBatchEvent parseEvent = new ParseBatchEvent();
+		parseEvent.begin();
+		String[][] fields = new String[size][];
+		for (int i = 0; i < size; i++) {
+			try {
+				fields[i] = splitCsvLine(lines.get(i));
+			} catch (InvalidDataException e) { errors.put(firstLineNumber + i, e.getMessage()); }
+		}
+		parseEvent.end();
+		if (parseEvent.shouldCommit()) {
+			parseEvent.source = "csv";
+			parseEvent.rows = size;
+			parseEvent.errors = errors.size();
+			parseEvent.bytes = utf8Length(lines);
+			parseEvent.commit();
+		}
+
+		ValidateBatchEvent validateEvent = new ValidateBatchEvent();
+		validateEvent.begin();
+		int parsed = size - errors.size();
+		int invalid = 0;
+		Employee[] employees = new Employee[size];
+		for (int i = 0; i < size; i++) {
+			if (fields[i] == null) { continue; }
+			try {
+				employees[i] = toEmployee(fields[i], lines.get(i));
+			} catch (InvalidDataException e) {
+				errors.put(firstLineNumber + i, e.getMessage());
+				invalid++;
+			}
+		}
+		validateEvent.end();
+		if (validateEvent.shouldCommit()) {
+			validateEvent.source = "csv";
+			validateEvent.rows = parsed;
+			validateEvent.errors = invalid;
+			validateEvent.commit();
+		}
+
+		InsertBatchEvent insertEvent = inserting ? new InsertBatchEvent() : null;
+		if (insertEvent != null) { insertEvent.begin(); }
+		int valid = parsed - invalid;
+		int rejected = 0;
+		for (int i = 0; i < size; i++) {
+			if (employees[i] == null) { continue; }
+			try {
+				sink.accept(employees[i], firstLineNumber + i);
+			} catch (IllegalArgumentException e) {
+				errors.put(firstLineNumber + i, e.getMessage());
+				rejected++;
+			}
+		}
+		if (insertEvent != null) {
+			insertEvent.end();
+			if (insertEvent.shouldCommit()) {
+				insertEvent.source = "csv";
+				insertEvent.rows = valid;
+				insertEvent.rejected = rejected;
+				insertEvent.commit();
+			}
+		}
+
+		errors.forEach(summary::addError);
+	}
+
+	private static long utf8Length(List<String> lines) {
+		long bytes = 0;
+		for (String line : lines) { bytes += Utf8.length(line) + 1; }
+		return bytes;
 	}
 
-	private Employee parseCsvLine(String line) throws InvalidDataException {
-		String[] parts = line.split(",");
+	private static String[] splitCsvLine(String line) throws InvalidDataException {
+		String[] parts = line.indexOf('"') < 0 ? splitPlain(line) : splitQuoted(line);
 		if (parts.length < 5) { throw new InvalidDataException("Nieprawidłowa liczba kolumn w linii: " + line); }
+		return parts;
+	}
+
+	// Jak line.split(","): puste pola na końcu są pomijane
+	private static String[] splitPlain(String line) {
+		List<String> fields = new ArrayList<>(6);
+		int start = 0;
+		while (true) {
+			int end = line.indexOf(',', start);
+			fields.add(column(line, start, end < 0 ? line.length() : end, fields.size()));
+			if (end < 0) { break; }
+			start = end + 1;
+		}
+		int size = fields.size();
+		while (size > 0 && fields.get(size - 1).isEmpty()) { size--; }
+		return fields.subList(0, size).toArray(String[]::new);
+	}
+
+	/*
+	 * Imię, nazwisko i firma (kolumny 0, 1, 3) są od razu przycinane. Imię i firma mają małą liczność i są
+	 * brane ze wspólnej StringPool, więc dla powtarzających się wartości nie powstaje nawet podciąg linii.
+	 * Nazwisk jest prawie tyle co wierszy: w ograniczonej puli wypierałyby firmy i imiona, więc zostają podciągiem.
+	 */
+	private static String column(CharSequence text, int from, int to, int column) {
+		if (column != 0 && column != 1 && column != 3) { return text.subSequence(from, to).toString(); }
+		while (from < to && text.charAt(from) <= ' ') { from++; }
+		while (to > from && text.charAt(to - 1) <= ' ') { to--; }
+		if (column == 1) { return text.subSequence(from, to).toString(); }
+		return StringPool.shared().intern(text, from, to);
+	}
+
+	// Pola w cudzysłowach (RFC 4180), np. nazwa firmy z przecinkiem zapisana przez ExportService
+	private static String[] splitQuoted(String line) throws InvalidDataException {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(column(field, 0, field.length(), fields.size()));
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) { throw new InvalidDataException("Niezamknięty cudzysłów w linii: " + line); }
+		fields.add(column(field, 0, field.length(), fields.size()));
+		return fields.toArray(String[]::new);
+	}
 
+	private static Employee toEmployee(String[] parts, String line) throws InvalidDataException {
 		try {
 			String firstName = parts[0].trim();
 			String lastName = parts[1].trim();
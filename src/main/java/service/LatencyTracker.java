@@ -0,0 +1,28 @@
+package service;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+// Okno ostatnich czasów odpowiedzi, z którego liczone są percentyle dla timeoutów i hedgingu
+class LatencyTracker {
+	private final long[] samples;
+	private int next;
+	private int count;
+
+	LatencyTracker(int windowSize) { this.samples = new long[windowSize]; }
+
+	synchronized void record(long latencyNanos) {
+		samples[next] = latencyNanos;
+		next = (next + 1) % samples.length;
+		if (count < samples.length) { count++; }
+	}
+
+	synchronized OptionalLong percentileNanos(double percentile, int minSamples) {
+		if (count == 0 || count < minSamples) { return OptionalLong.empty(); }
+
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percentile * count);
+		return OptionalLong.of(sorted[Math.max(0, Math.min(count, rank) - 1)]);
+	}
+}
\ No newline at end of file
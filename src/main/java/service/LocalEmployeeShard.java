@@ -0,0 +1,81 @@
+package service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import model.CompanyAggregate;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+
+// Shard w tym samym procesie: własny EmployeeService (indeksy, agregaty) za blokadą odczyt/zapis
+public class LocalEmployeeShard implements EmployeeShard {
+	private final EmployeeService employeeService;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public LocalEmployeeShard() { this(new EmployeeService()); }
+
+	public LocalEmployeeShard(EmployeeService employeeService) { this.employeeService = employeeService; }
+
+	@Override
+	public void addEmployee(Employee employee) {
+		write(() -> employeeService.addEmployee(employee));
+	}
+
+	@Override
+	public void addEmployees(List<Employee> employees) {
+		write(() -> employeeService.addEmployees(employees));
+	}
+
+	@Override
+	public boolean containsEmail(String email) {
+		return read(() -> employeeService.containsEmail(email));
+	}
+
+	@Override
+	public int count() {
+		return read(employeeService::count);
+	}
+
+	@Override
+	public List<Employee> query(EmployeeQuery query) {
+		return read(() -> employeeService.query(query));
+	}
+
+	@Override
+	public List<Employee> findTopEarners(int n) {
+		return read(() -> employeeService.findTopEarners(n));
+	}
+
+	@Override
+	public Optional<Employee> findHighestPaidEmployee() {
+		return read(employeeService::findHighestPaidEmployee);
+	}
+
+	@Override
+	public Map<Position, Long> countByPosition() {
+		return read(employeeService::countByPosition);
+	}
+
+	@Override
+	public Map<String, CompanyAggregate> getCompanyAggregates() {
+		return read(employeeService::getCompanyAggregates);
+	}
+
+	private <T> T read(Supplier<T> operation) {
+		lock.readLock().lock();
+		try {
+			return operation.get();
+		} finally { lock.readLock().unlock(); }
+	}
+
+	private void write(Runnable operation) {
+		lock.writeLock().lock();
+		try {
+			operation.run();
+		} finally { lock.writeLock().unlock(); }
+	}
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package service;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import model.Employee;
+import model.Position;
+
+/*
+ * Rekordy w buforach bezpośrednich (poza stertą), alokowanych porcjami w miarę wzrostu.
+ *
+ * Rekord ma stały układ, 24 bajty:
+ *   0  long  pensja bez skali (unscaled), wartość = unscaled * 10^-scale
+ *   8  int   numer porcji tekstu
+ *   12 int   przesunięcie w porcji tekstu
+ *   16 int   identyfikator firmy w słowniku
+ *   20 byte  ordinal stanowiska
+ *   21 byte  skala pensji
+ * Imię, nazwisko i email leżą w porcji tekstu jeden za drugim jako [długość u16][bajty UTF-8].
+ * Firmy są kodowane słownikiem (jedna kopia nazwy na firmę). Employee powstaje dopiero w get().
+ * Bufory bezpośrednie liczą się do -XX:MaxDirectMemorySize (domyślnie tyle co -Xmx).
+ * Jak HeapEmployeeStore: jeden piszący, czytający bez blokad - katalogi porcji i słownik firm są kopiowane
+ * przy wzroście, a zapis volatile size następuje po zapisaniu rekordu.
+ */
+class OffHeapEmployeeStore implements EmployeeStore {
+	private static final int RECORD_BYTES = 24;
+	private static final int RECORDS_PER_CHUNK = 1 << 16;
+	private static final int TEXT_CHUNK_BYTES = 1 << 22;
+	private static final int MAX_FIELD_BYTES = 0xFFFF;
+	private static final Position[] POSITIONS = Position.values();
+
+	private final Map<String, Integer> companyIds = new HashMap<>();
+	private volatile ByteBuffer[] records = new ByteBuffer[0];
+	private volatile ByteBuffer[] text = new ByteBuffer[0];
+	private volatile String[] companies = new String[16];
+	private volatile int size;
+	private int textPosition;
+	private long allocatedBytes;
+
+	@Override
+	public int add(Employee employee) {
+		BigDecimal salary = employee.getSalary();
+		if (salary.scale() < Byte.MIN_VALUE || salary.scale() > Byte.MAX_VALUE ||
+			salary.unscaledValue().bitLength() > 63) {
+			throw new IllegalArgumentException("Salary " + salary + " cannot be stored as a scaled long");
+		}
+		byte[] firstName = utf8(employee.getFirstName(), "firstName");
+		byte[] lastName = utf8(employee.getLastName(), "lastName");
+		byte[] email = utf8(employee.getEmail(), "email");
+
+		ByteBuffer chunk = textChunk(6 + firstName.length + lastName.length + email.length);
+		int textOffset = textPosition;
+		textPosition = putText(chunk, putText(chunk, putText(chunk, textOffset, firstName), lastName), email);
+
+		int row = size;
+		ByteBuffer record = recordChunk(row);
+		int at = (row % RECORDS_PER_CHUNK) * RECORD_BYTES;
+		record.putLong(at, salary.unscaledValue().longValue());
+		record.putInt(at + 8, text.length - 1);
+		record.putInt(at + 12, textOffset);
+		record.putInt(at + 16, companyId(employee.getCompany()));
+		record.put(at + 20, (byte) employee.getPosition().ordinal());
+		record.put(at + 21, (byte) salary.scale());
+		size++;
+		return row;
+	}
+
+	@Override
+	public Employee get(int row) {
+		if (row < 0 || row >= size) { throw new IndexOutOfBoundsException("row " + row + " out of " + size); }
+		ByteBuffer record = records[row / RECORDS_PER_CHUNK];
+		int at = (row % RECORDS_PER_CHUNK) * RECORD_BYTES;
+
+		ByteBuffer chunk = text[record.getInt(at + 8)];
+		int firstNameAt = record.getInt(at + 12);
+		int lastNameAt = firstNameAt + 2 + textLength(chunk, firstNameAt);
+		int emailAt = lastNameAt + 2 + textLength(chunk, lastNameAt);
+		BigDecimal salary = BigDecimal.valueOf(record.getLong(at), record.get(at + 21));
+		return new Employee(readText(chunk, firstNameAt),
+							readText(chunk, lastNameAt),
+							readText(chunk, emailAt),
+							companies[record.getInt(at + 16)],
+							POSITIONS[record.get(at + 20)],
+							salary);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public long offHeapBytes() {
+		return allocatedBytes;
+	}
+
+	int distinctCompanies() { return companyIds.size(); }
+
+	private ByteBuffer recordChunk(int row) {
+		if (row / RECORDS_PER_CHUNK == records.length) { records = append(records, RECORDS_PER_CHUNK * RECORD_BYTES); }
+		return records[row / RECORDS_PER_CHUNK];
+	}
+
+	// Tekst rekordu nigdy nie przechodzi przez granicę porcji - przy braku miejsca zaczynamy nową
+	private ByteBuffer textChunk(int bytes) {
+		if (text.length == 0 || textPosition + bytes > TEXT_CHUNK_BYTES) {
+			text = append(text, TEXT_CHUNK_BYTES);
+			textPosition = 0;
+		}
+		return text[text.length - 1];
+	}
+
+	private ByteBuffer[] append(ByteBuffer[] chunks, int bytes) {
+		ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+		grown[chunks.length] = allocate(bytes);
+		return grown;
+	}
+
+	private ByteBuffer allocate(int bytes) {
+		allocatedBytes += bytes;
+		return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+	}
+
+	private int companyId(String company) {
+		return companyIds.computeIfAbsent(company, name -> {
+			int id = companyIds.size();
+			String[] current = companies;
+			if (id == current.length) { current = Arrays.copyOf(current, id * 2); }
+			current[id] = name;
+			companies = current;
+			return id;
+		});
+	}
+
+	private static byte[] utf8(String value, String fieldName) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_FIELD_BYTES) {
+			throw new IllegalArgumentException(fieldName + " is too long to be stored off-heap");
+		}
+		return bytes;
+	}
+
+	private static int putText(ByteBuffer chunk, int at, byte[] bytes) {
+		chunk.putShort(at, (short) bytes.length);
+		chunk.put(at + 2, bytes);
+		return at + 2 + bytes.length;
+	}
+
+	private static int textLength(ByteBuffer chunk, int at) { return Short.toUnsignedInt(chunk.getShort(at)); }
+
+	private static String readText(ByteBuffer chunk, int at) {
+		byte[] bytes = new byte[textLength(chunk, at)];
+		chunk.get(at + 2, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
\ No newline at end of file
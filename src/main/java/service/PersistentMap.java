@@ -0,0 +1,142 @@
+package service;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/*
+ * Trwała mapa haszująca (HAMT, Bagwell 2001) bez usuwania. put() zwraca nową mapę i kopiuje tylko ścieżkę
+ * od korzenia do liścia (najwyżej 7 węzłów po <= 32 sloty); poprzednia wersja zostaje nietknięta, więc
+ * zapamiętanie stanu to skopiowanie jednej referencji, a czytelnicy nie potrzebują blokad.
+ * Węzły wewnętrzne mają bitmapę zajętych slotów; pełne kolizje skrótów trafiają do węzła kolizji.
+ */
+final class PersistentMap<K, V> {
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new Node(0, new Object[0]), 0);
+	private static final int BITS = 5;
+
+	private final Node root;
+	private final int size;
+
+	private PersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <K, V> PersistentMap<K, V> empty() { return (PersistentMap<K, V>) EMPTY; }
+
+	int size() { return size; }
+
+	@SuppressWarnings("unchecked")
+	V get(Object key) {
+		int hash = hash(key);
+		Object slot = root;
+		for (int shift = 0; ; shift += BITS) {
+			if (slot instanceof Node node) {
+				int bit = 1 << ((hash >>> shift) & 31);
+				if ((node.bitmap & bit) == 0) { return null; }
+				slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+			} else if (slot instanceof Entry<?, ?> entry) {
+				return entry.hash == hash && entry.key.equals(key) ? (V) entry.value : null;
+			} else {
+				return (V) ((Collision) slot).get(hash, key);
+			}
+		}
+	}
+
+	PersistentMap<K, V> put(K key, V value) {
+		if (key == null || value == null) { throw new NullPointerException("Key and value cannot be null"); }
+		int grown = get(key) == null ? 1 : 0;
+		return new PersistentMap<>(put(root, 0, new Entry<>(key, value, hash(key))), size + grown);
+	}
+
+	@SuppressWarnings("unchecked")
+	void forEach(BiConsumer<? super K, ? super V> action) {
+		forEach(root, (BiConsumer<Object, Object>) action);
+	}
+
+	private static Node put(Node node, int shift, Entry<?, ?> entry) {
+		int bit = 1 << ((entry.hash >>> shift) & 31);
+		int index = Integer.bitCount(node.bitmap & (bit - 1));
+		if ((node.bitmap & bit) == 0) {
+			Object[] slots = new Object[node.slots.length + 1];
+			System.arraycopy(node.slots, 0, slots, 0, index);
+			slots[index] = entry;
+			System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+			return new Node(node.bitmap | bit, slots);
+		}
+
+		Object slot = node.slots[index];
+		Object replacement;
+		if (slot instanceof Node child) {
+			replacement = put(child, shift + BITS, entry);
+		} else if (slot instanceof Entry<?, ?> existing) {
+			if (existing.hash != entry.hash) {
+				replacement = split(existing, existing.hash, entry, shift + BITS);
+			} else if (existing.key.equals(entry.key)) {
+				replacement = entry;
+			} else {
+				replacement = new Collision(new Entry<?, ?>[] { existing, entry });
+			}
+		} else {
+			Collision collision = (Collision) slot;
+			replacement = collision.hash() == entry.hash ? collision.put(entry)
+														 : split(collision, collision.hash(), entry, shift + BITS);
+		}
+		Object[] slots = node.slots.clone();
+		slots[index] = replacement;
+		return new Node(node.bitmap, slots);
+	}
+
+	// Wpis (albo kolizja) i nowy wpis o innym skrócie w tym samym slocie - schodzimy, aż skróty się rozejdą
+	private static Node split(Object a, int hashA, Entry<?, ?> b, int shift) {
+		int indexA = (hashA >>> shift) & 31;
+		int indexB = (b.hash >>> shift) & 31;
+		if (indexA == indexB) { return new Node(1 << indexA, new Object[] { split(a, hashA, b, shift + BITS) }); }
+		Object[] slots = indexA < indexB ? new Object[] { a, b } : new Object[] { b, a };
+		return new Node((1 << indexA) | (1 << indexB), slots);
+	}
+
+	private static void forEach(Object slot, BiConsumer<Object, Object> action) {
+		if (slot instanceof Node node) {
+			for (Object child : node.slots) { forEach(child, action); }
+		} else if (slot instanceof Entry<?, ?> entry) {
+			action.accept(entry.key, entry.value);
+		} else {
+			for (Entry<?, ?> entry : ((Collision) slot).entries) { action.accept(entry.key, entry.value); }
+		}
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private record Node(int bitmap, Object[] slots) {}
+
+	private record Entry<K, V>(K key, V value, int hash) {}
+
+	private record Collision(Entry<?, ?>[] entries) {
+		int hash() { return entries[0].hash; }
+
+		Object get(int hash, Object key) {
+			if (hash() != hash) { return null; }
+			for (Entry<?, ?> entry : entries) {
+				if (entry.key.equals(key)) { return entry.value; }
+			}
+			return null;
+		}
+
+		Collision put(Entry<?, ?> entry) {
+			for (int i = 0; i < entries.length; i++) {
+				if (entries[i].key.equals(entry.key)) {
+					Entry<?, ?>[] replaced = entries.clone();
+					replaced[i] = entry;
+					return new Collision(replaced);
+				}
+			}
+			Entry<?, ?>[] grown = Arrays.copyOf(entries, entries.length + 1);
+			grown[entries.length] = entry;
+			return new Collision(grown);
+		}
+	}
+}
\ No newline at end of file
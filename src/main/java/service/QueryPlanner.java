@@ -0,0 +1,193 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import model.Employee;
+import model.EmployeeQuery;
+import model.QueryPlan;
+import model.QueryPlan.AccessPath;
+
+/*
+ * Wybiera najbardziej selektywny indeks (albo pełny skan) i wykonuje zapytanie.
+ * Firma i stanowisko znają liczność od razu, indeksy pensji liczą zakres w O(log n); dla prefiksu
+ * nazwiska liczymy wiersze tylko do rozmiaru najlepszego dotąd kandydata, więc planowanie nigdy
+ * nie kosztuje więcej niż wykonanie.
+ */
+class QueryPlanner {
+	private final EmployeeStore store;
+	private final EmployeeIndexes indexes;
+
+	QueryPlanner(EmployeeStore store, EmployeeIndexes indexes) {
+		this.store = store;
+		this.indexes = indexes;
+	}
+
+	QueryPlan plan(EmployeeQuery query) {
+		Candidate best = new Candidate(AccessPath.FULL_SCAN, store.size());
+		// Bez drzew pensji i indeksu nazwisk (SPILL) zostają listy firm i stanowisk albo pełny skan
+		boolean ordered = indexes.ordered();
+		boolean bySalary = ordered && (query.hasSalaryRange() || query.getSortKey() == EmployeeQuery.SortKey.SALARY);
+		BigDecimal min = query.getMinSalary();
+		BigDecimal max = query.getMaxSalary();
+
+		if (query.getCompany() != null) {
+			best = best.orBetter(AccessPath.COMPANY_INDEX, indexes.company(query.getCompany()).size());
+			if (bySalary) {
+				int rows = indexes.salaries(query.getCompany()).countBetween(min, max);
+				best = best.orAtLeastAsGood(AccessPath.COMPANY_SALARY_INDEX, rows);
+			}
+		}
+		if (query.getPosition() != null) {
+			best = best.orBetter(AccessPath.POSITION_INDEX, indexes.position(query.getPosition()).size());
+			if (bySalary) {
+				int rows = indexes.salaries(query.getPosition()).countBetween(min, max);
+				best = best.orAtLeastAsGood(AccessPath.POSITION_SALARY_INDEX, rows);
+			}
+		}
+		if (ordered && query.hasSalaryRange()) {
+			best = best.orBetter(AccessPath.SALARY_INDEX, indexes.salaries().countBetween(min, max));
+		}
+		if (ordered && query.getLastNamePrefix() != null) {
+			long rows = countUpTo(indexes.lastNamePrefix(query.getLastNamePrefix()), best.rows());
+			best = best.orBetter(AccessPath.LAST_NAME_INDEX, rows);
+		}
+		// Bez filtrów indeks pensji i tak opłaca się przy sortowaniu po pensji z limitem - czytamy tylko k wierszy
+		if (bySalary && best.accessPath() == AccessPath.FULL_SCAN && query.hasLimit() &&
+			query.getSortKey() == EmployeeQuery.SortKey.SALARY) {
+			best = new Candidate(AccessPath.SALARY_INDEX, best.rows());
+		}
+
+		boolean sortedByIndex = query.getSortKey() == null || switch (query.getSortKey()) {
+			case SALARY -> best.accessPath() == AccessPath.SALARY_INDEX ||
+						   best.accessPath() == AccessPath.COMPANY_SALARY_INDEX ||
+						   best.accessPath() == AccessPath.POSITION_SALARY_INDEX;
+			case LAST_NAME -> best.accessPath() == AccessPath.LAST_NAME_INDEX;
+			case COMPANY -> false;
+		};
+		return new QueryPlan(best.accessPath(), best.rows(), sortedByIndex, sortedByIndex && query.hasLimit());
+	}
+
+	List<Employee> execute(QueryPlan plan, EmployeeQuery query) {
+		return collect(open(plan.getAccessPath(), query), plan.isSortedByIndex(), query);
+	}
+
+	// Filtr, sortowanie i limit nad dowolnym źródłem; sortedBySource - źródło już daje kolejność wyniku
+	static List<Employee> collect(Iterator<Employee> source, boolean sortedBySource, EmployeeQuery query) {
+		if (sortedBySource) {
+			// Kolejność indeksu jest kolejnością wyniku - kończymy po limit trafieniach
+			List<Employee> result = new ArrayList<>();
+			while (result.size() < query.getLimit() && source.hasNext()) {
+				Employee employee = source.next();
+				if (query.matches(employee)) { result.add(employee); }
+			}
+			return result;
+		}
+
+		// Remisy w kolejności źródła, przy sortowaniu malejącym odwróconej - jak przegląd indeksu pensji
+		// od końca. Pełny skan i listy firm/stanowisk dają kolejność wstawiania, więc wynik nie zależy
+		// od magazynu (SPILL nie ma indeksu pensji).
+		Comparator<Arrival> order = Comparator.comparing(Arrival::employee, comparator(query))
+		  .thenComparingLong(arrival -> query.isDescending() ? -arrival.index() : arrival.index());
+		List<Arrival> result = new ArrayList<>();
+		long index = 0;
+		if (!query.hasLimit()) {
+			while (source.hasNext()) {
+				Employee employee = source.next();
+				if (query.matches(employee)) { result.add(new Arrival(employee, index)); }
+				index++;
+			}
+			result.sort(order);
+			return employees(result);
+		}
+
+		// Top-k: kopiec z najgorszym elementem na szczycie zamiast sortowania wszystkich trafień
+		int limit = query.getLimit();
+		if (limit == 0) { return new ArrayList<>(); }
+		PriorityQueue<Arrival> top = new PriorityQueue<>(Math.min(limit, 1024), order.reversed());
+		while (source.hasNext()) {
+			Employee employee = source.next();
+			if (query.matches(employee)) {
+				Arrival arrival = new Arrival(employee, index);
+				if (top.size() < limit) {
+					top.add(arrival);
+				} else if (order.compare(arrival, top.peek()) < 0) {
+					top.poll();
+					top.add(arrival);
+				}
+			}
+			index++;
+		}
+		result.addAll(top);
+		result.sort(order);
+		return employees(result);
+	}
+
+	private static List<Employee> employees(List<Arrival> arrivals) {
+		List<Employee> employees = new ArrayList<>(arrivals.size());
+		for (Arrival arrival : arrivals) { employees.add(arrival.employee()); }
+		return employees;
+	}
+
+	private Iterator<Employee> open(AccessPath accessPath, EmployeeQuery query) {
+		return switch (accessPath) {
+			case FULL_SCAN -> store.iterator();
+			case COMPANY_INDEX -> indexes.company(query.getCompany()).iterator();
+			case POSITION_INDEX -> indexes.position(query.getPosition()).iterator();
+			case SALARY_INDEX -> salaryRange(indexes.salaries(), query);
+			case COMPANY_SALARY_INDEX -> salaryRange(indexes.salaries(query.getCompany()), query);
+			case POSITION_SALARY_INDEX -> salaryRange(indexes.salaries(query.getPosition()), query);
+			case LAST_NAME_INDEX -> {
+				NavigableMap<String, List<Employee>> range = indexes.lastNamePrefix(query.getLastNamePrefix());
+				boolean descending = query.getSortKey() == EmployeeQuery.SortKey.LAST_NAME && query.isDescending();
+				yield flatten(descending ? range.descendingMap().values() : range.values());
+			}
+		};
+	}
+
+	private static Iterator<Employee> salaryRange(SalaryQueries index, EmployeeQuery query) {
+		// Przy sortowaniu malejącym po pensji czytamy indeks od końca
+		boolean descending = query.getSortKey() == EmployeeQuery.SortKey.SALARY && query.isDescending();
+		return index.iterator(query.getMinSalary(), query.getMaxSalary(), descending);
+	}
+
+	static Comparator<Employee> comparator(EmployeeQuery query) {
+		Comparator<Employee> order = switch (query.getSortKey()) {
+			case LAST_NAME -> Comparator.comparing(employee -> EmployeeIndexes.key(employee.getLastName()));
+			case SALARY -> Comparator.comparing(Employee::getSalary);
+			case COMPANY -> Comparator.comparing(employee -> EmployeeIndexes.key(employee.getCompany()));
+		};
+		return query.isDescending() ? order.reversed() : order;
+	}
+
+	private static long countUpTo(NavigableMap<?, List<Employee>> range, long bound) {
+		long rows = 0;
+		for (List<Employee> bucket : range.values()) {
+			rows += bucket.size();
+			if (rows >= bound) { return bound; }
+		}
+		return rows;
+	}
+
+	private record Arrival(Employee employee, long index) {}
+
+	private record Candidate(AccessPath accessPath, long rows) {
+		Candidate orBetter(AccessPath other, long otherRows) {
+			return otherRows < rows ? new Candidate(other, otherRows) : this;
+		}
+
+		// Indeksy złożone dają też kolejność po pensji, więc przy remisie wygrywają
+		Candidate orAtLeastAsGood(AccessPath other, long otherRows) {
+			return otherRows <= rows ? new Candidate(other, otherRows) : this;
+		}
+	}
+
+	private static Iterator<Employee> flatten(Collection<List<Employee>> buckets) {
+		return buckets.stream().flatMap(List::stream).iterator();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package service;
+
+import config.QueryCacheSettings;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+import model.Employee;
+import model.Position;
+
+/*
+ * Pamięć podręczna wyników findByCompany, groupByPosition (osobny wpis na stanowisko) i findAllSortedByLastName.
+ * Klucz wyznacza zależność, więc dodanie pracownika unieważnia najwyżej trzy wpisy: jego firmę, jego stanowisko
+ * i listę posortowaną po nazwisku. Ograniczenie liczbą wpisów i wagą (sumą długości list), wyrzucanie LRU.
+ * Zapamiętane listy są niemodyfikowalne i współdzielone przez wywołujących.
+ * Wynik policzony w trakcie zapisu nie jest zapamiętywany - generation zmienia się przy każdym unieważnieniu.
+ */
+final class QueryResultCache {
+
+	enum Kind { COMPANY, POSITION, SORTED_BY_LAST_NAME }
+
+	record Key(Kind kind, Object argument) {}
+
+	private static final Key SORTED_BY_LAST_NAME = new Key(Kind.SORTED_BY_LAST_NAME, null);
+
+	private final int maxEntries;
+	private final long maxWeight;
+	private final LinkedHashMap<Key, List<Employee>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long weight;
+	private long generation;
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter evictions;
+	private final Counter invalidations;
+
+	QueryResultCache(QueryCacheSettings settings, MetricsRegistry metrics) {
+		this.maxEntries = settings.getMaxEntries();
+		this.maxWeight = settings.getMaxWeight();
+		this.hits = metrics.counter("employees.cache.hits");
+		this.misses = metrics.counter("employees.cache.misses");
+		this.evictions = metrics.counter("employees.cache.evictions");
+		this.invalidations = metrics.counter("employees.cache.invalidations");
+		metrics.gauge("employees.cache.entries", this::size);
+		metrics.gauge("employees.cache.weight", this::weight);
+	}
+
+	// Firma jest kluczowana tak jak w EmployeeIndexes - bez rozróżniania wielkości liter
+	static Key company(String company) { return new Key(Kind.COMPANY, EmployeeIndexes.key(company)); }
+
+	static Key position(Position position) { return new Key(Kind.POSITION, position); }
+
+	static Key sortedByLastName() { return SORTED_BY_LAST_NAME; }
+
+	// loader musi zwrócić listę niemodyfikowalną
+	List<Employee> get(Key key, Supplier<List<Employee>> loader) {
+		long stamp;
+		synchronized (this) {
+			List<Employee> cached = entries.get(key);
+			if (cached != null) {
+				hits.increment();
+				return cached;
+			}
+			stamp = generation;
+		}
+		misses.increment();
+		List<Employee> result = loader.get();
+		put(key, result, stamp);
+		return result;
+	}
+
+	synchronized void invalidate(Employee employee) {
+		generation++;
+		if (entries.isEmpty()) { return; }
+		remove(company(employee.getCompany()));
+		remove(position(employee.getPosition()));
+		remove(SORTED_BY_LAST_NAME);
+	}
+
+	synchronized int size() { return entries.size(); }
+
+	synchronized long weight() { return weight; }
+
+	private synchronized void put(Key key, List<Employee> result, long stamp) {
+		long resultWeight = weightOf(result);
+		if (stamp != generation || maxEntries == 0 || resultWeight > maxWeight) { return; }
+
+		List<Employee> previous = entries.put(key, result);
+		weight += resultWeight - (previous == null ? 0 : weightOf(previous));
+		Iterator<Map.Entry<Key, List<Employee>>> eldest = entries.entrySet().iterator();
+		while (entries.size() > maxEntries || weight > maxWeight) {
+			weight -= weightOf(eldest.next().getValue());
+			eldest.remove();
+			evictions.increment();
+		}
+	}
+
+	private void remove(Key key) {
+		List<Employee> removed = entries.remove(key);
+		if (removed != null) {
+			weight -= weightOf(removed);
+			invalidations.increment();
+		}
+	}
+
+	// Pusta lista też zajmuje wpis
+	private static long weightOf(List<Employee> result) { return Math.max(1, result.size()); }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import model.Employee;
+
+/*
+ * Numery wierszy widziane jako lista pracowników - indeks nie przytrzymuje obiektów Employee na stercie.
+ * Jeden piszący, czytający bez blokad: przy wzroście nowa tablica jest publikowana przed wpisem, a size
+ * zapisywany na końcu, więc czytający, który odczyta size, a potem rows, widzi wszystkie wpisy < size.
+ */
+final class RowList extends AbstractList<Employee> {
+	private final EmployeeStore store;
+	private volatile int[] rows = new int[4];
+	private volatile int size;
+
+	RowList(EmployeeStore store) { this.store = store; }
+
+	void addRow(int row) {
+		int count = size;
+		int[] current = rows;
+		if (count == current.length) {
+			current = Arrays.copyOf(current, count * 2);
+			rows = current;
+		}
+		current[count] = row;
+		size = count + 1;
+	}
+
+	@Override
+	public Employee get(int index) {
+		int count = size;
+		if (index < 0 || index >= count) { throw new IndexOutOfBoundsException("index " + index + " out of " + count); }
+		return store.get(rows[index]);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	// Niezmienny widok wierszy < watermark; numery rosną, więc to prefiks wyznaczony wyszukiwaniem binarnym
+	List<Employee> upTo(int watermark) {
+		int count = size;
+		int[] current = rows;
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (current[middle] < watermark) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return new Prefix(store, current, low);
+	}
+
+	private static final class Prefix extends AbstractList<Employee> {
+		private final EmployeeStore store;
+		private final int[] rows;
+		private final int size;
+
+		Prefix(EmployeeStore store, int[] rows, int size) {
+			this.store = store;
+			this.rows = rows;
+			this.size = size;
+		}
+
+		@Override
+		public Employee get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("index " + index + " out of " + size);
+			}
+			return store.get(rows[index]);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
\ No newline at end of file
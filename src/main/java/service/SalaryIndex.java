@@ -0,0 +1,229 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import model.Employee;
+
+/*
+ * Drzewo (treap) uporządkowane po pensji z rozmiarami poddrzew, czyli drzewo statystyk pozycyjnych.
+ * Węzły trzymają numer wiersza magazynu; remisy rozstrzyga numer wiersza, czyli kolejność wstawiania,
+ * więc przy równych pensjach wcześniejszy pracownik jest "mniejszy".
+ * Ranga, k-ty element i liczność zakresu kosztują O(log n), przegląd zakresu O(log n + k).
+ * Drzewo jest trwałe: wstawienie kopiuje tylko ścieżkę od korzenia (O(log n) węzłów) i publikuje nowy korzeń
+ * przez pole volatile. Każde zapytanie czyta jeden korzeń, więc widzi niezmienną wersję i może biec
+ * równolegle z piszącym bez blokad.
+ */
+class SalaryIndex implements SalaryQueries {
+	private final SplittableRandom priorities = new SplittableRandom(0x5EED);
+	private final EmployeeStore store;
+	private volatile Node root;
+
+	private static final class Node {
+		final int row;
+		final BigDecimal salary;
+		final int priority;
+		final int size;
+		final Node left;
+		final Node right;
+
+		Node(int row, BigDecimal salary, int priority, Node left, Node right) {
+			this.row = row;
+			this.salary = salary;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+			this.size = size(left) + size(right) + 1;
+		}
+
+		// Kopia węzła z innymi dziećmi
+		Node with(Node left, Node right) { return new Node(row, salary, priority, left, right); }
+	}
+
+	SalaryIndex(EmployeeStore store) { this.store = store; }
+
+	// Wiersze muszą przychodzić rosnąco - numer wiersza służy do rozstrzygania remisów; jeden piszący
+	void add(int row, BigDecimal salary) { root = insert(root, row, salary, priorities.nextInt()); }
+
+	int size() { return size(root); }
+
+	@Override
+	public int countBetween(BigDecimal min, BigDecimal max) {
+		return countBetween(root, min, max);
+	}
+
+	// k-ty pracownik w kolejności rosnącej pensji, licząc od 0
+	Employee select(int k) {
+		return select(root, k);
+	}
+
+	// Najwyżej opłacany; przy remisie ten dodany najwcześniej, jak Stream.max
+	Employee highest() {
+		Node root = this.root;
+		if (root == null) { return null; }
+		Node node = root;
+		while (node.right != null) { node = node.right; }
+		return select(root, size(root) - countBetween(root, node.salary, node.salary));
+	}
+
+	@Override
+	public List<Employee> top(int n) {
+		Node root = this.root;
+		List<Employee> result = new ArrayList<>(Math.min(n, size(root)));
+		Iterator<Employee> descending = new RangeIterator(store, root, null, null, true);
+		while (result.size() < n && descending.hasNext()) { result.add(descending.next()); }
+		return result;
+	}
+
+	@Override
+	public List<Employee> range(BigDecimal min, BigDecimal max) {
+		Node root = this.root;
+		List<Employee> result = new ArrayList<>(countBetween(root, min, max));
+		new RangeIterator(store, root, min, max, false).forEachRemaining(result::add);
+		return result;
+	}
+
+	/*
+	 * Percentyl metodą najbliższej rangi: najmniejsza pensja, od której nie większych jest co najmniej
+	 * p * n pensji. Zawsze zwraca wartość występującą w danych (mediana z parzystej liczby to dolny środek).
+	 */
+	@Override
+	public BigDecimal percentile(double p) {
+		if (Double.isNaN(p) || p < 0 || p > 1) { throw new IllegalArgumentException("percentile must be in [0, 1]"); }
+		Node root = this.root;
+		if (root == null) { return null; }
+		int rank = Math.max(1, (int) Math.ceil(p * size(root)));
+		return select(root, rank - 1).getSalary();
+	}
+
+	@Override
+	public Iterator<Employee> iterator(BigDecimal min, BigDecimal max, boolean descending) {
+		return new RangeIterator(store, root, min, max, descending);
+	}
+
+	private static int countBetween(Node root, BigDecimal min, BigDecimal max) {
+		int upper = max == null ? size(root) : countAtMost(root, max);
+		int lower = min == null ? 0 : countBelow(root, min);
+		return Math.max(0, upper - lower);
+	}
+
+	private Employee select(Node root, int k) {
+		if (k < 0 || k >= size(root)) { throw new IndexOutOfBoundsException("rank " + k + " out of " + size(root)); }
+		Node node = root;
+		while (true) {
+			int leftSize = size(node.left);
+			if (k < leftSize) {
+				node = node.left;
+			} else if (k == leftSize) {
+				return store.get(node.row);
+			} else {
+				k -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	private static int countBelow(Node root, BigDecimal salary) {
+		int count = 0;
+		Node node = root;
+		while (node != null) {
+			if (node.salary.compareTo(salary) < 0) {
+				count += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return count;
+	}
+
+	private static int countAtMost(Node root, BigDecimal salary) {
+		int count = 0;
+		Node node = root;
+		while (node != null) {
+			if (node.salary.compareTo(salary) <= 0) {
+				count += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return count;
+	}
+
+	// Zwraca nowy korzeń poddrzewa; węzły starej wersji zostają nietknięte
+	private static Node insert(Node node, int row, BigDecimal salary, int priority) {
+		if (node == null) { return new Node(row, salary, priority, null, null); }
+		int compared = salary.compareTo(node.salary);
+		if (compared < 0 || compared == 0 && row < node.row) {
+			Node left = insert(node.left, row, salary, priority);
+			// Obrót w prawo: lewe dziecko zostaje korzeniem
+			if (left.priority > node.priority) { return left.with(left.left, node.with(left.right, node.right)); }
+			return node.with(left, node.right);
+		}
+		Node right = insert(node.right, row, salary, priority);
+		if (right.priority > node.priority) { return right.with(node.with(node.left, right.left), right.right); }
+		return node.with(node.left, right);
+	}
+
+	private static int size(Node node) { return node == null ? 0 : node.size; }
+
+	// Przegląd in-order z jawnym stosem, startujący od granicy zakresu - bez kopiowania wyników
+	private static final class RangeIterator implements Iterator<Employee> {
+		private final EmployeeStore store;
+		private final Deque<Node> stack = new ArrayDeque<>();
+		private final BigDecimal min;
+		private final BigDecimal max;
+		private final boolean descending;
+		private Node next;
+
+		RangeIterator(EmployeeStore store, Node root, BigDecimal min, BigDecimal max, boolean descending) {
+			this.store = store;
+			this.min = min;
+			this.max = max;
+			this.descending = descending;
+			Node node = root;
+			while (node != null) {
+				if (descending ? max == null || node.salary.compareTo(max) <= 0
+							   : min == null || node.salary.compareTo(min) >= 0) {
+					stack.push(node);
+					node = descending ? node.right : node.left;
+				} else {
+					node = descending ? node.left : node.right;
+				}
+			}
+			advance();
+		}
+
+		private void advance() {
+			next = null;
+			if (stack.isEmpty()) { return; }
+			Node node = stack.pop();
+			for (Node child = descending ? node.left : node.right; child != null;
+				 child = descending ? child.right : child.left) {
+				stack.push(child);
+			}
+			boolean pastEnd = descending ? min != null && node.salary.compareTo(min) < 0
+										 : max != null && node.salary.compareTo(max) > 0;
+			if (!pastEnd) { next = node; }
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Employee next() {
+			if (next == null) { throw new NoSuchElementException(); }
+			int row = next.row;
+			advance();
+			return store.get(row);
+		}
+	}
+}
\ No newline at end of file
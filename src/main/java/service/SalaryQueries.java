@@ -0,0 +1,27 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import model.Employee;
+
+/*
+ * Zapytania o pensje: SalaryIndex (drzewo utrzymywane przy dodawaniu) albo SalaryScan (przegląd bez drzewa, SPILL).
+ * Kolejność jak w SalaryIndex - po pensji, a przy równych pensjach po numerze wiersza.
+ */
+interface SalaryQueries {
+
+	// Liczba pracowników z pensją w [min, max]; null = brak granicy
+	int countBetween(BigDecimal min, BigDecimal max);
+
+	// Malejąco po pensji
+	List<Employee> top(int n);
+
+	// Granice włącznie, rosnąco po pensji
+	List<Employee> range(BigDecimal min, BigDecimal max);
+
+	// Percentyl metodą najbliższej rangi; null dla pustego zbioru
+	BigDecimal percentile(double p);
+
+	Iterator<Employee> iterator(BigDecimal min, BigDecimal max, boolean descending);
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import model.Employee;
+
+/*
+ * Zapytania o pensje bez drzewa dla magazynu SPILL: każde wywołanie przegląda wiersze i czyta z magazynu
+ * tylko pensje (SpillEmployeeStore.salary). Na stercie zostaje najwyżej wynik - top-n to kopiec n elementów,
+ * zakres to tylko trafienia, a liczenie nic nie trzyma.
+ * Percentyl to wybór k-tej pensji kolejnymi przebiegami: próbka rezerwuarowa z przedziału wskazuje dwie pensje
+ * wokół szukanej rangi, następny przebieg liczy wartości pomiędzy nimi i zawęża przedział (granice wyłączne,
+ * więc każdy przebieg coś odcina), aż zostanie najwyżej BUFFER_ROWS wartości do posortowania.
+ */
+final class SalaryScan implements SalaryQueries {
+	private static final int BUFFER_ROWS = 1 << 16;
+	private static final int SAMPLE_ROWS = 1 << 10;
+	private static final int SAMPLE_MARGIN = 16;
+	private static final Comparator<Entry> ORDER =
+	  Comparator.comparing(Entry::salary).thenComparingInt(Entry::row);
+
+	private final SpillEmployeeStore store;
+	private final int size;
+	private final IntUnaryOperator rows;
+
+	private record Entry(BigDecimal salary, int row) {}
+
+	// rows zamienia pozycję 0..size-1 na numer wiersza magazynu, rosnąco
+	SalaryScan(SpillEmployeeStore store, int size, IntUnaryOperator rows) {
+		this.store = store;
+		this.size = size;
+		this.rows = rows;
+	}
+
+	@Override
+	public int countBetween(BigDecimal min, BigDecimal max) {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (within(store.salary(rows.applyAsInt(i)), min, max)) { count++; }
+		}
+		return count;
+	}
+
+	@Override
+	public List<Employee> top(int n) {
+		if (n == 0) { return new ArrayList<>(); }
+		// Najmniejszy z dotychczasowych n najlepszych na szczycie
+		PriorityQueue<Entry> top = new PriorityQueue<>(Math.min(n, 1024), ORDER);
+		for (int i = 0; i < size; i++) {
+			int row = rows.applyAsInt(i);
+			Entry entry = new Entry(store.salary(row), row);
+			if (top.size() < n) {
+				top.add(entry);
+			} else if (ORDER.compare(entry, top.peek()) > 0) {
+				top.poll();
+				top.add(entry);
+			}
+		}
+		List<Entry> result = new ArrayList<>(top);
+		result.sort(ORDER.reversed());
+		return employees(result);
+	}
+
+	@Override
+	public List<Employee> range(BigDecimal min, BigDecimal max) {
+		return employees(matching(min, max));
+	}
+
+	@Override
+	public BigDecimal percentile(double p) {
+		if (Double.isNaN(p) || p < 0 || p > 1) { throw new IllegalArgumentException("percentile must be in [0, 1]"); }
+		if (size == 0) { return null; }
+		return select(Math.max(1, (int) Math.ceil(p * size)) - 1);
+	}
+
+	// Trafienia są zbierane od razu, ale pracownicy czytani z magazynu dopiero przy przeglądzie
+	@Override
+	public Iterator<Employee> iterator(BigDecimal min, BigDecimal max, boolean descending) {
+		List<Entry> matching = matching(min, max);
+		if (descending) { matching = matching.reversed(); }
+		return matching.stream().map(entry -> store.get(entry.row())).iterator();
+	}
+
+	private List<Entry> matching(BigDecimal min, BigDecimal max) {
+		List<Entry> matching = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			int row = rows.applyAsInt(i);
+			BigDecimal salary = store.salary(row);
+			if (within(salary, min, max)) { matching.add(new Entry(salary, row)); }
+		}
+		matching.sort(ORDER);
+		return matching;
+	}
+
+	private List<Employee> employees(List<Entry> entries) {
+		List<Employee> employees = new ArrayList<>(entries.size());
+		for (Entry entry : entries) { employees.add(store.get(entry.row())); }
+		return employees;
+	}
+
+	// k-ta (od 0) najmniejsza pensja
+	private BigDecimal select(int k) {
+		SplittableRandom random = new SplittableRandom(0x5EED);
+		// Wynik leży w (low, high); null = bez granicy, below = liczba pensji <= low
+		BigDecimal low = null;
+		BigDecimal high = null;
+		int below = 0;
+		BigDecimal[] pivots = {};
+		while (true) {
+			Bucket[] buckets = new Bucket[pivots.length + 1];
+			for (int b = 0; b < buckets.length; b++) { buckets[b] = new Bucket(); }
+			int[] equal = new int[pivots.length];
+			for (int i = 0; i < size; i++) {
+				BigDecimal salary = store.salary(rows.applyAsInt(i));
+				if (low != null && salary.compareTo(low) <= 0 || high != null && salary.compareTo(high) >= 0) {
+					continue;
+				}
+				int bucket = 0;
+				int compared = 1;
+				while (bucket < pivots.length && (compared = salary.compareTo(pivots[bucket])) > 0) { bucket++; }
+				if (bucket < pivots.length && compared == 0) {
+					equal[bucket]++;
+				} else {
+					buckets[bucket].add(salary, random);
+				}
+			}
+
+			int b = 0;
+			while (k >= below + buckets[b].count) {
+				below += buckets[b].count;
+				if (k < below + equal[b]) { return pivots[b]; }
+				below += equal[b];
+				b++;
+			}
+			if (b > 0) { low = pivots[b - 1]; }
+			if (b < pivots.length) { high = pivots[b]; }
+			Bucket bucket = buckets[b];
+			if (bucket.values != null) {
+				bucket.values.sort(null);
+				return bucket.values.get(k - below);
+			}
+			pivots = bucket.pivots(k - below);
+		}
+	}
+
+	private static boolean within(BigDecimal salary, BigDecimal min, BigDecimal max) {
+		return (min == null || salary.compareTo(min) >= 0) && (max == null || salary.compareTo(max) <= 0);
+	}
+
+	// Pensje jednego podprzedziału: liczba, wszystkie wartości (póki mieszczą się w BUFFER_ROWS) i próbka
+	private static final class Bucket {
+		private final List<BigDecimal> sample = new ArrayList<>();
+		private List<BigDecimal> values = new ArrayList<>();
+		private int count;
+
+		void add(BigDecimal salary, SplittableRandom random) {
+			count++;
+			if (values != null) {
+				if (values.size() == BUFFER_ROWS) {
+					values = null;
+				} else {
+					values.add(salary);
+				}
+			}
+			if (sample.size() < SAMPLE_ROWS) {
+				sample.add(salary);
+			} else {
+				int slot = random.nextInt(count);
+				if (slot < SAMPLE_ROWS) { sample.set(slot, salary); }
+			}
+		}
+
+		// Dwie pensje z próbki po obu stronach pozycji rank w tym podprzedziale
+		BigDecimal[] pivots(int rank) {
+			sample.sort(null);
+			int at = (int) ((long) rank * sample.size() / count);
+			BigDecimal first = sample.get(Math.max(0, at - SAMPLE_MARGIN));
+			BigDecimal second = sample.get(Math.min(sample.size() - 1, at + SAMPLE_MARGIN));
+			return first.compareTo(second) == 0 ? new BigDecimal[] {first} : new BigDecimal[] {first, second};
+		}
+	}
+}
\ No newline at end of file
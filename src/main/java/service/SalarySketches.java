@@ -0,0 +1,108 @@
+package service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import model.ApproximateStatistics;
+import model.Employee;
+import model.Position;
+import sketch.HyperLogLog;
+import sketch.KllSketch;
+
+/*
+ * Agregaty trybu przybliżonego, aktualizowane przy każdym dodaniu w O(1) zamortyzowanym.
+ * Każda grupa trzyma licznik, sumę, maksimum i szkic KLL pensji - pamięć grupy jest ograniczona
+ * przez k szkicu, a nie przez liczbę pracowników. Wszystko da się scalić (merge) między instancjami.
+ * Firmy są grupowane po dokładnej nazwie, jak w getCompanyStatistics, żeby oba tryby dało się porównać.
+ * Zapytanie o jedną firmę (company) ignoruje wielkość liter jak findByCompany i scala wtedy grupy wariantów.
+ */
+class SalarySketches {
+	private final int k;
+	private final Group overall;
+	private final Map<String, Group> byCompany = new HashMap<>();
+	// EmployeeIndexes.key -> dokładne nazwy firm o tym kluczu
+	private final Map<String, Set<String>> companyNames = new HashMap<>();
+	private final Map<Position, Group> byPosition = new EnumMap<>(Position.class);
+	private final HyperLogLog distinctCompanies = new HyperLogLog();
+
+	SalarySketches() { this(KllSketch.DEFAULT_K); }
+
+	SalarySketches(int k) {
+		this.k = k;
+		this.overall = new Group(k);
+	}
+
+	void add(Employee employee) {
+		double salary = employee.getSalary().doubleValue();
+		overall.add(salary);
+		String company = employee.getCompany();
+		byCompany.computeIfAbsent(company, c -> new Group(k)).add(salary);
+		companyNames.computeIfAbsent(EmployeeIndexes.key(company), key -> new LinkedHashSet<>()).add(company);
+		byPosition.computeIfAbsent(employee.getPosition(), position -> new Group(k)).add(salary);
+		distinctCompanies.add(company);
+	}
+
+	void merge(SalarySketches other) {
+		overall.merge(other.overall);
+		other.byCompany.forEach((company, group) -> byCompany.computeIfAbsent(company, c -> new Group(k)).merge(group));
+		other.companyNames.forEach(
+		  (key, names) -> companyNames.computeIfAbsent(key, c -> new LinkedHashSet<>()).addAll(names));
+		other.byPosition.forEach(
+		  (position, group) -> byPosition.computeIfAbsent(position, p -> new Group(k)).merge(group));
+		distinctCompanies.merge(other.distinctCompanies);
+	}
+
+	Group overall() { return overall; }
+
+	// Bez rozróżniania wielkości liter; kilka wariantów nazwy scalamy w nową grupę (O(k) na wariant)
+	Group company(String company) {
+		Set<String> names = companyNames.get(EmployeeIndexes.key(company));
+		if (names == null) { return null; }
+		if (names.size() == 1) { return byCompany.get(names.iterator().next()); }
+		Group merged = new Group(k);
+		names.forEach(name -> merged.merge(byCompany.get(name)));
+		return merged;
+	}
+
+	Map<String, Group> companies() { return byCompany; }
+
+	Map<Position, Group> positions() { return byPosition; }
+
+	long estimateDistinctCompanies() { return distinctCompanies.estimate(); }
+
+	static final class Group {
+		private final KllSketch salaries;
+		private long count;
+		private double sum;
+		private double max = Double.NEGATIVE_INFINITY;
+
+		Group(int k) { this.salaries = new KllSketch(k); }
+
+		void add(double salary) {
+			count++;
+			sum += salary;
+			max = Math.max(max, salary);
+			salaries.update(salary);
+		}
+
+		void merge(Group other) {
+			count += other.count;
+			sum += other.sum;
+			max = Math.max(max, other.max);
+			salaries.merge(other.salaries);
+		}
+
+		long count() { return count; }
+
+		double average() { return count == 0 ? Double.NaN : sum / count; }
+
+		double quantile(double q) { return salaries.quantile(q); }
+
+		ApproximateStatistics toStatistics() {
+			return new ApproximateStatistics(
+			  count, average(), salaries.quantile(0.5), salaries.quantile(0.9), salaries.quantile(0.99), max);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,225 @@
+package service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import model.CompanyAggregate;
+import model.CompanyStatistics;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+
+/*
+ * Magazyn podzielony na N shardów po haszu emaila - duplikat zawsze trafia do tego samego shardu,
+ * więc sprawdzenie unikalności zostaje lokalne, a zapisy do różnych shardów idą równolegle.
+ * Zapytania są rozsyłane do wszystkich shardów (scatter) i scalane z częściowych wyników (gather).
+ * Shardy nie znają globalnej kolejności wstawiania, więc przy równych kluczach sortowania (i równych pensjach
+ * w findTopEarners/findHighestPaidEmployee) wygrywa shard o niższym numerze, a w nim kolejność z shardu -
+ * inaczej niż w pojedynczym EmployeeService. Z tego samego powodu limit wymaga klucza sortowania.
+ */
+public class ShardedEmployeeService implements AutoCloseable {
+	private final List<EmployeeShard> shards;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public ShardedEmployeeService(List<? extends EmployeeShard> shards) {
+		if (shards == null || shards.isEmpty()) {
+			throw new IllegalArgumentException("At least one shard is required");
+		}
+		this.shards = List.copyOf(shards);
+	}
+
+	public static ShardedEmployeeService inProcess(int shardCount) {
+		if (shardCount < 1) { throw new IllegalArgumentException("shardCount must be at least 1"); }
+		return new ShardedEmployeeService(
+		  IntStream.range(0, shardCount).mapToObj(i -> new LocalEmployeeShard()).toList());
+	}
+
+	public int getShardCount() { return shards.size(); }
+
+	public int shardIndex(String email) {
+		int hash = email.toLowerCase(Locale.ROOT).hashCode();
+		// Mieszanie bitów, żeby podobne adresy nie trafiały do tych samych shardów
+		hash ^= hash >>> 16;
+		hash *= 0x45d9f3b;
+		hash ^= hash >>> 16;
+		return Math.floorMod(hash, shards.size());
+	}
+
+	public void addEmployee(Employee employee) {
+		if (employee == null) { throw new NullPointerException("Employee cannot be null"); }
+		shards.get(shardIndex(employee.getEmail())).addEmployee(employee);
+	}
+
+	/*
+	 * Jak EmployeeService.addEmployees: pracownicy przed pierwszym duplikatem albo null (w kolejności listy)
+	 * zostają dodani, dalsi nie. Duplikat jest szukany przed zapisem - w shardach i w samej partii - więc wynik
+	 * nie zależy od podziału na shardy; potem każdy shard zapisuje swoją część równolegle z pozostałymi.
+	 * Przy równoległych zapisach tych samych adresów shard może jeszcze odrzucić swój duplikat sam.
+	 */
+	public void addEmployees(List<Employee> employeeList) {
+		if (employeeList == null) { throw new NullPointerException("Employee list cannot be null"); }
+
+		Set<String> batch = new HashSet<>();
+		int accepted = 0;
+		while (accepted < employeeList.size()) {
+			Employee employee = employeeList.get(accepted);
+			if (employee == null || !batch.add(employee.getEmail().toLowerCase(Locale.ROOT)) ||
+				containsEmail(employee.getEmail())) {
+				break;
+			}
+			accepted++;
+		}
+
+		List<List<Employee>> partitions = new ArrayList<>();
+		for (int i = 0; i < shards.size(); i++) { partitions.add(new ArrayList<>()); }
+		for (Employee employee : employeeList.subList(0, accepted)) {
+			partitions.get(shardIndex(employee.getEmail())).add(employee);
+		}
+		scatterIndexed(i -> {
+			shards.get(i).addEmployees(partitions.get(i));
+			return null;
+		});
+
+		if (accepted < employeeList.size()) {
+			Employee rejected = employeeList.get(accepted);
+			if (rejected == null) { throw new NullPointerException("Employee cannot be null"); }
+			throw new IllegalArgumentException("Employee with email " + rejected.getEmail() + " already exists");
+		}
+	}
+
+	public boolean containsEmail(String email) {
+		return email != null && shards.get(shardIndex(email)).containsEmail(email);
+	}
+
+	public int count() { return scatter(EmployeeShard::count).stream().mapToInt(Integer::intValue).sum(); }
+
+	public List<Employee> findAll() { return query(EmployeeQuery.builder().build()); }
+
+	public List<Employee> findByCompany(String company) {
+		return query(EmployeeQuery.builder().company(company).build());
+	}
+
+	public List<Employee> query(EmployeeQuery query) {
+		if (query.hasLimit() && query.getSortKey() == null) {
+			// Bez sortowania pojedynczy serwis bierze pierwsze wiersze w kolejności wstawiania, której tu nie ma
+			throw new IllegalArgumentException("A sharded query with a limit needs a sort key");
+		}
+		List<List<Employee>> partials = scatter(shard -> shard.query(query));
+		List<Employee> merged = new ArrayList<>();
+		partials.forEach(merged::addAll);
+		// Każdy shard zwrócił już najlepsze limit wierszy, więc wystarczy posortować ich sumę i przyciąć;
+		// sortowanie jest stabilne, więc remisy zostają w kolejności shardów
+		if (query.getSortKey() != null) { merged.sort(QueryPlanner.comparator(query)); }
+		return merged.size() > query.getLimit() ? new ArrayList<>(merged.subList(0, query.getLimit())) : merged;
+	}
+
+	public List<Employee> findTopEarners(int n) {
+		if (n < 0) { throw new IllegalArgumentException("n must not be negative"); }
+		List<Employee> merged = new ArrayList<>();
+		scatter(shard -> shard.findTopEarners(n)).forEach(merged::addAll);
+		// Stabilnie, więc przy równych pensjach najpierw shard o niższym numerze
+		merged.sort(Comparator.comparing(Employee::getSalary).reversed());
+		return merged.size() > n ? new ArrayList<>(merged.subList(0, n)) : merged;
+	}
+
+	// Przy remisie shard o niższym numerze, a w nim najwcześniej dodany
+	public Optional<Employee> findHighestPaidEmployee() {
+		Employee highest = null;
+		for (Optional<Employee> candidate : scatter(EmployeeShard::findHighestPaidEmployee)) {
+			if (candidate.isPresent() &&
+				(highest == null || candidate.get().getSalary().compareTo(highest.getSalary()) > 0)) {
+				highest = candidate.get();
+			}
+		}
+		return Optional.ofNullable(highest);
+	}
+
+	public Map<Position, Long> countByPosition() {
+		Map<Position, Long> counts = new EnumMap<>(Position.class);
+		scatter(EmployeeShard::countByPosition).forEach(partial -> partial.forEach((position, count) -> {
+			counts.merge(position, count, Long::sum);
+		}));
+		return counts;
+	}
+
+	public Map<String, CompanyStatistics> getCompanyStatistics() {
+		Map<String, CompanyStatistics> statistics = new HashMap<>();
+		mergedCompanyAggregates().forEach((company, aggregate) -> statistics.put(company, aggregate.toStatistics()));
+		return statistics;
+	}
+
+	public Optional<BigDecimal> calculateAverageSalary() {
+		long count = 0;
+		BigDecimal sum = BigDecimal.ZERO;
+		for (CompanyAggregate aggregate : mergedCompanyAggregates().values()) {
+			count += aggregate.getEmployeeCount();
+			sum = sum.add(aggregate.getSalarySum());
+		}
+		if (count == 0) { return Optional.empty(); }
+		return Optional.of(sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP));
+	}
+
+	@Override
+	public void close() {
+		executor.close();
+	}
+
+	private Map<String, CompanyAggregate> mergedCompanyAggregates() {
+		Map<String, CompanyAggregate> merged = new HashMap<>();
+		// Scalanie w kolejności shardów - przy remisie pensji wygrywa shard o niższym numerze
+		scatter(EmployeeShard::getCompanyAggregates).forEach(partial -> partial.forEach((company, aggregate) -> {
+			merged.merge(company, aggregate, CompanyAggregate::merge);
+		}));
+		return merged;
+	}
+
+	private <T> List<T> scatter(Function<EmployeeShard, T> call) {
+		return scatterIndexed(i -> call.apply(shards.get(i)));
+	}
+
+	private <T> List<T> scatterIndexed(IntFunction<T> call) {
+		if (shards.size() == 1) { return Collections.singletonList(call.apply(0)); }
+
+		List<Future<T>> futures = new ArrayList<>(shards.size());
+		for (int i = 0; i < shards.size(); i++) {
+			int shard = i;
+			futures.add(executor.submit(() -> call.apply(shard)));
+		}
+
+		List<T> results = new ArrayList<>(shards.size());
+		RuntimeException failure = null;
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for shards", e);
+			} catch (ExecutionException e) {
+				// Czekamy na wszystkie shardy, a zgłaszamy pierwszy błąd
+				if (failure == null) {
+					failure = e.getCause() instanceof RuntimeException runtime ? runtime
+																			  : new IllegalStateException(e.getCause());
+				}
+			}
+		}
+		if (failure != null) { throw failure; }
+		return results;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package service;
+
+import diagnostics.InsertBatchEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.Employee;
+import model.SourceLoadResult;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SourceLoader {
+	private final EmployeeService employeeService;
+
+	public SourceLoader(EmployeeService employeeService) {
+		this.employeeService = employeeService;
+		System.out.println("SourceLoader has been created with EmployeeService injected!");
+	}
+
+	/*
+	 * Źródła są wczytywane równolegle, ale scalane do EmployeeService w kolejności mapy.
+	 * Przy powtórzonym emailu wygrywa źródło wcześniejsze w kolejności, niezależnie od tego,
+	 * które skończyło się wczytywać pierwsze.
+	 */
+	public List<SourceLoadResult> loadAll(SequencedMap<String, Callable<List<Employee>>> sources) {
+		if (sources == null) { throw new NullPointerException("Sources cannot be null"); }
+
+		Map<String, Future<TimedLoad>> pending = new LinkedHashMap<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			sources.forEach((name, source) -> pending.put(name, executor.submit(() -> timedLoad(source))));
+
+			List<SourceLoadResult> results = new ArrayList<>();
+			for (Map.Entry<String, Future<TimedLoad>> entry : pending.entrySet()) {
+				results.add(merge(entry.getKey(), entry.getValue()));
+			}
+			return results;
+		}
+	}
+
+	private SourceLoadResult merge(String sourceName, Future<TimedLoad> future) {
+		TimedLoad load;
+		try {
+			load = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new SourceLoadResult(sourceName, 0, 0, 0, 0, "interrupted");
+		} catch (ExecutionException e) {
+			// Wyjątek bez komunikatu (np. NullPointerException) opisujemy nazwą klasy zamiast "null"
+			Throwable cause = e.getCause();
+			String error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+			return new SourceLoadResult(sourceName, 0, 0, 0, 0, error);
+		}
+
+		InsertBatchEvent event = new InsertBatchEvent();
+		event.begin();
+		int added = 0;
+		int duplicates = 0;
+		for (Employee employee : load.employees()) {
+			if (employeeService.containsEmail(employee.getEmail())) {
+				duplicates++;
+			} else {
+				employeeService.addEmployee(employee);
+				added++;
+			}
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.source = sourceName;
+			event.rows = load.employees().size();
+			event.rejected = duplicates;
+			event.commit();
+		}
+		return new SourceLoadResult(sourceName, load.employees().size(), added, duplicates, load.millis(), null);
+	}
+
+	private static TimedLoad timedLoad(Callable<List<Employee>> source) throws Exception {
+		long start = System.nanoTime();
+		List<Employee> employees = source.call();
+		return new TimedLoad(employees != null ? employees : List.of(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private record TimedLoad(List<Employee> employees, long millis) {}
+}
\ No newline at end of file
@@ -0,0 +1,414 @@
+package service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import model.Employee;
+import model.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Magazyn w stylu LSM: ostatnie wstawienia w memtable na stercie, a po jej zapełnieniu posortowany po emailu,
+ * niezmienny plik segmentu (SpillSegment) w katalogu tymczasowym. Po każdym zrzucie wątek w tle scala
+ * COMPACTION_FAN_IN sąsiednich segmentów tej samej wielkości w jeden większy, aż do MAX_SEGMENT_ROWS wierszy,
+ * więc liczba plików rośnie logarytmicznie, a nie liniowo z liczbą zrzutów, a add() nie czeka na scalanie.
+ * Sterta trzyma tylko memtable i stałą ilość danych na segment - wiersze firm i stanowisk, indeks emaili
+ * i filtry Blooma są w zmapowanych plikach. Wykrywanie duplikatów, findByCompany i groupByPosition działają
+ * na sumie memtable i segmentów.
+ * Jeden piszący, czytający bez blokad: segmenty i memtable są publikowane razem (Tables) przez pole volatile
+ * przed zapisem size. Zrzut (dopisuje segment na końcu) i scalanie (podmienia sąsiednie segmenty) zmieniają
+ * Tables pod wspólną blokadą. Zastąpione pliki są tylko usuwane z katalogu - zmapowane bufory zostają ważne
+ * dla czytających, którzy jeszcze je trzymają; gdy system nie pozwala usunąć zmapowanego pliku (Windows),
+ * próbujemy ponownie po kolejnym scalaniu.
+ */
+class SpillEmployeeStore implements EmployeeStore {
+	private static final Logger log = LoggerFactory.getLogger(SpillEmployeeStore.class);
+	static final int MEMTABLE_ROWS = 1 << 14;
+	private static final int COMPACTION_FAN_IN = 4;
+	private static final int MAX_SEGMENT_ROWS = 1 << 20;
+
+	private final Path directory;
+	private final int memtableRows;
+	private final Object tablesLock = new Object();
+	private final ExecutorService compactor;
+	private final AtomicInteger nextSegment = new AtomicInteger();
+	// Pliki zastąpione przez scalanie, których nie udało się jeszcze usunąć; tylko wątek scalający
+	private final List<Path> obsolete = new ArrayList<>();
+	private volatile Tables tables;
+	private volatile int size;
+
+	private record Tables(SpillSegment[] segments, Memtable memtable) {}
+
+	SpillEmployeeStore() { this(createDirectory(), MEMTABLE_ROWS); }
+
+	SpillEmployeeStore(Path directory, int memtableRows) {
+		if (memtableRows < 1) { throw new IllegalArgumentException("memtableRows must be at least 1"); }
+		this.directory = directory;
+		this.memtableRows = memtableRows;
+		this.tables = new Tables(new SpillSegment[0], new Memtable(0, memtableRows));
+		this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "spill-compactor");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public int add(Employee employee) {
+		// Jak OffHeapEmployeeStore.add: rekord, którego nie da się zapisać w segmencie, odrzucamy od razu
+		SpillSegment.checkStorable(employee);
+		int row = size;
+		Memtable memtable = tables.memtable();
+		// Zrzut przed dopisaniem: gdy zapis pliku się nie uda, memtable zostaje pełna, ale spójna
+		if (row - memtable.firstRow == memtableRows) {
+			flush(memtable, row);
+			memtable = tables.memtable();
+		}
+		memtable.add(employee, row);
+		size = row + 1;
+		return row;
+	}
+
+	@Override
+	public Employee get(int row) {
+		if (row < 0 || row >= size) { throw new IndexOutOfBoundsException("row " + row + " out of " + size); }
+		Tables current = tables;
+		Memtable memtable = current.memtable();
+		if (row >= memtable.firstRow) { return memtable.rows[row - memtable.firstRow]; }
+		return segment(current.segments(), row).employee(row);
+	}
+
+	BigDecimal salary(int row) {
+		if (row < 0 || row >= size) { throw new IndexOutOfBoundsException("row " + row + " out of " + size); }
+		Tables current = tables;
+		Memtable memtable = current.memtable();
+		if (row >= memtable.firstRow) { return memtable.rows[row - memtable.firstRow].getSalary(); }
+		return segment(current.segments(), row).salary(row);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public long offHeapBytes() {
+		return 0;
+	}
+
+	@Override
+	public long diskBytes() {
+		long bytes = 0;
+		for (SpillSegment segment : tables.segments()) { bytes += segment.bytes(); }
+		return bytes;
+	}
+
+	// Memtable sprawdza zbiór emaili, a segmenty najpierw filtr Blooma, potem indeks emaili w pliku
+	@Override
+	public EmailIndex emailIndex() {
+		return new EmailIndex() {
+			@Override
+			public boolean contains(String email) {
+				Tables current = tables;
+				if (current.memtable().emails.contains(email)) { return true; }
+				for (SpillSegment segment : current.segments()) {
+					if (segment.containsEmail(email)) { return true; }
+				}
+				return false;
+			}
+
+			@Override
+			public void add(String email) {
+				// Email trafia do memtable w add(Employee)
+			}
+
+			@Override
+			public long bytes() {
+				return 0;
+			}
+		};
+	}
+
+	int segmentCount() { return tables.segments().length; }
+
+	Path directory() { return directory; }
+
+	// Czeka na zaplanowane dotąd scalania (testy, pomiary)
+	void awaitCompaction() throws InterruptedException {
+		try {
+			compactor.submit(() -> {}).get();
+		} catch (ExecutionException e) { throw new IllegalStateException("Compaction task failed", e.getCause()); }
+	}
+
+	// Wiersze < watermark z kluczem firmy (EmployeeIndexes.key), rosnąco
+	RowView company(String key, int watermark) {
+		Tables current = tables;
+		List<IntBuffer> runs = new ArrayList<>();
+		for (SpillSegment segment : current.segments()) { runs.add(segment.companyRows(key)); }
+		Rows memtableRows = current.memtable().byCompany.get(key);
+		if (memtableRows != null) { runs.add(memtableRows.view()); }
+		return new RowView(this, runs, watermark);
+	}
+
+	RowView position(Position position, int watermark) {
+		Tables current = tables;
+		List<IntBuffer> runs = new ArrayList<>();
+		for (SpillSegment segment : current.segments()) { runs.add(segment.positionRows(position)); }
+		runs.add(current.memtable().byPosition.get(position).view());
+		return new RowView(this, runs, watermark);
+	}
+
+	private static SpillSegment segment(SpillSegment[] segments, int row) {
+		int low = 0;
+		int high = segments.length - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (segments[middle].firstRow() <= row) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return segments[low];
+	}
+
+	private void flush(Memtable memtable, int endRow) {
+		int count = endRow - memtable.firstRow;
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) { order[i] = i; }
+		Arrays.sort(order, Comparator.comparing(i -> memtable.rows[i].getEmail()));
+
+		SpillSegment segment;
+		try (SpillSegment.Writer writer = new SpillSegment.Writer(nextPath(), memtable.firstRow, count)) {
+			for (int i : order) { writer.append(memtable.rows[i], memtable.firstRow + i); }
+			segment = writer.finish();
+		} catch (IOException e) { throw new UncheckedIOException("Cannot write segment", e); }
+
+		synchronized (tablesLock) {
+			SpillSegment[] segments = Arrays.copyOf(tables.segments(), tables.segments().length + 1);
+			segments[segments.length - 1] = segment;
+			tables = new Tables(segments, new Memtable(endRow, memtableRows));
+		}
+		compactor.execute(this::compact);
+	}
+
+	/*
+	 * Scalanie warstwowe w wątku compactor: pierwsze od najstarszego COMPACTION_FAN_IN sąsiednich segmentów
+	 * o równej liczbie wierszy, więc rozmiary segmentów nie rosną w stronę nowszych. Piszący w tym czasie tylko
+	 * dopisuje segmenty za scalanymi, więc ich pozycja się nie zmienia.
+	 */
+	private void compact() {
+		int from;
+		while ((from = compactionStart(tables.segments())) >= 0) {
+			SpillSegment[] inputs = Arrays.copyOfRange(tables.segments(), from, from + COMPACTION_FAN_IN);
+			SpillSegment merged;
+			try {
+				merged = merge(inputs);
+			} catch (IOException | RuntimeException e) {
+				// Segmenty zostają niescalone - dane są kompletne, tylko plików jest więcej
+				log.warn("Could not compact segments in {}: {}", directory, e.toString());
+				return;
+			}
+			synchronized (tablesLock) {
+				SpillSegment[] segments = tables.segments();
+				SpillSegment[] compacted = new SpillSegment[segments.length - COMPACTION_FAN_IN + 1];
+				System.arraycopy(segments, 0, compacted, 0, from);
+				compacted[from] = merged;
+				System.arraycopy(segments, from + COMPACTION_FAN_IN, compacted, from + 1, compacted.length - from - 1);
+				tables = new Tables(compacted, tables.memtable());
+			}
+			for (SpillSegment input : inputs) { obsolete.add(input.path()); }
+		}
+		obsolete.removeIf(SpillEmployeeStore::deleted);
+	}
+
+	private static int compactionStart(SpillSegment[] segments) {
+		for (int from = 0; from + COMPACTION_FAN_IN <= segments.length; from++) {
+			int rows = segments[from].count();
+			if ((long) rows * COMPACTION_FAN_IN > MAX_SEGMENT_ROWS) { continue; }
+			boolean equal = true;
+			for (int i = from + 1; i < from + COMPACTION_FAN_IN && equal; i++) { equal = segments[i].count() == rows; }
+			if (equal) { return from; }
+		}
+		return -1;
+	}
+
+	// Scalanie k-drogowe po emailu; segmenty wejściowe mają sąsiednie zakresy wierszy
+	private SpillSegment merge(SpillSegment[] inputs) throws IOException {
+		record Cursor(SpillSegment segment, int rank, int record, String email) {}
+
+		int count = 0;
+		for (SpillSegment input : inputs) { count += input.count(); }
+		PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing(Cursor::email));
+		for (SpillSegment input : inputs) {
+			int record = input.emailRecord(0);
+			cursors.add(new Cursor(input, 0, record, input.emailAt(record)));
+		}
+		try (SpillSegment.Writer writer = new SpillSegment.Writer(nextPath(), inputs[0].firstRow(), count)) {
+			while (!cursors.isEmpty()) {
+				Cursor cursor = cursors.poll();
+				writer.append(cursor.segment(), cursor.record());
+				int rank = cursor.rank() + 1;
+				if (rank < cursor.segment().count()) {
+					int record = cursor.segment().emailRecord(rank);
+					cursors.add(new Cursor(cursor.segment(), rank, record, cursor.segment().emailAt(record)));
+				}
+			}
+			return writer.finish();
+		}
+	}
+
+	private Path nextPath() {
+		return directory.resolve(String.format("segment-%06d.emps", nextSegment.getAndIncrement()));
+	}
+
+	// Usuwanie na miarę możliwości: plik, którego nie da się usunąć, zostaje na liście do kolejnej próby
+	private static boolean deleted(Path path) {
+		try {
+			Files.deleteIfExists(path);
+			return true;
+		} catch (IOException e) {
+			log.debug("Segment {} not deleted yet: {}", path, e.toString());
+			return false;
+		}
+	}
+
+	// Pliki są tymczasowe - znikają razem z procesem
+	private static Path createDirectory() {
+		try {
+			Path directory = Files.createTempDirectory("employees-spill-");
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try (Stream<Path> files = Files.list(directory)) {
+					files.forEach(SpillEmployeeStore::deleted);
+					Files.deleteIfExists(directory);
+				} catch (IOException | UncheckedIOException ignored) {
+					// Katalog tymczasowy i tak posprząta system
+				}
+			}));
+			return directory;
+		} catch (IOException e) { throw new UncheckedIOException("Cannot create spill directory", e); }
+	}
+
+	private static final class Memtable {
+		final int firstRow;
+		final Employee[] rows;
+		// Tylko dla piszącego, jak HashSet w EmployeeService
+		final Set<String> emails = new HashSet<>();
+		final Map<String, Rows> byCompany = new ConcurrentHashMap<>();
+		final Map<Position, Rows> byPosition = new EnumMap<>(Position.class);
+
+		Memtable(int firstRow, int capacity) {
+			this.firstRow = firstRow;
+			this.rows = new Employee[capacity];
+			for (Position position : Position.values()) { byPosition.put(position, new Rows()); }
+		}
+
+		void add(Employee employee, int row) {
+			rows[row - firstRow] = employee;
+			emails.add(employee.getEmail());
+			byCompany.computeIfAbsent(EmployeeIndexes.key(employee.getCompany()), k -> new Rows()).add(row);
+			byPosition.get(employee.getPosition()).add(row);
+		}
+	}
+
+	// Numery wierszy w memtable; jak RowList - jeden piszący, czytający widzą spójny prefiks
+	private static final class Rows {
+		private volatile int[] rows = new int[4];
+		private volatile int size;
+
+		void add(int row) {
+			int count = size;
+			int[] current = rows;
+			if (count == current.length) {
+				current = Arrays.copyOf(current, count * 2);
+				rows = current;
+			}
+			current[count] = row;
+			size = count + 1;
+		}
+
+		IntBuffer view() {
+			int count = size;
+			return IntBuffer.wrap(rows, 0, count).slice();
+		}
+	}
+
+	/*
+	 * Niezmienny widok wierszy < watermark złożony z rosnących list segmentów i memtable. Zakresy wierszy
+	 * kolejnych segmentów rosną, więc konkatenacja też jest rosnąca, a obcięcie to wyszukiwanie binarne.
+	 */
+	static final class RowView extends AbstractList<Employee> {
+		private final EmployeeStore store;
+		private final IntBuffer[] runs;
+		private final int[] ends;
+
+		RowView(EmployeeStore store, List<IntBuffer> runs, int watermark) {
+			this.store = store;
+			List<IntBuffer> kept = new ArrayList<>(runs.size());
+			for (IntBuffer run : runs) {
+				int rows = below(run, watermark);
+				if (rows > 0) { kept.add(run.slice(0, rows)); }
+			}
+			this.runs = kept.toArray(IntBuffer[]::new);
+			this.ends = new int[this.runs.length];
+			int end = 0;
+			for (int i = 0; i < this.runs.length; i++) {
+				end += this.runs[i].limit();
+				ends[i] = end;
+			}
+		}
+
+		int row(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException("index " + index + " out of " + size());
+			}
+			int run = Arrays.binarySearch(ends, index + 1);
+			if (run < 0) { run = -run - 1; }
+			return runs[run].get(index - (run == 0 ? 0 : ends[run - 1]));
+		}
+
+		@Override
+		public Employee get(int index) {
+			return store.get(row(index));
+		}
+
+		@Override
+		public int size() {
+			return ends.length == 0 ? 0 : ends[ends.length - 1];
+		}
+
+		private static int below(IntBuffer run, int watermark) {
+			int low = 0;
+			int high = run.limit();
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (run.get(middle) < watermark) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import model.Employee;
+import model.Position;
+
+/*
+ * Indeksy dla magazynu SPILL: listy firm i stanowisk czytane z memtable i plików segmentów, bez niczego
+ * na stercie za każdy wiersz. Drzewa pensji i mapa nazwisk rosłyby razem z liczbą pracowników, więc nie są
+ * utrzymywane - zapytania o pensje przeglądają wiersze (SalaryScan), prefiks nazwiska filtruje pełny skan,
+ * a QueryPlanner wybiera wtedy listę firmy, stanowiska albo pełny skan.
+ */
+final class SpillIndexes extends EmployeeIndexes {
+	private final SpillEmployeeStore store;
+
+	SpillIndexes(SpillEmployeeStore store) {
+		super(store);
+		this.store = store;
+	}
+
+	@Override
+	void add(Employee employee, int row) {
+		// Memtable i segmenty indeksują się same w SpillEmployeeStore.add
+	}
+
+	@Override
+	List<Employee> company(String company) {
+		return store.company(key(company), store.size());
+	}
+
+	@Override
+	List<Employee> position(Position position) {
+		return store.position(position, store.size());
+	}
+
+	@Override
+	Map<Position, List<Employee>> positions() {
+		Map<Position, List<Employee>> positions = new EnumMap<>(Position.class);
+		for (Position position : Position.values()) {
+			List<Employee> rows = position(position);
+			if (!rows.isEmpty()) { positions.put(position, rows); }
+		}
+		return positions;
+	}
+
+	@Override
+	List<Employee> company(String company, int watermark) {
+		return store.company(key(company), watermark);
+	}
+
+	@Override
+	List<Employee> position(Position position, int watermark) {
+		return store.position(position, watermark);
+	}
+
+	@Override
+	boolean ordered() {
+		return false;
+	}
+
+	@Override
+	SalaryQueries salaries() {
+		return new SalaryScan(store, store.size(), row -> row);
+	}
+
+	@Override
+	SalaryQueries salaries(String company) {
+		return scan(store.company(key(company), store.size()));
+	}
+
+	@Override
+	SalaryQueries salaries(Position position) {
+		return scan(store.position(position, store.size()));
+	}
+
+	// Filtrowany skan; na stercie tylko trafienia
+	@Override
+	NavigableMap<String, List<Employee>> lastNamePrefix(String prefix) {
+		String from = key(prefix);
+		NavigableMap<String, List<Employee>> matches = new TreeMap<>();
+		int rows = store.size();
+		for (int row = 0; row < rows; row++) {
+			Employee employee = store.get(row);
+			String lastName = key(employee.getLastName());
+			if (lastName.startsWith(from)) { matches.computeIfAbsent(lastName, k -> new ArrayList<>()).add(employee); }
+		}
+		return Collections.unmodifiableNavigableMap(matches);
+	}
+
+	private SalaryQueries scan(SpillEmployeeStore.RowView rows) {
+		return new SalaryScan(store, rows.size(), rows::row);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,378 @@
+package service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import model.Employee;
+import model.Position;
+
+/*
+ * Niezmienny plik segmentu magazynu SPILL, zmapowany tylko do odczytu - dane leżą w page cache, nie na stercie.
+ * Segment obejmuje ciągły zakres wierszy [firstRow, firstRow + count). Układ pliku (big-endian):
+ *   rekordy         [int wiersz][long pensja unscaled][byte skala][byte stanowisko] i email, imię, nazwisko,
+ *                   firma jako [u16 długość][UTF-8]; posortowane po emailu
+ *   rowTable        int[count] - przesunięcie rekordu wiersza firstRow + i
+ *   emailIndex      int[count] - przesunięcia rekordów w kolejności emaili, do wyszukiwania binarnego
+ *   bloom           long[] - filtr Blooma emaili, 10 bitów na rekord i 7 funkcji, ok. 1% fałszywych trafień
+ *   wiersze         int[] - rosnące numery wierszy każdej firmy i każdego stanowiska
+ *   firmy           [u16 długość][klucz firmy][int liczba][int przesunięcie wierszy] posortowane po kluczu
+ *                   i int[] przesunięć tych wpisów
+ *   stanowiska      [int liczba][int przesunięcie wierszy] dla każdego Position
+ *   stopka          FOOTER_INTS liczb: położenia powyższych sekcji i MAGIC
+ */
+final class SpillSegment {
+	private static final int MAGIC = 0x454D5053;
+	private static final int FOOTER_INTS = 10;
+	private static final int BLOOM_BITS_PER_KEY = 10;
+	private static final int BLOOM_HASHES = 7;
+	private static final int MAX_FIELD_BYTES = 0xFFFF;
+	private static final int RECORD_HEADER_BYTES = 14;
+	private static final Position[] POSITIONS = Position.values();
+
+	private final Path path;
+	private final ByteBuffer data;
+	private final int firstRow;
+	private final int count;
+	private final int rowTableAt;
+	private final int emailIndexAt;
+	private final int bloomAt;
+	private final int bloomWords;
+	private final int companyIndexAt;
+	private final int companyCount;
+	private final int positionTableAt;
+
+	private SpillSegment(Path path, ByteBuffer data) {
+		int footer = data.capacity() - FOOTER_INTS * 4;
+		if (footer < 0 || data.getInt(footer + 36) != MAGIC) {
+			throw new IllegalStateException("File " + path + " is not a segment");
+		}
+		this.path = path;
+		this.data = data;
+		this.firstRow = data.getInt(footer);
+		this.count = data.getInt(footer + 4);
+		this.rowTableAt = data.getInt(footer + 8);
+		this.emailIndexAt = data.getInt(footer + 12);
+		this.bloomAt = data.getInt(footer + 16);
+		this.bloomWords = data.getInt(footer + 20);
+		this.companyIndexAt = data.getInt(footer + 24);
+		this.companyCount = data.getInt(footer + 28);
+		this.positionTableAt = data.getInt(footer + 32);
+	}
+
+	static SpillSegment open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new SpillSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/*
+	 * Te same ograniczenia co przy zapisie rekordu - SpillEmployeeStore.add sprawdza je, zanim wiersz trafi
+	 * do memtable, żeby błąd nie wyszedł dopiero przy zrzucie, z innego addEmployee.
+	 */
+	static void checkStorable(Employee employee) {
+		BigDecimal salary = employee.getSalary();
+		if (salary.scale() < Byte.MIN_VALUE || salary.scale() > Byte.MAX_VALUE ||
+			salary.unscaledValue().bitLength() > 63) {
+			throw new IllegalArgumentException("Salary " + salary + " cannot be stored as a scaled long");
+		}
+		checkText(employee.getEmail(), "email");
+		checkText(employee.getFirstName(), "firstName");
+		checkText(employee.getLastName(), "lastName");
+		checkText(employee.getCompany(), "company");
+	}
+
+	Path path() { return path; }
+
+	int firstRow() { return firstRow; }
+
+	int count() { return count; }
+
+	long bytes() { return data.capacity(); }
+
+	Employee employee(int row) {
+		int record = data.getInt(rowTableAt + 4 * (row - firstRow));
+		int firstNameAt = skipText(record + RECORD_HEADER_BYTES);
+		int lastNameAt = skipText(firstNameAt);
+		int companyAt = skipText(lastNameAt);
+		return new Employee(readText(firstNameAt),
+							readText(lastNameAt),
+							readText(record + RECORD_HEADER_BYTES),
+							readText(companyAt),
+							POSITIONS[data.get(record + 13)],
+							BigDecimal.valueOf(data.getLong(record + 4), data.get(record + 12)));
+	}
+
+	// Sama pensja, bez dekodowania tekstów - dla zapytań o pensje skanem (SalaryScan)
+	BigDecimal salary(int row) {
+		int record = data.getInt(rowTableAt + 4 * (row - firstRow));
+		return BigDecimal.valueOf(data.getLong(record + 4), data.get(record + 12));
+	}
+
+	// Filtr Blooma odsiewa prawie wszystkie nieobecne adresy bez dotykania indeksu
+	boolean containsEmail(String email) {
+		if (!mightContain(email)) { return false; }
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int compared = readText(emailRecord(middle) + RECORD_HEADER_BYTES).compareTo(email);
+			if (compared == 0) { return true; }
+			if (compared < 0) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return false;
+	}
+
+	// Rosnące numery wierszy firmy (klucz jak w EmployeeIndexes.key); pusty bufor, gdy firmy nie ma w segmencie
+	IntBuffer companyRows(String key) {
+		int low = 0;
+		int high = companyCount - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int entry = data.getInt(companyIndexAt + 4 * middle);
+			int compared = readText(entry).compareTo(key);
+			if (compared == 0) {
+				int at = skipText(entry);
+				return rows(data.getInt(at + 4), data.getInt(at));
+			}
+			if (compared < 0) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return IntBuffer.allocate(0);
+	}
+
+	IntBuffer positionRows(Position position) {
+		int at = positionTableAt + 8 * position.ordinal();
+		return rows(data.getInt(at + 4), data.getInt(at));
+	}
+
+	// Przesunięcie rekordu o danej pozycji w kolejności emaili - do scalania segmentów
+	int emailRecord(int rank) { return data.getInt(emailIndexAt + 4 * rank); }
+
+	String emailAt(int record) { return readText(record + RECORD_HEADER_BYTES); }
+
+	private IntBuffer rows(int at, int rows) { return data.slice(at, rows * 4).asIntBuffer(); }
+
+	private boolean mightContain(String email) {
+		long hash = hash(email);
+		long bits = bloomWords * 64L;
+		for (int i = 0; i < BLOOM_HASHES; i++) {
+			long bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), bits);
+			if ((data.getLong(bloomAt + 8 * (int) (bit >>> 6)) & 1L << bit) == 0) { return false; }
+		}
+		return true;
+	}
+
+	// Znak UTF-16 to najwyżej 3 bajty UTF-8, więc krótkich pól nie trzeba kodować
+	private static void checkText(String value, String fieldName) {
+		if (value.length() > MAX_FIELD_BYTES / 3 && value.getBytes(StandardCharsets.UTF_8).length > MAX_FIELD_BYTES) {
+			throw new IllegalArgumentException(fieldName + " is too long to be stored in a segment");
+		}
+	}
+
+	private int skipText(int at) { return at + 2 + Short.toUnsignedInt(data.getShort(at)); }
+
+	private String readText(int at) {
+		byte[] bytes = new byte[Short.toUnsignedInt(data.getShort(at))];
+		data.get(at + 2, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	// String.hashCode wymieszany do 64 bitów (finalizer MurmurHash3); druga połowa to krok podwójnego haszowania
+	private static long hash(String email) {
+		long hash = email.hashCode() * 0x9E3779B97F4A7C15L;
+		hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ hash >>> 33) * 0xC4CEB9FE1A85EC53L;
+		return (hash ^ hash >>> 33) | 1L << 32;
+	}
+
+	/*
+	 * Zapis nowego segmentu: rekordy trzeba podawać w kolejności emaili, każdy wiersz zakresu dokładnie raz.
+	 * Tablice pomocnicze (rowTable, emailIndex, filtr, listy wierszy) są na stercie tylko do finish(),
+	 * a ich rozmiar ogranicza największy segment. close() bez finish() usuwa niedokończony plik.
+	 */
+	static final class Writer implements Closeable {
+		private final Path path;
+		private final DataOutputStream out;
+		private final int firstRow;
+		private final int[] rowTable;
+		private final int[] emailIndex;
+		private final long[] bloom;
+		private final Map<String, Rows> companies = new TreeMap<>();
+		private final Rows[] positions = new Rows[POSITIONS.length];
+		private int written;
+		private String lastEmail;
+		private boolean finished;
+
+		Writer(Path path, int firstRow, int count) throws IOException {
+			this.path = path;
+			this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+			this.firstRow = firstRow;
+			this.rowTable = new int[count];
+			this.emailIndex = new int[count];
+			this.bloom = new long[Math.max(1, (int) (((long) count * BLOOM_BITS_PER_KEY + 63) / 64))];
+			for (int i = 0; i < positions.length; i++) { positions[i] = new Rows(); }
+		}
+
+		void append(Employee employee, int row) throws IOException {
+			checkStorable(employee);
+			int record = begin(employee.getEmail(), employee.getCompany(), employee.getPosition().ordinal(), row);
+			BigDecimal salary = employee.getSalary();
+			out.writeInt(row);
+			out.writeLong(salary.unscaledValue().longValue());
+			out.writeByte(salary.scale());
+			out.writeByte(employee.getPosition().ordinal());
+			writeText(employee.getEmail(), "email");
+			writeText(employee.getFirstName(), "firstName");
+			writeText(employee.getLastName(), "lastName");
+			writeText(employee.getCompany(), "company");
+			checkSize(record);
+		}
+
+		// Kopia rekordu z innego segmentu bez dekodowania pensji i imion
+		void append(SpillSegment source, int record) throws IOException {
+			ByteBuffer data = source.data;
+			int companyAt = source.skipText(source.skipText(source.skipText(record + RECORD_HEADER_BYTES)));
+			int end = source.skipText(companyAt);
+			begin(source.emailAt(record), source.readText(companyAt), data.get(record + 13), data.getInt(record));
+			byte[] bytes = new byte[end - record];
+			data.get(record, bytes);
+			out.write(bytes);
+			checkSize(record);
+		}
+
+		private int begin(String email, String company, int position, int row) {
+			if (row < firstRow || row >= firstRow + rowTable.length || written == rowTable.length) {
+				throw new IllegalArgumentException("Row " + row + " does not belong to segment " + path);
+			}
+			if (lastEmail != null && lastEmail.compareTo(email) >= 0) {
+				throw new IllegalArgumentException("Records must be appended in ascending email order");
+			}
+			lastEmail = email;
+			int record = out.size();
+			rowTable[row - firstRow] = record;
+			emailIndex[written++] = record;
+			long hash = hash(email);
+			long bits = bloom.length * 64L;
+			for (int i = 0; i < BLOOM_HASHES; i++) {
+				long bit = Math.floorMod((int) hash + i * (int) (hash >>> 32), bits);
+				bloom[(int) (bit >>> 6)] |= 1L << bit;
+			}
+			companies.computeIfAbsent(EmployeeIndexes.key(company), k -> new Rows()).add(row);
+			positions[position].add(row);
+			return record;
+		}
+
+		SpillSegment finish() throws IOException {
+			if (written != rowTable.length) {
+				throw new IllegalStateException("Segment " + path + " expects " + rowTable.length + " records");
+			}
+			int rowTableAt = out.size();
+			for (int record : rowTable) { out.writeInt(record); }
+			int emailIndexAt = out.size();
+			for (int record : emailIndex) { out.writeInt(record); }
+			int bloomAt = out.size();
+			for (long word : bloom) { out.writeLong(word); }
+
+			Map<String, Integer> companyRowsAt = new TreeMap<>();
+			for (Map.Entry<String, Rows> company : companies.entrySet()) {
+				companyRowsAt.put(company.getKey(), out.size());
+				company.getValue().writeSorted(out);
+			}
+			int[] positionRowsAt = new int[positions.length];
+			for (int i = 0; i < positions.length; i++) {
+				positionRowsAt[i] = out.size();
+				positions[i].writeSorted(out);
+			}
+			int[] entries = new int[companies.size()];
+			int entry = 0;
+			for (Map.Entry<String, Rows> company : companies.entrySet()) {
+				entries[entry++] = out.size();
+				writeText(company.getKey(), "company");
+				out.writeInt(company.getValue().size);
+				out.writeInt(companyRowsAt.get(company.getKey()));
+			}
+			int companyIndexAt = out.size();
+			for (int at : entries) { out.writeInt(at); }
+			int positionTableAt = out.size();
+			for (int i = 0; i < positions.length; i++) {
+				out.writeInt(positions[i].size);
+				out.writeInt(positionRowsAt[i]);
+			}
+			checkSize(positionTableAt);
+
+			out.writeInt(firstRow);
+			out.writeInt(rowTable.length);
+			out.writeInt(rowTableAt);
+			out.writeInt(emailIndexAt);
+			out.writeInt(bloomAt);
+			out.writeInt(bloom.length);
+			out.writeInt(companyIndexAt);
+			out.writeInt(entries.length);
+			out.writeInt(positionTableAt);
+			out.writeInt(MAGIC);
+			out.close();
+			finished = true;
+			return open(path);
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				out.close();
+			} finally {
+				if (!finished) { Files.deleteIfExists(path); }
+			}
+		}
+
+		private void writeText(String value, String fieldName) throws IOException {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length > MAX_FIELD_BYTES) {
+				throw new IllegalArgumentException(fieldName + " is too long to be stored in a segment");
+			}
+			out.writeShort(bytes.length);
+			out.write(bytes);
+		}
+
+		// DataOutputStream.size() zatrzymuje się na Integer.MAX_VALUE, a przesunięcia w pliku są typu int
+		private void checkSize(int at) {
+			if (out.size() == Integer.MAX_VALUE || out.size() < at) {
+				throw new IllegalStateException("Segment " + path + " exceeds 2 GB");
+			}
+		}
+	}
+
+	private static final class Rows {
+		private int[] rows = new int[8];
+		private int size;
+
+		void add(int row) {
+			if (size == rows.length) { rows = Arrays.copyOf(rows, size * 2); }
+			rows[size++] = row;
+		}
+
+		// Rekordy przychodzą po emailu, a listy wierszy muszą być rosnące
+		void writeSorted(DataOutputStream out) throws IOException {
+			Arrays.sort(rows, 0, size);
+			for (int i = 0; i < size; i++) { out.writeInt(rows[i]); }
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package service;
+
+import java.math.BigDecimal;
+import model.CompanyAggregate;
+import model.Employee;
+
+/*
+ * Niemutowalny stan dokładnych agregatów po wstawieniu pierwszych rows wierszy. Każde dodanie tworzy nową
+ * wersję (mapa firm jest trwała, więc kopiowana jest tylko ścieżka jednego klucza), a EmployeeService
+ * publikuje ją przez pole volatile na końcu zapisu - migawka to po prostu odczyt tej referencji.
+ */
+record StoreVersion(int rows,
+					PersistentMap<String, CompanyAggregate> companies,
+					BigDecimal salarySum,
+					int highestRow,
+					BigDecimal highestSalary) {
+
+	static final StoreVersion EMPTY = new StoreVersion(0, PersistentMap.empty(), BigDecimal.ZERO, -1, null);
+
+	StoreVersion add(Employee employee, int row) {
+		BigDecimal salary = employee.getSalary();
+		CompanyAggregate aggregate = companies.get(employee.getCompany());
+		CompanyAggregate added = CompanyAggregate.of(employee);
+		CompanyAggregate merged = aggregate == null ? added : aggregate.merge(added);
+		// Przy remisie zostaje wcześniejszy pracownik, jak w SalaryIndex.highest
+		boolean higher = highestSalary == null || salary.compareTo(highestSalary) > 0;
+		return new StoreVersion(row + 1,
+								companies.put(employee.getCompany(), merged),
+								salarySum.add(salary),
+								higher ? row : highestRow,
+								higher ? salary : highestSalary);
+	}
+}
\ No newline at end of file
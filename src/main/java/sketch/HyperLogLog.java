@@ -0,0 +1,82 @@
+package sketch;
+
+/*
+ * HyperLogLog (Flajolet i in. 2007) z korektą dla małych liczności (linear counting).
+ *
+ * m = 2^precision rejestrów po jednym bajcie; dla domyślnej precyzji 14 to 16 KiB niezależnie od liczby
+ * elementów. Błąd względny (odchylenie standardowe) to 1.04 / sqrt(m), czyli ok. 0.81% dla p = 14;
+ * w praktyce wynik mieści się w 3 odchyleniach (ok. 2.5%). Szkice o tej samej precyzji łączy się maksimum
+ * rejestrów, więc liczność sumy zbiorów z kilku shardów liczymy bez przesyłania samych wartości.
+ */
+public class HyperLogLog {
+	public static final int DEFAULT_PRECISION = 14;
+
+	private final int precision;
+	private final byte[] registers;
+
+	public HyperLogLog() { this(DEFAULT_PRECISION); }
+
+	public HyperLogLog(int precision) {
+		if (precision < 4 || precision > 18) { throw new IllegalArgumentException("precision must be in [4, 18]"); }
+		this.precision = precision;
+		this.registers = new byte[1 << precision];
+	}
+
+	public int getPrecision() { return precision; }
+
+	public void add(String value) { addHash(hash(value)); }
+
+	public void addHash(long hash) {
+		int index = (int) (hash >>> (64 - precision));
+		// Pozycja pierwszej jedynki w pozostałych bitach; bit wartownika ogranicza wynik do 64 - p + 1
+		long remaining = (hash << precision) | (1L << (precision - 1));
+		byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+		if (rank > registers[index]) { registers[index] = rank; }
+	}
+
+	public void merge(HyperLogLog other) {
+		if (other.precision != precision) {
+			throw new IllegalArgumentException("cannot merge sketches with different precision");
+		}
+		for (int i = 0; i < registers.length; i++) {
+			if (other.registers[i] > registers[i]) { registers[i] = other.registers[i]; }
+		}
+	}
+
+	public long estimate() {
+		int m = registers.length;
+		double sum = 0;
+		int zeros = 0;
+		for (byte register : registers) {
+			sum += 1.0 / (1L << register);
+			if (register == 0) { zeros++; }
+		}
+		double estimate = alpha(m) * m * m / sum;
+		if (estimate <= 2.5 * m && zeros > 0) { estimate = m * Math.log((double) m / zeros); }
+		return Math.round(estimate);
+	}
+
+	private static double alpha(int m) {
+		return switch (m) {
+			case 16 -> 0.673;
+			case 32 -> 0.697;
+			case 64 -> 0.709;
+			default -> 0.7213 / (1 + 1.079 / m);
+		};
+	}
+
+	// 64-bitowy FNV-1a po znakach z finalizatorem MurmurHash3 - String.hashCode ma tylko 32 bity
+	static long hash(String value) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
\ No newline at end of file
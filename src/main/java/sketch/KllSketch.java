@@ -0,0 +1,168 @@
+package sketch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/*
+ * Szkic kwantyli KLL (Karnin, Lang, Liberty 2016) dla wartości double.
+ *
+ * Poziom h trzyma elementy o wadze 2^h. Pełny poziom jest sortowany i co drugi element (z losowym
+ * przesunięciem) przechodzi poziom wyżej, więc pamięć to O(k log(n/k)) niezależnie od liczby wstawień.
+ * Pojemność poziomu maleje geometrycznie (c = 2/3) w dół od najwyższego.
+ *
+ * Błąd: oszacowana ranga różni się od dokładnej o najwyżej eps * n z wysokim prawdopodobieństwem,
+ * gdzie eps ~ 1.7 / k. Dla domyślnego k = 200 to ok. 1% rangi (testy sprawdzają 2% przy n = 200 000).
+ * Min, max i liczba elementów są dokładne. Szkice z tym samym k można łączyć (merge) bez utraty gwarancji.
+ */
+public class KllSketch {
+	public static final int DEFAULT_K = 200;
+	private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+	private final int k;
+	private final SplittableRandom random;
+	private final List<double[]> levels = new ArrayList<>();
+	private int[] levelSizes = new int[0];
+	private int retained;
+	private int maxRetained;
+	private long count;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+
+	public KllSketch() { this(DEFAULT_K); }
+
+	public KllSketch(int k) { this(k, new SplittableRandom()); }
+
+	KllSketch(int k, SplittableRandom random) {
+		if (k < 8) { throw new IllegalArgumentException("k must be at least 8"); }
+		this.k = k;
+		this.random = random;
+		grow();
+	}
+
+	public int getK() { return k; }
+
+	public long getCount() { return count; }
+
+	public boolean isEmpty() { return count == 0; }
+
+	public double getMin() { return min; }
+
+	public double getMax() { return max; }
+
+	// Liczba przechowywanych wartości - miara zajętej pamięci
+	public int getRetainedItems() { return retained; }
+
+	public void update(double value) {
+		if (Double.isNaN(value)) { throw new IllegalArgumentException("value must not be NaN"); }
+		if (count == 0 || value < min) { min = value; }
+		if (count == 0 || value > max) { max = value; }
+		count++;
+		append(0, value);
+		if (retained >= maxRetained) { compress(); }
+	}
+
+	public void merge(KllSketch other) {
+		if (other.k != k) { throw new IllegalArgumentException("cannot merge sketches with different k"); }
+		if (other.count == 0) { return; }
+		while (levels.size() < other.levels.size()) { grow(); }
+		for (int h = 0; h < other.levels.size(); h++) {
+			double[] items = other.levels.get(h);
+			for (int i = 0; i < other.levelSizes[h]; i++) { append(h, items[i]); }
+		}
+		min = count == 0 ? other.min : Math.min(min, other.min);
+		max = count == 0 ? other.max : Math.max(max, other.max);
+		count += other.count;
+		while (retained >= maxRetained) { compress(); }
+	}
+
+	// Przybliżona liczba wartości <= value
+	public long rank(double value) {
+		long rank = 0;
+		for (int h = 0; h < levels.size(); h++) {
+			double[] items = levels.get(h);
+			for (int i = 0; i < levelSizes[h]; i++) {
+				if (items[i] <= value) { rank += 1L << h; }
+			}
+		}
+		return rank;
+	}
+
+	// Przybliżony kwantyl q z [0, 1]; 0 i 1 zwracają dokładne min i max
+	public double quantile(double q) {
+		if (Double.isNaN(q) || q < 0 || q > 1) { throw new IllegalArgumentException("quantile must be in [0, 1]"); }
+		if (count == 0) { return Double.NaN; }
+		if (q == 0) { return min; }
+		if (q == 1) { return max; }
+
+		double[] values = new double[retained];
+		long[] weights = new long[retained];
+		int n = 0;
+		for (int h = 0; h < levels.size(); h++) {
+			double[] items = levels.get(h);
+			for (int i = 0; i < levelSizes[h]; i++) {
+				values[n] = items[i];
+				weights[n++] = 1L << h;
+			}
+		}
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) { order[i] = i; }
+		Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+		long totalWeight = 0;
+		for (int i = 0; i < n; i++) { totalWeight += weights[i]; }
+		double target = q * totalWeight;
+		long cumulative = 0;
+		for (int i = 0; i < n; i++) {
+			cumulative += weights[order[i]];
+			if (cumulative >= target) { return values[order[i]]; }
+		}
+		return max;
+	}
+
+	private void append(int level, double value) {
+		double[] items = levels.get(level);
+		int size = levelSizes[level];
+		if (size == items.length) {
+			items = Arrays.copyOf(items, Math.max(8, size * 2));
+			levels.set(level, items);
+		}
+		items[size] = value;
+		levelSizes[level] = size + 1;
+		retained++;
+	}
+
+	private void grow() {
+		levels.add(new double[8]);
+		levelSizes = Arrays.copyOf(levelSizes, levels.size());
+		maxRetained = 0;
+		for (int h = 0; h < levels.size(); h++) { maxRetained += capacity(h); }
+	}
+
+	private int capacity(int level) {
+		int depth = levels.size() - level - 1;
+		return (int) Math.ceil(Math.pow(CAPACITY_DECAY, depth) * k) + 1;
+	}
+
+	// Kompaktujemy najniższy przepełniony poziom - jedno wywołanie zmniejsza retained o około połowę poziomu
+	private void compress() {
+		for (int h = 0; h < levels.size(); h++) {
+			if (levelSizes[h] < capacity(h)) { continue; }
+			if (h + 1 >= levels.size()) { grow(); }
+
+			double[] items = levels.get(h);
+			int size = levelSizes[h];
+			Arrays.sort(items, 0, size);
+			// Przy nieparzystej liczbie elementów największy zostaje na tym poziomie
+			int pairs = size / 2;
+			int offset = random.nextBoolean() ? 1 : 0;
+			for (int i = 0; i < pairs; i++) { append(h + 1, items[2 * i + offset]); }
+			double leftover = items[size - 1];
+			retained -= size;
+			levelSizes[h] = 0;
+			if (size % 2 == 1) { append(h, leftover); }
+			return;
+		}
+	}
+}
\ No newline at end of file
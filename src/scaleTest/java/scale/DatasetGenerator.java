@@ -0,0 +1,205 @@
+package scale;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import model.Position;
+
+/*
+ * Generuje dane w formacie employees.csv albo odpowiedzi API (JSON) strumieniowo, więc rozmiar
+ * pliku (do 100M wierszy) nie jest ograniczony pamięcią. Firmy są losowane z rozkładu Zipfa,
+ * stanowiska z rozkładu wag, część wierszy to duplikaty emaili wcześniejszych wierszy, a część
+ * (tylko CSV) to celowo uszkodzone wiersze, które ImportService powinien odrzucić.
+ */
+public class DatasetGenerator {
+	private static final String[] FIRST_NAMES = {
+		"Jan", "Anna", "Piotr", "Maria", "Krzysztof", "Katarzyna", "Tomasz", "Agnieszka", "Pawel",
+		"Ewa", "Michal", "Magdalena", "Marcin", "Joanna", "Adam", "Monika", "Lukasz", "Aleksandra"
+	};
+	private static final String[] LAST_NAMES = {
+		"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kowalczyk", "Kaminski", "Lewandowski", "Zielinski",
+		"Szymanski", "Wozniak", "Dabrowski", "Kozlowski", "Jankowski", "Mazur", "Kwiatkowski"
+	};
+	private static final String[] COMPANY_PREFIXES = { "Tech", "Data", "Bud", "Agro", "Med", "Trans", "Soft", "Euro" };
+	private static final String[] COMPANY_SUFFIXES = { "Corp", "Pol", "Sys", "Net", "Tex", "Group" };
+
+	private final DatasetSpec spec;
+	private final SplittableRandom random;
+	private final double[] companyCdf;
+	private final Position[] positions;
+	private final double[] positionCdf;
+
+	public DatasetGenerator(DatasetSpec spec) {
+		this.spec = spec;
+		this.random = new SplittableRandom(spec.getSeed());
+		this.companyCdf = zipfCdf(spec.getCompanies(), spec.getZipfExponent());
+		this.positions = spec.getPositionWeights().keySet().toArray(new Position[0]);
+		this.positionCdf = weightsCdf(spec.getPositionWeights());
+	}
+
+	public static void main(String[] args) throws IOException {
+		DatasetSpec spec = DatasetSpec.fromArgs(args);
+		if (spec.getOutput() == null) { throw new IllegalArgumentException("--output=<path> is required"); }
+
+		long start = System.nanoTime();
+		Stats stats = new DatasetGenerator(spec).generate(spec.getOutput());
+		System.out.println(spec);
+		System.out.println(stats + " in " + (System.nanoTime() - start) / 1_000_000 + " ms -> " + spec.getOutput());
+	}
+
+	public Stats generate(Path output) throws IOException {
+		try (Writer writer = new BufferedWriter(
+			   new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.UTF_8), 1 << 16)) {
+			return spec.getFormat() == DatasetSpec.Format.CSV ? writeCsv(writer) : writeJson(writer);
+		}
+	}
+
+	private Stats writeCsv(Writer writer) throws IOException {
+		Stats stats = new Stats();
+		writer.write("firstName,lastName,email,company,position,salary\n");
+
+		for (long id = 0; id < spec.getRows(); id++) {
+			String email = nextEmail(id, stats);
+			String company = companyName(nextCompanyRank());
+			Position position = nextPosition();
+			String salary = nextSalary(position).toPlainString();
+			String[] fields = { firstName(id), lastName(id), email, company, position.name(), salary };
+
+			if (random.nextDouble() < spec.getMalformedRate()) {
+				stats.malformed++;
+				writer.write(malform(fields, position));
+			} else {
+				writer.write(String.join(",", fields));
+			}
+			writer.write('\n');
+			stats.rows++;
+		}
+		return stats;
+	}
+
+	// JSON odwzorowuje odpowiedź API; uszkodzone rekordy nie są generowane, bo ApiService odrzuca całą odpowiedź
+	private Stats writeJson(Writer writer) throws IOException {
+		Stats stats = new Stats();
+		writer.write('[');
+
+		for (long id = 0; id < spec.getRows(); id++) {
+			if (id > 0) { writer.write(','); }
+			String company = companyName(nextCompanyRank());
+			writer.write("\n{\"id\":" + id + ",\"name\":\"" + firstName(id) + " " + lastName(id) + "\",\"email\":\"" +
+						 nextEmail(id, stats) + "\",\"company\":{\"name\":\"" + company + "\"}}");
+			stats.rows++;
+		}
+		writer.write("\n]\n");
+		return stats;
+	}
+
+	private String nextEmail(long id, Stats stats) {
+		if (id > 0 && random.nextDouble() < spec.getDuplicateRate()) {
+			stats.duplicates++;
+			return emailFor(random.nextLong(id));
+		}
+		return emailFor(id);
+	}
+
+	private String malform(String[] fields, Position position) {
+		return switch (random.nextInt(5)) {
+			case 0 -> String.join(",", Arrays.copyOf(fields, 4)); // brakujące kolumny
+			case 1 -> String.join(",", fields[0], fields[1], fields[2], fields[3], "DYREKTOR", fields[5]);
+			case 2 -> String.join(",", fields[0], fields[1], fields[2], fields[3], fields[4], "abc");
+			case 3 -> String.join(",",
+								  fields[0],
+								  fields[1],
+								  fields[2],
+								  fields[3],
+								  fields[4],
+								  position.getBaseSalary().subtract(BigDecimal.ONE).toPlainString());
+			default -> String.join(",", " ", fields[1], fields[2], fields[3], fields[4], fields[5]);
+		};
+	}
+
+	private int nextCompanyRank() {
+		int index = Arrays.binarySearch(companyCdf, random.nextDouble());
+		return (index >= 0 ? index : -index - 1) + 1;
+	}
+
+	private Position nextPosition() {
+		int index = Arrays.binarySearch(positionCdf, random.nextDouble());
+		return positions[Math.min(positions.length - 1, index >= 0 ? index : -index - 1)];
+	}
+
+	// Podstawa stanowiska plus dodatek skupiony przy dolnej granicy (do +60%)
+	private BigDecimal nextSalary(Position position) {
+		double u = random.nextDouble();
+		long base = position.getBaseSalary().longValue();
+		return BigDecimal.valueOf(base + Math.round(base * 0.6 * u * u / 100) * 100);
+	}
+
+	// Imię, nazwisko i email są funkcją id, więc duplikat może odtworzyć email dowolnego wcześniejszego wiersza
+	private static String firstName(long id) { return FIRST_NAMES[(int) (mix(id) % FIRST_NAMES.length)]; }
+
+	private static String lastName(long id) { return LAST_NAMES[(int) (mix(id + 1) % LAST_NAMES.length)]; }
+
+	private static String emailFor(long id) {
+		return firstName(id).toLowerCase() + "." + lastName(id).toLowerCase() + "." + id + "@example.com";
+	}
+
+	static String companyName(int rank) {
+		return COMPANY_PREFIXES[rank % COMPANY_PREFIXES.length] +
+		  COMPANY_SUFFIXES[(rank / COMPANY_PREFIXES.length) % COMPANY_SUFFIXES.length] + rank;
+	}
+
+	private static long mix(long value) {
+		long z = value * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 31)) * 0xBF58476D1CE4E5B9L;
+		return (z ^ (z >>> 29)) & Long.MAX_VALUE;
+	}
+
+	private static double[] zipfCdf(int companies, double exponent) {
+		double[] cdf = new double[companies];
+		double sum = 0;
+		for (int rank = 1; rank <= companies; rank++) {
+			sum += 1.0 / Math.pow(rank, exponent);
+			cdf[rank - 1] = sum;
+		}
+		for (int i = 0; i < companies; i++) { cdf[i] /= sum; }
+		return cdf;
+	}
+
+	private static double[] weightsCdf(Map<Position, Double> weights) {
+		double[] cdf = new double[weights.size()];
+		double sum = 0;
+		int i = 0;
+		for (double weight : weights.values()) {
+			sum += weight;
+			cdf[i++] = sum;
+		}
+		for (int j = 0; j < cdf.length; j++) { cdf[j] /= sum; }
+		return cdf;
+	}
+
+	public static class Stats {
+		private long rows;
+		private long duplicates;
+		private long malformed;
+
+		public long getRows() { return rows; }
+
+		public long getDuplicates() { return duplicates; }
+
+		public long getMalformed() { return malformed; }
+
+		@Override
+		public String toString() {
+			return "Stats{"
+			  + "rows=" + rows + ", duplicates=" + duplicates + ", malformed=" + malformed + '}';
+		}
+	}
+}
\ No newline at end of file
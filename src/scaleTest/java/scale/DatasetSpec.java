@@ -0,0 +1,112 @@
+package scale;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import model.Position;
+
+// Parametry generowanego zbioru; wartości z linii poleceń w postaci --klucz=wartość
+public class DatasetSpec {
+	public enum Format { CSV, JSON }
+
+	private long rows = 10_000;
+	private int companies = 1_000;
+	private double zipfExponent = 1.1;
+	private double duplicateRate = 0.01;
+	private double malformedRate = 0.001;
+	private long seed = 42;
+	private Format format = Format.CSV;
+	private Path output;
+	private final Map<Position, Double> positionWeights = defaultPositionWeights();
+
+	private static Map<Position, Double> defaultPositionWeights() {
+		Map<Position, Double> weights = new EnumMap<>(Position.class);
+		weights.put(Position.PREZES, 0.5);
+		weights.put(Position.WICEPREZES, 2.0);
+		weights.put(Position.MANAGER, 12.5);
+		weights.put(Position.PROGRAMISTA, 60.0);
+		weights.put(Position.STAZYSTA, 25.0);
+		return weights;
+	}
+
+	public static DatasetSpec fromArgs(String... args) {
+		DatasetSpec spec = new DatasetSpec();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+			}
+			String key = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+			switch (key) {
+				case "rows" -> spec.rows = parseCount(value);
+				case "companies" -> spec.companies = (int) parseCount(value);
+				case "zipf" -> spec.zipfExponent = Double.parseDouble(value);
+				case "duplicate-rate" -> spec.duplicateRate = parseRate(value, key);
+				case "malformed-rate" -> spec.malformedRate = parseRate(value, key);
+				case "seed" -> spec.seed = Long.parseLong(value);
+				case "format" -> spec.format = Format.valueOf(value.toUpperCase());
+				case "output" -> spec.output = Path.of(value);
+				case "positions" -> spec.parsePositions(value);
+				default -> { /* pozostałe klucze należą do ScaleHarness */ }
+			}
+		}
+		if (spec.rows < 1 || spec.companies < 1) {
+			throw new IllegalArgumentException("rows and companies must be greater than 0");
+		}
+		return spec;
+	}
+
+	// Akceptuje skróty 10K, 5M, 100M
+	static long parseCount(String value) {
+		String upper = value.trim().toUpperCase();
+		long multiplier = 1;
+		if (upper.endsWith("K")) {
+			multiplier = 1_000;
+		} else if (upper.endsWith("M")) {
+			multiplier = 1_000_000;
+		}
+		String digits = multiplier == 1 ? upper : upper.substring(0, upper.length() - 1);
+		return Long.parseLong(digits.replace("_", "")) * multiplier;
+	}
+
+	private static double parseRate(String value, String key) {
+		double rate = Double.parseDouble(value);
+		if (rate < 0 || rate > 1) { throw new IllegalArgumentException(key + " must be between 0 and 1"); }
+		return rate;
+	}
+
+	// Format: PREZES:1,PROGRAMISTA:60,... (wagi względne, pominięte stanowiska mają wagę 0)
+	private void parsePositions(String value) {
+		positionWeights.clear();
+		for (String entry : value.split(",")) {
+			String[] parts = entry.split(":");
+			positionWeights.put(Position.valueOf(parts[0].trim().toUpperCase()), Double.parseDouble(parts[1].trim()));
+		}
+	}
+
+	public long getRows() { return rows; }
+
+	public int getCompanies() { return companies; }
+
+	public double getZipfExponent() { return zipfExponent; }
+
+	public double getDuplicateRate() { return duplicateRate; }
+
+	public double getMalformedRate() { return malformedRate; }
+
+	public long getSeed() { return seed; }
+
+	public Format getFormat() { return format; }
+
+	public Path getOutput() { return output; }
+
+	public Map<Position, Double> getPositionWeights() { return positionWeights; }
+
+	@Override
+	public String toString() {
+		return "DatasetSpec{"
+		  + "rows=" + rows + ", companies=" + companies + ", zipfExponent=" + zipfExponent +
+		  ", duplicateRate=" + duplicateRate + ", malformedRate=" + malformedRate + ", seed=" + seed +
+		  ", format=" + format + ", positionWeights=" + positionWeights + '}';
+	}
+}
\ No newline at end of file
@@ -0,0 +1,246 @@
+package scale;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+import config.ApiClientSettings;
+import java.io.OutputStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import model.Employee;
+import model.ImportSummary;
+import model.SourceLoadResult;
+import model.StorageMode;
+import service.ApiService;
+import service.EmployeeService;
+import service.ImportService;
+import service.ShardedEmployeeService;
+import service.SourceLoader;
+
+/*
+ * Wczytuje wygenerowany zbiór przez ImportService (CSV) albo ApiService (JSON z lokalnego serwera)
+ * do EmployeeService i raportuje przepustowość, szczytowe zużycie sterty oraz czas GC.
+ * Argumenty jak w DatasetGenerator, plus --input=<plik> (użyj istniejącego pliku) i --keep (nie usuwaj).
+ * --shards=N (tylko CSV) wczytuje do ShardedEmployeeService z N shardami zapisywanymi równolegle.
+ * --storage=off-heap trzyma rekordy w buforach bezpośrednich; raport podaje wtedy stertę po GC i pamięć poza nią.
+ * --storage=spill zrzuca rekordy do plików segmentów; mapped to zmapowane pliki (page cache, nie sterta).
+ */
+public class ScaleHarness {
+	/*
+	 * ApiService czyta odpowiedź w całości (BodyHandlers.ofString, gson.fromJson(String)), więc cały plik JSON
+	 * musi zmieścić się w jednej tablicy bajtów i jednym Stringu. Przy ~115 B na rekord z DatasetGenerator
+	 * to około 18 mln wierszy; większe zbiory wczytuje się z CSV, który ImportService czyta strumieniowo.
+	 */
+	private static final long MAX_API_BODY_BYTES = Integer.MAX_VALUE - 8;
+
+	public static void main(String[] args) throws Exception {
+		DatasetSpec spec = DatasetSpec.fromArgs(specArgs(args));
+		List<String> flags = List.of(args);
+		Path input = flags.stream()
+					   .filter(arg -> arg.startsWith("--input="))
+					   .map(arg -> Path.of(arg.substring("--input=".length())))
+					   .findFirst()
+					   .orElse(null);
+		int shards = flags.stream()
+					   .filter(arg -> arg.startsWith("--shards="))
+					   .mapToInt(arg -> Integer.parseInt(arg.substring("--shards=".length())))
+					   .findFirst()
+					   .orElse(0);
+		StorageMode storageMode = flags.stream()
+									.filter(arg -> arg.startsWith("--storage="))
+									.map(arg -> StorageMode.fromProperty(arg.substring("--storage=".length())))
+									.findFirst()
+									.orElse(StorageMode.HEAP);
+		boolean generated = input == null;
+
+		if (generated) {
+			String suffix = spec.getFormat() == DatasetSpec.Format.CSV ? ".csv" : ".json";
+			input = spec.getOutput() != null ? spec.getOutput() : Files.createTempFile("scale-dataset", suffix);
+			System.out.println("Generowanie: " + spec);
+			System.out.println(new DatasetGenerator(spec).generate(input));
+		}
+
+		try {
+			if (shards > 0 && spec.getFormat() == DatasetSpec.Format.CSV) {
+				Measurement measurement = Measurement.start();
+				try (ShardedEmployeeService store = ShardedEmployeeService.inProcess(shards)) {
+					String outcome = loadCsvSharded(store, input);
+					measurement.stop();
+					System.out.println("Wynik (" + shards + " shardów): " + outcome);
+					System.out.println(measurement.report(spec.getRows(), store.count(), Files.size(input)));
+				}
+				return;
+			}
+
+			Measurement measurement = Measurement.start();
+			EmployeeService employeeService = new EmployeeService(storageMode);
+			String outcome = spec.getFormat() == DatasetSpec.Format.CSV ? loadCsv(employeeService, input)
+																		 : loadApi(employeeService, input);
+			measurement.stop();
+
+			long stored = employeeService.count();
+			System.out.println("Wynik (" + storageMode + "): " + outcome);
+			System.out.println(measurement.report(spec.getRows(), stored, Files.size(input)));
+		} finally {
+			if (generated && !flags.contains("--keep")) { Files.deleteIfExists(input); }
+		}
+	}
+
+	// Flagi bez wartości należą tylko do harnessu - DatasetSpec przyjmuje wyłącznie --klucz=wartość
+	static String[] specArgs(String... args) {
+		return Arrays.stream(args).filter(arg -> !arg.equals("--keep")).toArray(String[]::new);
+	}
+
+	private static String loadCsv(EmployeeService employeeService, Path input) {
+		ImportSummary summary = new ImportService(employeeService).importFromCsv(input);
+		return "imported=" + summary.getImportedCount() + ", errors=" + summary.getErrors().size();
+	}
+
+	// Parsowanie jest jednowątkowe, zapis partii idzie do wszystkich shardów równolegle
+	private static String loadCsvSharded(ShardedEmployeeService store, Path input) {
+		ImportSummary summary = new ImportSummary();
+		List<Employee> parsed = new ImportService(new EmployeeService()).parseCsv(input, summary);
+		// addEmployees zatrzymuje partię na pierwszym duplikacie, więc duplikaty odsiewamy wcześniej
+		Set<String> seen = new HashSet<>();
+		List<Employee> unique = parsed.stream().filter(employee -> seen.add(employee.getEmail())).toList();
+		for (int from = 0; from < unique.size(); from += 100_000) {
+			store.addEmployees(unique.subList(from, Math.min(unique.size(), from + 100_000)));
+		}
+		return "parsed=" + summary.getImportedCount() + ", errors=" + summary.getErrors().size() +
+		  ", duplicates=" + (parsed.size() - unique.size());
+	}
+
+	// Plik JSON serwowany lokalnie, żeby przejść pełną ścieżkę HttpClient -> parsowanie -> scalanie
+	private static String loadApi(EmployeeService employeeService, Path input) throws Exception {
+		long bytes = Files.size(input);
+		if (bytes > MAX_API_BODY_BYTES) {
+			throw new IllegalArgumentException(
+			  "JSON input of " + bytes + " bytes exceeds the " + MAX_API_BODY_BYTES +
+			  " byte response limit of ApiService; use CSV for larger datasets");
+		}
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/users", exchange -> {
+			exchange.sendResponseHeaders(200, bytes);
+			try (OutputStream out = exchange.getResponseBody()) { Files.copy(input, out); }
+		});
+		server.start();
+		try {
+			ApiClientSettings settings = ApiClientSettings.builder()
+										   .initialTimeout(Duration.ofMinutes(30))
+										   .maxTimeout(Duration.ofMinutes(30))
+										   .hedgingEnabled(false)
+										   .maxRetries(0)
+										   .build();
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/users";
+			try (ApiService apiService = new ApiService(HttpClient.newHttpClient(), new Gson(), url, settings)) {
+				SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+				sources.put("API", apiService::fetchEmployeesFromApi);
+				SourceLoadResult result = new SourceLoader(employeeService).loadAll(sources).get(0);
+				return result.toString();
+			}
+		} finally { server.stop(0); }
+	}
+
+	private static final class Measurement {
+		private final long startNanos;
+		private final long gcCountBefore;
+		private final long gcTimeBefore;
+		private long elapsedNanos;
+		private long gcCount;
+		private long gcTimeMillis;
+		private long peakHeapBytes;
+		private long liveHeapBytes;
+		private long directBytes;
+		private long mappedBytes;
+
+		private Measurement(long startNanos, long gcCountBefore, long gcTimeBefore) {
+			this.startNanos = startNanos;
+			this.gcCountBefore = gcCountBefore;
+			this.gcTimeBefore = gcTimeBefore;
+		}
+
+		static Measurement start() {
+			System.gc();
+			heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+			return new Measurement(System.nanoTime(), totalGcCount(), totalGcTimeMillis());
+		}
+
+		void stop() {
+			elapsedNanos = System.nanoTime() - startNanos;
+			gcCount = totalGcCount() - gcCountBefore;
+			gcTimeMillis = totalGcTimeMillis() - gcTimeBefore;
+			// Suma szczytów poszczególnych pul - górne oszacowanie szczytu całej sterty
+			peakHeapBytes = heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+			// Po pełnym GC zostaje to, co magazyn faktycznie przytrzymuje; ten GC nie wchodzi do gcTime
+			System.gc();
+			liveHeapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+			directBytes = bufferPoolBytes("direct");
+			mappedBytes = bufferPoolBytes("mapped");
+		}
+
+		String report(long rows, long stored, long inputBytes) {
+			double seconds = elapsedNanos / 1e9;
+			return String.format("rows=%d, stored=%d, input=%.1f MB, time=%.2f s, throughput=%.0f rows/s, %.1f MB/s, " +
+								   "peakHeap=%.1f MB, liveHeap=%.1f MB, direct=%.1f MB, mapped=%.1f MB, " +
+								   "gcCount=%d, gcTime=%d ms (%.1f%% czasu)",
+								 rows,
+								 stored,
+								 inputBytes / 1e6,
+								 seconds,
+								 rows / seconds,
+								 inputBytes / 1e6 / seconds,
+								 peakHeapBytes / 1e6,
+								 liveHeapBytes / 1e6,
+								 directBytes / 1e6,
+								 mappedBytes / 1e6,
+								 gcCount,
+								 gcTimeMillis,
+								 100.0 * gcTimeMillis / Math.max(1, elapsedNanos / 1_000_000));
+		}
+
+		private static long bufferPoolBytes(String name) {
+			return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)
+			  .stream()
+			  .filter(pool -> pool.getName().equals(name))
+			  .mapToLong(BufferPoolMXBean::getMemoryUsed)
+			  .sum();
+		}
+
+		private static List<MemoryPoolMXBean> heapPools() {
+			return ManagementFactory.getMemoryPoolMXBeans()
+			  .stream()
+			  .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+			  .toList();
+		}
+
+		private static long totalGcCount() {
+			return ManagementFactory.getGarbageCollectorMXBeans()
+			  .stream()
+			  .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+			  .filter(count -> count > 0)
+			  .sum();
+		}
+
+		private static long totalGcTimeMillis() {
+			return ManagementFactory.getGarbageCollectorMXBeans()
+			  .stream()
+			  .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+			  .filter(time -> time > 0)
+			  .sum();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package diagnostics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.concurrent.Callable;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Employee;
+import model.ImportSummary;
+import model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.EmployeeService;
+import service.ImportService;
+import service.SourceLoader;
+
+class IngestionEventsTest {
+
+	private static final String CSV = "firstName,lastName,email,company,position,salary\n"
+									  + "Jan,Kowalski,jan@firma.pl,Firma,PROGRAMISTA,8500\n"
+									  + "Anna,Nowak,anna@firma.pl,Firma,MANAGER,13000\n"
+									  + "zbyt,malo,kolumn\n"
+									  + "Piotr,Zieliński,piotr@firma.pl,Firma,NIEZNANE,9000\n"
+									  + "Jan,Kowalski,jan@firma.pl,Firma,PROGRAMISTA,8500\n";
+
+	@TempDir Path tempDir;
+
+	@Test
+	void importFromCsv_ShouldEmitParseValidateAndInsertEvents() throws IOException {
+		Path csvFile = tempDir.resolve("employees.csv");
+		Files.writeString(csvFile, CSV);
+		ImportService importService = new ImportService(new EmployeeService());
+
+		List<RecordedEvent> events = record(() -> importService.importFromCsv(csvFile));
+
+		RecordedEvent parse = single(events, "zadanie1.ParseBatch");
+		assertEquals("csv", parse.getString("source"));
+		assertEquals(5, parse.getInt("rows"));
+		assertEquals(1, parse.getInt("errors"));
+		long expectedBytes = CSV.substring(CSV.indexOf('\n') + 1).getBytes(StandardCharsets.UTF_8).length;
+		assertEquals(expectedBytes, parse.getLong("bytes"));
+
+		RecordedEvent validate = single(events, "zadanie1.ValidateBatch");
+		assertEquals(4, validate.getInt("rows"));
+		assertEquals(1, validate.getInt("errors"));
+
+		RecordedEvent insert = single(events, "zadanie1.InsertBatch");
+		assertEquals(3, insert.getInt("rows"));
+		assertEquals(1, insert.getInt("rejected"));
+	}
+
+	@Test
+	void parseCsv_ShouldNotEmitInsertEvent() throws IOException {
+		Path csvFile = tempDir.resolve("employees.csv");
+		Files.writeString(csvFile, CSV);
+		ImportService importService = new ImportService(new EmployeeService());
+
+		List<RecordedEvent> events = record(() -> importService.parseCsv(csvFile, new ImportSummary()));
+
+		assertEquals(1, count(events, "zadanie1.ParseBatch"));
+		assertEquals(0, count(events, "zadanie1.InsertBatch"));
+	}
+
+	@Test
+	void importFromCsv_ShouldReportErrorsInLineOrder() throws IOException {
+		Path csvFile = tempDir.resolve("employees.csv");
+		Files.writeString(csvFile, CSV);
+		ImportService importService = new ImportService(new EmployeeService());
+
+		ImportSummary summary = importService.importFromCsv(csvFile);
+
+		assertEquals(2, summary.getImportedCount());
+		assertEquals(3, summary.getErrors().size());
+		assertTrue(summary.getErrors().get(0).startsWith("Line 4"));
+		assertTrue(summary.getErrors().get(1).startsWith("Line 5"));
+		assertTrue(summary.getErrors().get(2).startsWith("Line 6"));
+	}
+
+	@Test
+	void loadAll_ShouldEmitInsertEventPerSource() {
+		EmployeeService employeeService = new EmployeeService();
+		SourceLoader sourceLoader = new SourceLoader(employeeService);
+		Employee jan = new Employee("Jan", "Kowalski", "jan@firma.pl", "Firma", Position.PROGRAMISTA);
+		Employee anna = new Employee("Anna", "Nowak", "anna@firma.pl", "Firma", Position.MANAGER);
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		sources.put("First", () -> List.of(jan));
+		sources.put("Second", () -> List.of(jan, anna));
+
+		List<RecordedEvent> events = record(() -> sourceLoader.loadAll(sources));
+
+		List<RecordedEvent> inserts = events.stream()
+										.filter(e -> e.getEventType().getName().equals("zadanie1.InsertBatch"))
+										.toList();
+		assertEquals(2, inserts.size());
+		RecordedEvent second =
+		  inserts.stream().filter(e -> e.getString("source").equals("Second")).findFirst().orElseThrow();
+		assertEquals(2, second.getInt("rows"));
+		assertEquals(1, second.getInt("rejected"));
+	}
+
+	private List<RecordedEvent> record(Runnable action) {
+		try (Recording recording = new Recording()) {
+			recording.enable(ParseBatchEvent.class).withoutThreshold();
+			recording.enable(ValidateBatchEvent.class).withoutThreshold();
+			recording.enable(InsertBatchEvent.class).withoutThreshold();
+			recording.start();
+			action.run();
+			recording.stop();
+
+			Path dump = tempDir.resolve("recording-" + recording.getId() + ".jfr");
+			recording.dump(dump);
+			return RecordingFile.readAllEvents(dump);
+		} catch (IOException e) { throw new IllegalStateException(e); }
+	}
+
+	private static RecordedEvent single(List<RecordedEvent> events, String name) {
+		assertEquals(1, count(events, name), "expected exactly one " + name + " event");
+		return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst().orElseThrow();
+	}
+
+	private static long count(List<RecordedEvent> events, String name) {
+		return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package diagnostics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class Utf8Test {
+
+	@Test
+	void length_ShouldMatchEncodedSize_ForEveryWidthAndLoneSurrogates() {
+		String[] texts = {"", "Kowalski", "Zieliński", "żółć €", "emoji 😀!", "sam \uD800 i \uDC00", "\uD83D"};
+		for (String text : texts) {
+			assertEquals(text.getBytes(StandardCharsets.UTF_8).length, Utf8.length(text), text);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.EmployeeService;
+
+class MetricsRegistryTest {
+
+	@TempDir Path tempDir;
+
+	@Test
+	void timer_ShouldApproximatePercentilesWithinBucketError() {
+		SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+		Timer timer = registry.timer("test");
+
+		for (long micros = 1; micros <= 1_000; micros++) { timer.record(micros * 1_000); }
+
+		TimerSnapshot snapshot = timer.snapshot();
+		assertEquals(1_000, snapshot.getCount());
+		assertEquals(1_000_000, snapshot.getMaxNanos());
+		assertEquals(500_000, snapshot.getP50Nanos(), 500_000 * 0.125);
+		assertEquals(990_000, snapshot.getP99Nanos(), 990_000 * 0.125);
+		assertEquals(500_500, snapshot.getMeanNanos());
+	}
+
+	@Test
+	void dump_ShouldContainTimersCountersAndGauges() {
+		SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+		registry.timer("latency").record(1_000);
+		registry.counter("rows").add(42);
+		registry.gauge("size", () -> 7);
+
+		String dump = registry.dump();
+
+		assertTrue(dump.contains("timer latency count=1"));
+		assertTrue(dump.contains("counter rows 42"));
+		assertTrue(dump.contains("gauge size 7"));
+	}
+
+	@Test
+	void noopRegistry_ShouldRecordNothing() {
+		Timer timer = NoopMetricsRegistry.INSTANCE.timer("test");
+		timer.stop(timer.start());
+		NoopMetricsRegistry.INSTANCE.counter("rows").add(5);
+
+		assertFalse(NoopMetricsRegistry.INSTANCE.isEnabled());
+		assertEquals(0, timer.snapshot().getCount());
+		assertEquals(0, NoopMetricsRegistry.INSTANCE.counter("rows").get());
+		assertEquals("", NoopMetricsRegistry.INSTANCE.dump());
+	}
+
+	@Test
+	void employeeService_ShouldRecordAddAndQueryLatencies() {
+		SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+		EmployeeService employeeService = new EmployeeService(registry);
+
+		employeeService.addEmployee(new Employee(
+		  "John", "Doe", "john@example.com", "Company1", Position.MANAGER, BigDecimal.valueOf(15000)));
+		employeeService.findByCompany("Company1");
+		employeeService.getCompanyStatistics();
+
+		assertEquals(1, registry.timer("employees.add").snapshot().getCount());
+		assertEquals(1, registry.timer("employees.query.findByCompany").snapshot().getCount());
+		assertEquals(1, registry.timer("employees.query.getCompanyStatistics").snapshot().getCount());
+		assertTrue(registry.dump().contains("gauge employees.store.size 1"));
+	}
+
+	@Test
+	void reporter_ShouldWriteDumpToFileOnClose() throws IOException {
+		SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+		registry.counter("rows").add(3);
+		Path dumpFile = tempDir.resolve("metrics.txt");
+
+		new MetricsReporter(registry, dumpFile, Duration.ofHours(1)).close();
+
+		assertTrue(Files.readString(dumpFile).contains("counter rows 3"));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class StringPoolTest {
+
+	@Test
+	void intern_ShouldReturnCanonicalInstance_ForEqualStrings() {
+		StringPool pool = new StringPool(16);
+		String first = pool.intern(new String("Firma1"));
+
+		String second = pool.intern(new String("Firma1"));
+		String fromLine = pool.intern("Jan,Firma1,PROGRAMISTA", 4, 10);
+
+		assertSame(first, second);
+		assertSame(first, fromLine);
+		assertNull(pool.intern(null));
+	}
+
+	@Test
+	void intern_ShouldStayBounded_WhenValuesCollide() {
+		StringPool pool = new StringPool(4);
+
+		for (int i = 0; i < 1_000; i++) { assertEquals("Firma" + i, pool.intern("Firma" + i)); }
+		String latest = pool.intern("Firma999");
+
+		assertSame(latest, pool.intern(new String("Firma999")));
+		assertEquals(4, pool.capacity());
+	}
+
+	@Test
+	void constructor_ShouldRejectCapacityThatIsNotPowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+		assertThrows(IllegalArgumentException.class, () -> new StringPool(100));
+	}
+
+	@Test
+	void employee_ShouldShareLowCardinalityFields_AndKeepNormalizedEmail() {
+		String email = "jan.kowalski@example.com";
+		Employee first = new Employee(
+		  new String("Jan"), "Kowalski", email, new String("Firma1"), Position.PROGRAMISTA, new BigDecimal("9000"));
+		Employee second = new Employee(
+		  "Jan", new String("Kowalski"), "JAN@example.com", " Firma1 ", Position.PROGRAMISTA, new BigDecimal("9000"));
+
+		assertSame(first.getCompany(), second.getCompany());
+		assertSame(first.getFirstName(), second.getFirstName());
+		assertNotSame(first.getLastName(), second.getLastName());
+		assertEquals("Kowalski", second.getLastName());
+		assertSame(email, first.getEmail());
+		assertEquals("jan@example.com", second.getEmail());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package scale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import model.ImportSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.EmployeeService;
+import service.ImportService;
+
+class DatasetGeneratorTest {
+	private static final int ROWS = 20_000;
+
+	@TempDir Path tempDir;
+
+	@Test
+	void generate_ShouldWriteRequestedRows_WithMalformedAndDuplicateRates() throws IOException {
+		DatasetSpec spec = DatasetSpec.fromArgs("--rows=20K", "--duplicate-rate=0.05", "--malformed-rate=0.02");
+		Path csv = tempDir.resolve("employees.csv");
+
+		DatasetGenerator.Stats stats = new DatasetGenerator(spec).generate(csv);
+
+		assertEquals(ROWS, stats.getRows());
+		assertEquals(ROWS + 1, Files.readAllLines(csv).size());
+		// Oczekiwane 400 i 1000 wierszy; tolerancja ok. 4 odchyleń standardowych
+		assertEquals(0.02 * ROWS, stats.getMalformed(), 80);
+		assertEquals(0.05 * ROWS, stats.getDuplicates(), 130);
+
+		// Każdy wiersz albo trafia do magazynu, albo jest błędem (uszkodzony lub powtórzony email)
+		ImportSummary summary = new ImportService(new EmployeeService()).importFromCsv(csv);
+		assertEquals(ROWS, summary.getImportedCount() + summary.getErrors().size());
+		assertTrue(summary.getErrors().size() >= stats.getMalformed());
+	}
+
+	@Test
+	void generate_ShouldWriteValidJsonWithoutMalformedRows() throws IOException {
+		DatasetSpec spec = DatasetSpec.fromArgs("--rows=2K", "--format=json", "--malformed-rate=0.5");
+		Path json = tempDir.resolve("employees.json");
+
+		DatasetGenerator.Stats stats = new DatasetGenerator(spec).generate(json);
+
+		assertEquals(0, stats.getMalformed());
+		assertEquals(2_000, new Gson().fromJson(Files.readString(json), JsonArray.class).size());
+	}
+
+	@Test
+	void generate_ShouldBeDeterministicForSeed() throws IOException {
+		List<String> first = generateLines("--rows=1K", "--seed=3");
+		List<String> second = generateLines("--rows=1K", "--seed=3");
+		List<String> other = generateLines("--rows=1K", "--seed=4");
+
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+	}
+
+	private List<String> generateLines(String... args) throws IOException {
+		Path file = Files.createTempFile(tempDir, "dataset", ".csv");
+		new DatasetGenerator(DatasetSpec.fromArgs(args)).generate(file);
+		return Files.readAllLines(file);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package scale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.Map;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+class DatasetSpecTest {
+
+	@Test
+	void fromArgs_ShouldParseEveryKey() {
+		DatasetSpec spec = DatasetSpec.fromArgs("--rows=5M",
+												"--companies=2K",
+												"--zipf=1.3",
+												"--duplicate-rate=0.05",
+												"--malformed-rate=0",
+												"--seed=7",
+												"--format=json",
+												"--output=out.json",
+												"--positions=PREZES:1,programista:3");
+
+		assertEquals(5_000_000, spec.getRows());
+		assertEquals(2_000, spec.getCompanies());
+		assertEquals(1.3, spec.getZipfExponent());
+		assertEquals(0.05, spec.getDuplicateRate());
+		assertEquals(0.0, spec.getMalformedRate());
+		assertEquals(7, spec.getSeed());
+		assertEquals(DatasetSpec.Format.JSON, spec.getFormat());
+		assertEquals(Path.of("out.json"), spec.getOutput());
+		assertEquals(Map.of(Position.PREZES, 1.0, Position.PROGRAMISTA, 3.0), spec.getPositionWeights());
+	}
+
+	@Test
+	void fromArgs_ShouldIgnoreHarnessKeys_AndRejectBareFlags() {
+		DatasetSpec spec = DatasetSpec.fromArgs("--rows=10K", "--shards=4", "--storage=spill", "--input=data.csv");
+
+		assertEquals(10_000, spec.getRows());
+		assertThrows(IllegalArgumentException.class, () -> DatasetSpec.fromArgs("--rows=10K", "--keep"));
+	}
+
+	@Test
+	void fromArgs_ShouldRejectInvalidValues() {
+		assertThrows(IllegalArgumentException.class, () -> DatasetSpec.fromArgs("--rows=0"));
+		assertThrows(IllegalArgumentException.class, () -> DatasetSpec.fromArgs("--duplicate-rate=1.5"));
+		assertThrows(IllegalArgumentException.class, () -> DatasetSpec.fromArgs("--format=xml"));
+	}
+
+	@Test
+	void specArgs_ShouldDropHarnessFlags_SoKeepIsAccepted() {
+		String[] args = { "--rows=1K", "--keep", "--storage=off-heap" };
+
+		DatasetSpec spec = DatasetSpec.fromArgs(ScaleHarness.specArgs(args));
+
+		assertEquals(1_000, spec.getRows());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.ApiClientSettings;
+import diagnostics.ApiFetchEvent;
+import exception.ApiException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntUnaryOperator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ApiServiceResilienceTest {
+
+	private static final String USERS_JSON = """
+        [
+          {
+            "id": 1,
+            "name": "John Doe",
+            "email": "john@example.com",
+            "company": {
+              "name": "Test Company"
+            }
+          }
+        ]
+        """;
+
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+	private HttpClient httpClient;
+	private final AtomicInteger requestCount = new AtomicInteger();
+	// Zwraca opóźnienie w ms dla n-tego żądania (liczone od 1); ujemna wartość oznacza błąd 503
+	private volatile IntUnaryOperator behaviour = n -> 0;
+
+	@TempDir Path tempDir;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.createContext("/users", this::handle);
+		server.start();
+		httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldRetryServerErrors() throws ApiException {
+		behaviour = n -> n <= 2 ? -1 : 0;
+		ApiService apiService =
+		  createService(ApiClientSettings.builder().maxRetries(2).backoffBase(Duration.ofMillis(10)));
+
+		List<Employee> employees = apiService.fetchEmployeesFromApi();
+
+		assertEquals(1, employees.size());
+		assertEquals(3, requestCount.get());
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldTimeOutStalledRequest() {
+		behaviour = n -> 3_000;
+		ApiService apiService =
+		  createService(ApiClientSettings.builder().initialTimeout(Duration.ofMillis(200)).maxRetries(0));
+
+		long start = System.nanoTime();
+		ApiException exception = assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		assertTrue(exception.getMessage().contains("Failed to fetch data from API"));
+		assertTrue(elapsedMs < 2_000, "request was not cut off by the timeout: " + elapsedMs + " ms");
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldWidenTimeout_AfterTimedOutRequests() throws Exception {
+		behaviour = n -> n == 1 ? 0 : 200;
+		ApiService apiService = createService(ApiClientSettings.builder()
+												.minLatencySamples(1)
+												.minTimeout(Duration.ofMillis(100))
+												.timeoutMultiplier(3.0)
+												.hedgingEnabled(false)
+												.maxRetries(0));
+		apiService.fetchEmployeesFromApi();
+
+		// Timeout 100 ms; przekroczone żądanie trafia do okna jako 100 ms, więc następny timeout to 300 ms
+		assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		// Anulowane żądanie zapisuje czas w swoim wątku, już po wyjątku w wywołującym
+		Thread.sleep(100);
+		List<Employee> employees = apiService.fetchEmployeesFromApi();
+
+		assertEquals(1, employees.size());
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldHedgeRequestSlowerThanP95() throws ApiException {
+		int warmUpRequests = 20;
+		behaviour = n -> n == warmUpRequests + 1 ? 3_000 : 0;
+		ApiService apiService = createService(ApiClientSettings.builder()
+												.minLatencySamples(warmUpRequests)
+												.minTimeout(Duration.ofSeconds(2))
+												.maxTimeout(Duration.ofSeconds(5))
+												.maxRetries(0));
+		for (int i = 0; i < warmUpRequests; i++) { apiService.fetchEmployeesFromApi(); }
+
+		long start = System.nanoTime();
+		List<Employee> employees = apiService.fetchEmployeesFromApi();
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		assertEquals(1, employees.size());
+		assertEquals(warmUpRequests + 2, requestCount.get());
+		assertTrue(elapsedMs < 1_500, "hedged request did not win: " + elapsedMs + " ms");
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldSkipEndpointWhenCircuitIsOpen() {
+		behaviour = n -> -1;
+		ApiService apiService = createService(ApiClientSettings.builder()
+												.maxRetries(1)
+												.backoffBase(Duration.ofMillis(1))
+												.circuitFailureThreshold(2)
+												.circuitOpenDuration(Duration.ofMinutes(1)));
+
+		ApiException first = assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		assertTrue(first.getMessage().contains("API returned status code: 503"));
+		assertEquals(2, requestCount.get());
+
+		ApiException second = assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		assertTrue(second.getMessage().contains("Circuit breaker open"));
+		assertEquals(2, requestCount.get());
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldReopenCircuit_WhenHalfOpenTrialIsInterrupted() throws Exception {
+		behaviour = n -> n == 1 ? -1 : n == 2 ? 3_000 : 0;
+		ApiService apiService = createService(ApiClientSettings.builder()
+												.maxRetries(0)
+												.circuitFailureThreshold(1)
+												.circuitOpenDuration(Duration.ofMillis(50)));
+		assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		Thread.sleep(60);
+
+		// Próba HALF_OPEN utyka na serwerze i zostaje przerwana
+		AtomicReference<Exception> trialError = new AtomicReference<>();
+		Thread trial = new Thread(() -> {
+			try {
+				apiService.fetchEmployeesFromApi();
+			} catch (ApiException e) { trialError.set(e); }
+		});
+		trial.start();
+		while (requestCount.get() < 2) { Thread.sleep(5); }
+		trial.interrupt();
+		trial.join(5_000);
+		assertNotNull(trialError.get());
+
+		Thread.sleep(60);
+		List<Employee> employees = apiService.fetchEmployeesFromApi();
+
+		assertEquals(1, employees.size());
+	}
+
+	@Test
+	void close_ShouldRejectLaterFetches() {
+		ApiService apiService = createService(ApiClientSettings.builder());
+
+		apiService.close();
+
+		ApiException exception = assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		assertTrue(exception.getMessage().contains("closed"));
+		assertEquals(0, requestCount.get());
+	}
+
+	@Test
+	void fetchEmployeesFromApi_ShouldCommitFetchEvent_ForAnsweredAndTimedOutRequests() throws Exception {
+		ApiService apiService =
+		  createService(ApiClientSettings.builder().initialTimeout(Duration.ofMillis(500)).maxRetries(0));
+		// Rozgrzewka z domyślnym timeoutem - pierwsze żądanie w JVM ładuje klasy klienta HTTP
+		createService(ApiClientSettings.builder()).fetchEmployeesFromApi();
+
+		List<RecordedEvent> events = recordFetches(() -> {
+			apiService.fetchEmployeesFromApi();
+			behaviour = n -> 3_000;
+			assertThrows(ApiException.class, apiService::fetchEmployeesFromApi);
+		});
+
+		assertEquals(2, events.size());
+		RecordedEvent answered = events.get(0);
+		assertEquals("ok", answered.getString("outcome"));
+		assertEquals(200, answered.getInt("statusCode"));
+		assertEquals(USERS_JSON.getBytes(StandardCharsets.UTF_8).length, answered.getLong("bytes"));
+		RecordedEvent timedOut = events.get(1);
+		// Zależnie od tego, kto pierwszy zauważy termin: HttpClient albo sendHedged
+		assertTrue(List.of("timeout", "cancelled").contains(timedOut.getString("outcome")), timedOut.toString());
+		assertEquals(0, timedOut.getInt("statusCode"));
+	}
+
+	private interface Fetches {
+		void run() throws Exception;
+	}
+
+	private List<RecordedEvent> recordFetches(Fetches fetches) throws Exception {
+		try (Recording recording = new Recording()) {
+			recording.enable(ApiFetchEvent.class).withoutThreshold();
+			recording.start();
+			fetches.run();
+			// Anulowane żądanie kończy się w swoim wątku, już po wyjątku w wywołującym
+			Thread.sleep(200);
+			recording.stop();
+
+			Path dump = tempDir.resolve("fetches.jfr");
+			recording.dump(dump);
+			return RecordingFile.readAllEvents(dump)
+			  .stream()
+			  .filter(event -> event.getEventType().getName().equals("zadanie1.ApiFetch"))
+			  .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+			  .toList();
+		}
+	}
+
+	private ApiService createService(ApiClientSettings.Builder settings) {
+		String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/users";
+		return new ApiService(httpClient, new Gson(), url, settings.build());
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int delayMs = behaviour.applyAsInt(requestCount.incrementAndGet());
+		try {
+			if (delayMs > 0) { Thread.sleep(delayMs); }
+		} catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+
+		byte[] body = delayMs < 0 ? new byte[0] : USERS_JSON.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(delayMs < 0 ? 503 : 200, body.length == 0 ? -1 : body.length);
+		try (OutputStream out = exchange.getResponseBody()) { out.write(body); }
+	}
+}
\ No newline at end of file
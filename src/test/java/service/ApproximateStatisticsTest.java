@@ -0,0 +1,139 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.ApproximateStatistics;
+import model.CompanyStatistics;
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApproximateStatisticsTest {
+
+	private static final int EMPLOYEES = 60_000;
+	private static final int COMPANIES = 300;
+	private static final double RANK_ERROR = 0.02;
+
+	private EmployeeService employeeService;
+
+	@BeforeEach
+	void setUp() {
+		employeeService = new EmployeeService();
+		Random random = new Random(5);
+		Position[] positions = Position.values();
+		for (int i = 0; i < EMPLOYEES; i++) {
+			// Kilka dużych firm (powyżej k szkicu) i wiele małych, w których szkic jest jeszcze dokładny
+			int company = random.nextInt(4) == 0 ? random.nextInt(3) : random.nextInt(COMPANIES);
+			Position position = positions[random.nextInt(positions.length)];
+			BigDecimal salary = position.getBaseSalary().add(BigDecimal.valueOf(random.nextInt(10_000)));
+			// Co siódmy wiersz to ta sama firma pisana wielkimi literami - osobna grupa w obu trybach
+			String name = (i % 7 == 0 ? "FIRMA" : "Firma") + company;
+			employeeService.addEmployee(
+			  new Employee("Imię", "Nazwisko", "e" + i + "@example.com", name, position, salary));
+		}
+	}
+
+	@Test
+	void getApproximateCompanyStatistics_ShouldMatchExactCountsAndAverages() {
+		Map<String, CompanyStatistics> exact = employeeService.getCompanyStatistics();
+		Map<String, ApproximateStatistics> approximate = employeeService.getApproximateCompanyStatistics();
+
+		assertEquals(exact.keySet(), approximate.keySet());
+		exact.forEach((company, stats) -> {
+			ApproximateStatistics estimate = approximate.get(company);
+			assertEquals(stats.getEmployeeCount(), estimate.getEmployeeCount(), company);
+			assertEquals(stats.getAverageSalary(), estimate.getAverageSalary(), 0.01, company);
+		});
+	}
+
+	@Test
+	void getApproximateCompanyStatistics_ShouldKeepMedianWithinRankError() {
+		Map<String, ApproximateStatistics> approximate = employeeService.getApproximateCompanyStatistics();
+
+		approximate.forEach((company, estimate) -> {
+			// findBySalaryRange ignoruje wielkość liter, a grupy szkiców są po dokładnej nazwie
+			List<Employee> sorted = employeeService.findBySalaryRange(company, null, null)
+									  .stream()
+									  .filter(employee -> employee.getCompany().equals(company))
+									  .toList();
+			assertRankWithin(sorted, estimate.getMedianSalary(), 0.5, company);
+			assertRankWithin(sorted, estimate.getP90Salary(), 0.9, company);
+			assertEquals(sorted.get(sorted.size() - 1).getSalary().doubleValue(), estimate.getMaxSalary(), company);
+		});
+	}
+
+	@Test
+	void getApproximatePositionStatistics_ShouldKeepQuantilesWithinRankError() {
+		Map<Position, ApproximateStatistics> approximate = employeeService.getApproximatePositionStatistics();
+
+		assertEquals(employeeService.countByPosition().keySet(), approximate.keySet());
+		approximate.forEach((position, estimate) -> {
+			List<Employee> sorted = employeeService.findAll()
+									  .stream()
+									  .filter(e -> e.getPosition() == position)
+									  .sorted(Comparator.comparing(Employee::getSalary))
+									  .toList();
+			assertEquals(sorted.size(), estimate.getEmployeeCount());
+			assertRankWithin(sorted, estimate.getMedianSalary(), 0.5, position.name());
+			assertRankWithin(sorted, estimate.getP99Salary(), 0.99, position.name());
+		});
+	}
+
+	@Test
+	void approximateSalaryQuantile_ShouldMatchExactPercentileWithinRankError() {
+		List<Employee> sorted = employeeService.findBySalaryRange(null, null);
+
+		for (double q : new double[] { 0.1, 0.25, 0.5, 0.75, 0.9, 0.99 }) {
+			assertRankWithin(sorted, employeeService.approximateSalaryQuantile(q).orElseThrow(), q, "q=" + q);
+		}
+		double exactAverage = employeeService.calculateAverageSalary().orElseThrow().doubleValue();
+		assertEquals(exactAverage, employeeService.approximateAverageSalary().orElseThrow(), 0.01);
+	}
+
+	@Test
+	void estimateDistinctCompanies_ShouldBeCloseToExactCount() {
+		long exact = employeeService.getCompanyStatistics().size();
+
+		assertEquals(exact, employeeService.estimateDistinctCompanies(), exact * 0.025);
+	}
+
+	@Test
+	void approximateSalaryQuantile_ShouldIgnoreCase_LikeFindByCompany() {
+		for (double q : new double[] { 0.1, 0.5, 0.9 }) {
+			List<Employee> sorted = employeeService.findBySalaryRange("firma1", null, null);
+			assertRankWithin(sorted, employeeService.approximateSalaryQuantile("firma1", q).orElseThrow(), q, "q=" + q);
+		}
+		double highest = employeeService.findByCompany("FiRmA2")
+						   .stream()
+						   .mapToDouble(employee -> employee.getSalary().doubleValue())
+						   .max()
+						   .orElseThrow();
+		assertEquals(highest, employeeService.approximateSalaryQuantile("FiRmA2", 1.0).orElseThrow());
+	}
+
+	@Test
+	void approximateQueries_ShouldBeEmpty_WhenNoEmployees() {
+		EmployeeService empty = new EmployeeService();
+
+		assertTrue(empty.approximateAverageSalary().isEmpty());
+		assertTrue(empty.approximateSalaryQuantile(0.5).isEmpty());
+		assertTrue(empty.approximateSalaryQuantile("Firma1", 0.5).isEmpty());
+		assertEquals(0, empty.estimateDistinctCompanies());
+	}
+
+	// Oszacowanie musi leżeć w przedziale rang [q - eps, q + eps] dokładnie posortowanej grupy
+	private static void assertRankWithin(List<Employee> sorted, double estimate, double q, String label) {
+		int n = sorted.size();
+		long below = sorted.stream().filter(e -> e.getSalary().doubleValue() < estimate).count();
+		long atMost = sorted.stream().filter(e -> e.getSalary().doubleValue() <= estimate).count();
+		double target = q * n;
+		double distance = target < below ? below - target : target > atMost ? target - atMost : 0;
+		assertTrue(distance <= Math.max(1, RANK_ERROR * n), label + " q=" + q + " rank distance " + distance);
+	}
+}
\ No newline at end of file
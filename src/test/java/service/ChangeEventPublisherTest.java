@@ -0,0 +1,243 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import config.ChangeStreamSettings;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import metrics.SimpleMetricsRegistry;
+import model.ChangeEvent;
+import model.CompanyStatistics;
+import model.Employee;
+import model.OverflowPolicy;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+class ChangeEventPublisherTest {
+
+	@Test
+	void subscribe_ShouldDeliverEveryInsertInOrderInBatches_WhenBlocking() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		CollectingSubscriber subscriber = new CollectingSubscriber(true);
+		employeeService.changes().subscribe(subscriber, settings(OverflowPolicy.BLOCK, 8, 5));
+
+		for (int i = 0; i < 2_000; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 7)); }
+		employeeService.changes().close();
+
+		assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+		List<ChangeEvent> events = subscriber.events();
+		assertEquals(2_000, events.size());
+		for (int i = 0; i < events.size(); i++) {
+			assertEquals(ChangeEvent.Type.INSERT, events.get(i).getType());
+			assertEquals(i + 1, events.get(i).getVersion());
+			assertEquals("employee" + i + "@example.com", events.get(i).getEmployee().getEmail());
+		}
+		assertTrue(subscriber.batches.stream().allMatch(batch -> batch.size() <= 5));
+		assertEquals(0, employeeService.changes().getSubscriberCount());
+	}
+
+	@Test
+	void subscribe_ShouldDropOverflow_WhenSubscriberIsNotReading() throws Exception {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		EmployeeService employeeService = new EmployeeService(metrics);
+		CollectingSubscriber subscriber = new CollectingSubscriber(false);
+		employeeService.changes().subscribe(subscriber, settings(OverflowPolicy.DROP, 10, 100));
+
+		for (int i = 0; i < 500; i++) { employeeService.addEmployee(employee(i, "Firma")); }
+		subscriber.subscription.get().request(Long.MAX_VALUE);
+		employeeService.changes().close();
+
+		assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+		assertEquals(10, subscriber.events().size());
+		assertEquals(1, subscriber.events().get(0).getVersion());
+		assertEquals(490, metrics.counter("employees.changes.dropped").get());
+	}
+
+	@Test
+	void subscribe_ShouldKeepLatestCompanyState_WhenCoalescing() throws Exception {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		EmployeeService employeeService = new EmployeeService(metrics);
+		CollectingSubscriber subscriber = new CollectingSubscriber(false);
+		employeeService.changes().subscribe(subscriber, settings(OverflowPolicy.COALESCE, 5, 100));
+
+		for (int i = 0; i < 1_000; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 5)); }
+		subscriber.subscription.get().request(Long.MAX_VALUE);
+		employeeService.changes().close();
+
+		assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+		List<ChangeEvent> events = subscriber.events();
+		assertEquals(5, events.size());
+		assertEquals(1_000, events.stream().mapToInt(ChangeEvent::getChanges).sum());
+		assertTrue(events.stream().allMatch(event -> event.getType() == ChangeEvent.Type.UPDATE));
+		assertEquals(employeeService.getCompanyStatistics().toString(), statistics(events).toString());
+		assertEquals(995, metrics.counter("employees.changes.coalesced").get());
+	}
+
+	@Test
+	void subscribe_ShouldLetConsumerMaintainStatisticsIncrementally() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		CollectingSubscriber subscriber = new CollectingSubscriber(true);
+		employeeService.changes().subscribe(subscriber, settings(OverflowPolicy.COALESCE, 3, 2));
+
+		for (int i = 0; i < 3_000; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 11)); }
+		employeeService.changes().close();
+
+		assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+		assertEquals(3_000, subscriber.events().stream().mapToInt(ChangeEvent::getChanges).sum());
+		assertEquals(employeeService.getCompanyStatistics().toString(), statistics(subscriber.events()).toString());
+	}
+
+	@Test
+	void request_ShouldSignalError_WhenDemandIsNotPositive() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		CollectingSubscriber subscriber = new CollectingSubscriber(false);
+		employeeService.changes().subscribe(subscriber);
+
+		subscriber.subscription.get().request(0);
+		employeeService.addEmployee(employee(1, "Firma"));
+
+		assertTrue(subscriber.failed.await(5, TimeUnit.SECONDS));
+		assertTrue(subscriber.error.get() instanceof IllegalArgumentException);
+		assertEquals(0, employeeService.changes().getSubscriberCount());
+		assertTrue(subscriber.events().isEmpty());
+	}
+
+	@Test
+	void request_ShouldNotSignalErrorDuringOnNext_WhenCalledFromAnotherThread() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		CountDownLatch delivering = new CountDownLatch(1);
+		CountDownLatch failed = new CountDownLatch(1);
+		AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+		AtomicReference<String> overlap = new AtomicReference<>();
+		employeeService.changes().subscribe(new Flow.Subscriber<>() {
+			private volatile boolean inNext;
+
+			@Override
+			public void onSubscribe(Flow.Subscription s) {
+				subscription.set(s);
+				s.request(1);
+			}
+
+			@Override
+			public void onNext(List<ChangeEvent> batch) {
+				inNext = true;
+				delivering.countDown();
+				try {
+					Thread.sleep(200);
+				} catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+				inNext = false;
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				if (inNext) { overlap.set("onError while onNext was running"); }
+				failed.countDown();
+			}
+
+			@Override
+			public void onComplete() {}
+		});
+
+		employeeService.addEmployee(employee(1, "Firma"));
+		assertTrue(delivering.await(5, TimeUnit.SECONDS));
+		subscription.get().request(-1);
+
+		assertTrue(failed.await(5, TimeUnit.SECONDS));
+		assertNull(overlap.get());
+	}
+
+	@Test
+	void shutdown_ShouldCompleteSubscribers_AndStillDrainLaterRequests() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		CollectingSubscriber subscriber = new CollectingSubscriber(false);
+		employeeService.changes().subscribe(subscriber);
+		employeeService.addEmployee(employee(1, "Firma"));
+
+		employeeService.shutdown();
+		// Executor jest już zamknięty - reszta bufora i onComplete idą na wątku wywołującym request
+		subscriber.subscription.get().request(1);
+
+		assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(1, subscriber.events().size());
+		assertEquals(0, employeeService.changes().getSubscriberCount());
+	}
+
+	@Test
+	void build_ShouldRejectInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> ChangeStreamSettings.builder().bufferCapacity(0).build());
+		assertThrows(IllegalArgumentException.class, () -> ChangeStreamSettings.builder().maxBatchSize(0).build());
+		assertThrows(IllegalArgumentException.class, () -> ChangeStreamSettings.builder().overflowPolicy(null).build());
+	}
+
+	private static ChangeStreamSettings settings(OverflowPolicy policy, int capacity, int maxBatchSize) {
+		return ChangeStreamSettings.builder()
+		  .overflowPolicy(policy)
+		  .bufferCapacity(capacity)
+		  .maxBatchSize(maxBatchSize)
+		  .build();
+	}
+
+	// Ostatni stan firmy z każdego zdarzenia - tak jak utrzymywałby go panel albo pamięć podręczna
+	private static Map<String, CompanyStatistics> statistics(List<ChangeEvent> events) {
+		Map<String, CompanyStatistics> statistics = new HashMap<>();
+		events.forEach(event -> statistics.put(event.getCompany(), event.getCompanyStatistics()));
+		return statistics;
+	}
+
+	private static Employee employee(int i, String company) {
+		return new Employee("Imię" + i,
+							"Nazwisko" + i,
+							"employee" + i + "@example.com",
+							company,
+							Position.PROGRAMISTA,
+							Position.PROGRAMISTA.getBaseSalary().add(BigDecimal.valueOf(i % 3_000)));
+	}
+
+	private static final class CollectingSubscriber implements Flow.Subscriber<List<ChangeEvent>> {
+		private final boolean requestEagerly;
+		private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+		private final List<List<ChangeEvent>> batches = new CopyOnWriteArrayList<>();
+		private final AtomicReference<Throwable> error = new AtomicReference<>();
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private final CountDownLatch failed = new CountDownLatch(1);
+
+		CollectingSubscriber(boolean requestEagerly) { this.requestEagerly = requestEagerly; }
+
+		List<ChangeEvent> events() {
+			List<ChangeEvent> events = new ArrayList<>();
+			batches.forEach(events::addAll);
+			return events;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription.set(subscription);
+			if (requestEagerly) { subscription.request(1); }
+		}
+
+		@Override
+		public void onNext(List<ChangeEvent> batch) {
+			batches.add(batch);
+			if (requestEagerly) { subscription.get().request(1); }
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error.set(throwable);
+			failed.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+	}
+}
\ No newline at end of file
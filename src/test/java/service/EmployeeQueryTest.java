@@ -0,0 +1,203 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+import model.Employee;
+import model.EmployeeQuery;
+import model.EmployeeQuery.SortKey;
+import model.Position;
+import model.QueryPlan;
+import model.QueryPlan.AccessPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeQueryTest {
+
+	private static final String[] LAST_NAMES = {
+		"Kowalski", "Nowak", "Wiśniewski", "Wójcik", "Kowalczyk", "Zieliński"
+	};
+
+	private EmployeeService employeeService;
+
+	@BeforeEach
+	void setUp() {
+		employeeService = new EmployeeService();
+		Random random = new Random(42);
+		Position[] positions = Position.values();
+		for (int i = 0; i < 2_000; i++) {
+			// Firma0 jest duża, pozostałe firmy małe; prezesów jest niewielu
+			String company = i % 2 == 0 ? "Firma0" : "Firma" + (1 + i % 50);
+			Position position = i % 100 == 0 ? Position.PREZES : positions[1 + random.nextInt(positions.length - 1)];
+			BigDecimal salary = position.getBaseSalary().add(BigDecimal.valueOf(random.nextInt(5_000)));
+			String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i;
+			employeeService.addEmployee(
+			  new Employee("Imię" + i, lastName, "employee" + i + "@example.com", company, position, salary));
+		}
+	}
+
+	@Test
+	void explain_ShouldUseFullScan_WhenNoPredicates() {
+		QueryPlan plan = employeeService.explain(EmployeeQuery.builder().build());
+
+		assertEquals(AccessPath.FULL_SCAN, plan.getAccessPath());
+		assertEquals(2_000, plan.getEstimatedRows());
+	}
+
+	@Test
+	void explain_ShouldPickMostSelectiveExactIndex() {
+		QueryPlan smallCompany =
+		  employeeService.explain(EmployeeQuery.builder().company("firma7").position(Position.PROGRAMISTA).build());
+		QueryPlan rarePosition =
+		  employeeService.explain(EmployeeQuery.builder().company("Firma0").position(Position.PREZES).build());
+
+		assertEquals(AccessPath.COMPANY_INDEX, smallCompany.getAccessPath());
+		assertEquals(AccessPath.POSITION_INDEX, rarePosition.getAccessPath());
+		assertEquals(20, rarePosition.getEstimatedRows());
+	}
+
+	@Test
+	void explain_ShouldPickSalaryIndexForNarrowRange() {
+		EmployeeQuery query =
+		  EmployeeQuery.builder().salaryBetween(BigDecimal.valueOf(3_000), BigDecimal.valueOf(3_100)).build();
+
+		QueryPlan plan = employeeService.explain(query);
+
+		assertEquals(AccessPath.SALARY_INDEX, plan.getAccessPath());
+		assertEquals(employeeService.countBySalaryRange(BigDecimal.valueOf(3_000), BigDecimal.valueOf(3_100)),
+					 plan.getEstimatedRows());
+	}
+
+	@Test
+	void explain_ShouldPickCompanySalaryIndexForCompanyAndRange() {
+		EmployeeQuery query = EmployeeQuery.builder()
+								.company("Firma0")
+								.salaryBetween(BigDecimal.valueOf(3_000), BigDecimal.valueOf(3_100))
+								.build();
+
+		assertEquals(AccessPath.COMPANY_SALARY_INDEX, employeeService.explain(query).getAccessPath());
+	}
+
+	@Test
+	void query_ShouldReadTopEarnersOfCompanyFromCompanySalaryIndex() {
+		EmployeeQuery query =
+		  EmployeeQuery.builder().company("Firma0").sortBy(SortKey.SALARY, true).limit(3).build();
+
+		QueryPlan plan = employeeService.explain(query);
+		List<Employee> top = employeeService.query(query);
+
+		assertEquals(AccessPath.COMPANY_SALARY_INDEX, plan.getAccessPath());
+		assertTrue(plan.isLimitPushedDown());
+		assertEquals(employeeService.findTopEarners("Firma0", 3), top);
+	}
+
+	@Test
+	void explain_ShouldPickLastNameIndexForPrefix() {
+		EmployeeQuery query = EmployeeQuery.builder().lastNamePrefix("wiśniewski1").build();
+
+		QueryPlan plan = employeeService.explain(query);
+
+		assertEquals(AccessPath.LAST_NAME_INDEX, plan.getAccessPath());
+		assertTrue(plan.getEstimatedRows() < 2_000);
+	}
+
+	@Test
+	void query_ShouldPushLimitIntoSalaryIndex_WhenSortedBySalary() {
+		EmployeeQuery query = EmployeeQuery.builder().sortBy(SortKey.SALARY, true).limit(5).build();
+
+		QueryPlan plan = employeeService.explain(query);
+		List<Employee> top = employeeService.query(query);
+
+		assertEquals(AccessPath.SALARY_INDEX, plan.getAccessPath());
+		assertTrue(plan.isLimitPushedDown());
+		assertEquals(5, top.size());
+		assertEquals(employeeService.findHighestPaidEmployee().orElseThrow().getSalary(), top.get(0).getSalary());
+		List<BigDecimal> expected = employeeService.findAll()
+									  .stream()
+									  .map(Employee::getSalary)
+									  .sorted(Comparator.reverseOrder())
+									  .limit(5)
+									  .toList();
+		assertEquals(expected, top.stream().map(Employee::getSalary).toList());
+	}
+
+	@Test
+	void query_ShouldReturnSortedTopK_WhenIndexDoesNotMatchSort() {
+		EmployeeQuery query = EmployeeQuery.builder().company("Firma0").sortBy(SortKey.LAST_NAME).limit(10).build();
+
+		QueryPlan plan = employeeService.explain(query);
+		List<Employee> result = employeeService.query(query);
+
+		assertFalse(plan.isLimitPushedDown());
+		assertEquals(bruteForce(query), result);
+	}
+
+	@Test
+	void query_ShouldMatchLastNamePrefixIgnoringCase() {
+		List<Employee> result = employeeService.query(EmployeeQuery.builder().lastNamePrefix("KOWAL").build());
+
+		assertFalse(result.isEmpty());
+		assertTrue(result.stream().allMatch(e -> e.getLastName().startsWith("Kowal")));
+	}
+
+	@Test
+	void query_ShouldGroupResultsByKey() {
+		EmployeeQuery query = EmployeeQuery.builder().company("Firma3").build();
+
+		Map<Position, List<Employee>> groups = employeeService.query(query, Employee::getPosition);
+
+		int grouped = groups.values().stream().mapToInt(List::size).sum();
+		assertEquals(employeeService.findByCompany("Firma3").size(), grouped);
+		groups.forEach((position, group) -> assertTrue(group.stream().allMatch(e -> e.getPosition() == position)));
+	}
+
+	@Test
+	void query_ShouldMatchBruteForceForRandomQueries() {
+		Random random = new Random(7);
+
+		for (int i = 0; i < 500; i++) {
+			EmployeeQuery.Builder builder = EmployeeQuery.builder();
+			if (random.nextInt(3) == 0) { builder.company("Firma" + random.nextInt(51)); }
+			if (random.nextInt(3) == 0) { builder.position(Position.values()[random.nextInt(5)]); }
+			if (random.nextInt(3) == 0) {
+				int min = 3_000 + random.nextInt(25_000);
+				builder.salaryBetween(BigDecimal.valueOf(min), BigDecimal.valueOf(min + random.nextInt(4_000)));
+			}
+			if (random.nextInt(4) == 0) { builder.lastNamePrefix(LAST_NAMES[random.nextInt(LAST_NAMES.length)]); }
+			// Nazwiska są unikalne, więc sortowanie po nich daje jednoznaczną oczekiwaną listę
+			boolean sorted = random.nextBoolean();
+			if (sorted) { builder.sortBy(SortKey.LAST_NAME, random.nextBoolean()); }
+			if (random.nextBoolean()) { builder.limit(random.nextInt(20)); }
+			EmployeeQuery query = builder.build();
+
+			List<Employee> result = employeeService.query(query);
+
+			if (sorted) {
+				assertEquals(bruteForce(query), result, query.toString());
+			} else {
+				List<Employee> expected = bruteForce(query);
+				assertEquals(expected.size(), result.size(), query.toString());
+				assertTrue(result.stream().allMatch(query::matches), query.toString());
+			}
+		}
+	}
+
+	@Test
+	void build_ShouldRejectInvertedSalaryRange() {
+		EmployeeQuery.Builder builder =
+		  EmployeeQuery.builder().salaryBetween(BigDecimal.valueOf(10_000), BigDecimal.valueOf(5_000));
+
+		assertThrows(IllegalArgumentException.class, builder::build);
+	}
+
+	private List<Employee> bruteForce(EmployeeQuery query) {
+		Stream<Employee> stream = employeeService.findAll().stream().filter(query::matches);
+		if (query.getSortKey() != null) { stream = stream.sorted(QueryPlanner.comparator(query)); }
+		return stream.limit(query.getLimit()).toList();
+	}
+}
\ No newline at end of file
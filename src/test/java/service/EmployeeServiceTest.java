@@ -8,6 +8,8 @@ import java.util.Map;
 import java.util.Optional;
 import model.CompanyStatistics;
 import model.Employee;
+import model.EmployeeQuery;
+import model.EmployeeQuery.SortKey;
 import model.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -91,6 +93,18 @@ class EmployeeServiceTest {
 		assertEquals("Smith", sortedEmployees.get(2).getLastName());
 	}
 
+	@Test
+	void findAllSortedByLastName_ShouldCompareCaseSensitively_UnlikeLastNameQuery() {
+		Employee vries = new Employee("Anna", "de Vries", "anna@example.com", "Company", Position.PROGRAMISTA);
+		employeeService.addEmployee(employee2); // Smith
+		employeeService.addEmployee(vries);
+		employeeService.addEmployee(employee3); // Brown
+
+		assertEquals(List.of(employee3, employee2, vries), employeeService.findAllSortedByLastName());
+		assertEquals(List.of(employee3, vries, employee2),
+					 employeeService.query(EmployeeQuery.builder().sortBy(SortKey.LAST_NAME).build()));
+	}
+
 	@Test
 	void groupByPosition_ShouldReturnEmployeesGroupedByPosition() {
 		employeeService.addEmployee(employee1); // MANAGER
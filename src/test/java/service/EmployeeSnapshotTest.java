@@ -0,0 +1,144 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import model.CompanyStatistics;
+import model.Employee;
+import model.EmployeeQuery;
+import model.EmployeeQuery.SortKey;
+import model.Position;
+import model.StorageMode;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+	@Test
+	void snapshot_ShouldNotSeeLaterInserts() {
+		EmployeeService employeeService = new EmployeeService();
+		for (int i = 0; i < 500; i++) { employeeService.addEmployee(employee(i)); }
+		EmployeeSnapshot snapshot = employeeService.snapshot();
+		Map<String, CompanyStatistics> statistics = employeeService.getCompanyStatistics();
+		Employee highest = employeeService.findHighestPaidEmployee().orElseThrow();
+		BigDecimal average = employeeService.calculateAverageSalary().orElseThrow();
+
+		for (int i = 500; i < 1_500; i++) { employeeService.addEmployee(employee(i)); }
+
+		assertEquals(500, snapshot.count());
+		assertEquals(500, snapshot.getVersion());
+		assertEquals(500, snapshot.findAll().size());
+		assertEquals(1_500, employeeService.count());
+		assertEquals(statistics.toString(), snapshot.getCompanyStatistics().toString());
+		assertEquals(highest, snapshot.findHighestPaidEmployee().orElseThrow());
+		assertEquals(average, snapshot.calculateAverageSalary().orElseThrow());
+		assertEquals(500 / 10, snapshot.findByCompany("firma3").size());
+		assertEquals(500, snapshot.countByPosition().values().stream().mapToLong(Long::longValue).sum());
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.findAll().add(employee(9_999)));
+	}
+
+	@Test
+	void query_ShouldMatchBruteForceOverSnapshot() {
+		EmployeeService employeeService = new EmployeeService();
+		for (int i = 0; i < 2_000; i++) { employeeService.addEmployee(employee(i)); }
+		EmployeeSnapshot snapshot = employeeService.snapshot();
+		for (int i = 2_000; i < 3_000; i++) { employeeService.addEmployee(employee(i)); }
+
+		Random random = new Random(13);
+		for (int i = 0; i < 200; i++) {
+			EmployeeQuery.Builder builder = EmployeeQuery.builder();
+			if (random.nextBoolean()) { builder.company("Firma" + random.nextInt(10)); }
+			if (random.nextBoolean()) { builder.position(Position.values()[random.nextInt(5)]); }
+			if (random.nextBoolean()) {
+				int min = 3_000 + random.nextInt(20_000);
+				builder.salaryBetween(BigDecimal.valueOf(min), BigDecimal.valueOf(min + 4_000));
+			}
+			builder.sortBy(SortKey.SALARY, random.nextBoolean());
+			if (random.nextBoolean()) { builder.limit(random.nextInt(15)); }
+			EmployeeQuery query = builder.build();
+
+			List<Employee> expected = snapshot.findAll()
+										.stream()
+										.filter(query::matches)
+										.sorted(QueryPlanner.comparator(query))
+										.limit(query.getLimit())
+										.toList();
+			assertEquals(salaries(expected), salaries(snapshot.query(query)), query.toString());
+		}
+	}
+
+	@Test
+	void snapshot_ShouldStayConsistent_WhileWriterRuns() throws Exception {
+		assertConsistentWhileWriting(StorageMode.HEAP);
+	}
+
+	@Test
+	void snapshot_ShouldStayConsistent_WhileWriterRunsOffHeap() throws Exception {
+		assertConsistentWhileWriting(StorageMode.OFF_HEAP);
+	}
+
+	@Test
+	void snapshot_ShouldStayConsistent_WhileWriterRunsSpilled() throws Exception {
+		assertConsistentWhileWriting(StorageMode.SPILL);
+	}
+
+	private static void assertConsistentWhileWriting(StorageMode storageMode) throws Exception {
+		EmployeeService employeeService = new EmployeeService(storageMode);
+		int total = 50_000;
+		AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 0; i < total; i++) { employeeService.addEmployee(employee(i)); }
+			} catch (Throwable e) { writerFailure.set(e); }
+		});
+		writer.start();
+
+		long lastVersion = 0;
+		int checks = 0;
+		while (writer.isAlive() || checks == 0) {
+			EmployeeSnapshot snapshot = employeeService.snapshot();
+			int count = snapshot.count();
+			assertTrue(snapshot.getVersion() >= lastVersion);
+			lastVersion = snapshot.getVersion();
+
+			long byCompany = snapshot.getCompanyStatistics()
+							   .values()
+							   .stream()
+							   .mapToLong(CompanyStatistics::getEmployeeCount)
+							   .sum();
+			long byPosition = snapshot.countByPosition().values().stream().mapToLong(Long::longValue).sum();
+			assertEquals(count, byCompany);
+			assertEquals(count, byPosition);
+			assertEquals(count, snapshot.findAll().size());
+			if (count > 0) {
+				// Ostatni widoczny wiersz musi być w pełni zapisany, a średnia zgadzać się z wierszami migawki
+				assertEquals(employee(count - 1).toString(), snapshot.findAll().get(count - 1).toString());
+				BigDecimal sum =
+				  snapshot.findAll().stream().map(Employee::getSalary).reduce(BigDecimal.ZERO, BigDecimal::add);
+				assertEquals(sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP),
+							 snapshot.calculateAverageSalary().orElseThrow());
+			}
+			checks++;
+		}
+		writer.join();
+
+		assertNull(writerFailure.get());
+		assertTrue(checks > 0);
+		assertEquals(total, employeeService.snapshot().count());
+	}
+
+	private static Employee employee(int i) {
+		Position position = Position.values()[i % Position.values().length];
+		BigDecimal salary = position.getBaseSalary().add(BigDecimal.valueOf((i * 7_919L) % 5_000));
+		return new Employee(
+		  "Imię" + i, "Nazwisko" + i, "employee" + i + "@example.com", "Firma" + i % 10, position, salary);
+	}
+
+	private static List<BigDecimal> salaries(List<Employee> employees) {
+		return employees.stream().map(Employee::getSalary).toList();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import exception.ExportException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import model.Employee;
+import model.ExportFormat;
+import model.ImportSummary;
+import model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExportServiceTest {
+
+	@TempDir Path tempDir;
+
+	private EmployeeService employeeService;
+	private ExportService exportService;
+
+	@BeforeEach
+	void setUp() {
+		employeeService = new EmployeeService();
+		exportService = new ExportService(employeeService);
+		employeeService.addEmployee(
+		  new Employee("Jan", "Kowalski", "jan@firma.pl", "Firma", Position.PROGRAMISTA, BigDecimal.valueOf(8_500)));
+		employeeService.addEmployee(new Employee("Anna",
+												 "Nowak",
+												 "anna@acme.com",
+												 "Acme, \"Polska\" Sp. z o.o.",
+												 Position.MANAGER,
+												 new BigDecimal("13000.50")));
+		employeeService.addEmployee(new Employee("Piotr", "Zieliński", "piotr@firma.pl", "Firma", Position.STAZYSTA));
+	}
+
+	@Test
+	void exportEmployees_ShouldRoundTripThroughImportService() throws ExportException {
+		Path csvFile = tempDir.resolve("employees.csv");
+
+		long rows = exportService.exportEmployees(csvFile, ExportFormat.CSV);
+
+		assertEquals(3, rows);
+		assertImportsBack(csvFile);
+	}
+
+	@Test
+	void exportEmployees_ShouldRoundTripGzipFile() throws ExportException, IOException {
+		Path gzipFile = tempDir.resolve("employees.csv.gz");
+
+		exportService.exportEmployees(gzipFile, ExportFormat.CSV);
+
+		try (InputStream in = Files.newInputStream(gzipFile)) {
+			assertEquals(0x1f, in.read());
+			assertEquals(0x8b, in.read());
+		}
+		assertImportsBack(gzipFile);
+	}
+
+	@Test
+	void exportByPosition_ShouldWriteRowsGroupedInPositionOrder() throws ExportException, IOException {
+		Path csvFile = tempDir.resolve("by-position.csv");
+
+		long rows = exportService.exportByPosition(csvFile, ExportFormat.CSV);
+
+		List<String> lines = Files.readAllLines(csvFile);
+		assertEquals(3, rows);
+		assertEquals(ExportService.EMPLOYEE_CSV_HEADER, lines.get(0));
+		assertTrue(lines.get(1).contains(",MANAGER,"));
+		assertTrue(lines.get(2).contains(",PROGRAMISTA,"));
+		assertTrue(lines.get(3).contains(",STAZYSTA,"));
+		assertImportsBack(csvFile);
+	}
+
+	@Test
+	void exportByPosition_ShouldWriteJsonObjectPerPosition() throws ExportException, IOException {
+		Path jsonFile = tempDir.resolve("by-position.json");
+
+		exportService.exportByPosition(jsonFile, ExportFormat.JSON);
+
+		JsonObject groups = new Gson().fromJson(Files.readString(jsonFile), JsonObject.class);
+		assertEquals(1, groups.getAsJsonArray("MANAGER").size());
+		assertEquals(1, groups.getAsJsonArray("PROGRAMISTA").size());
+		assertNull(groups.get("PREZES"));
+	}
+
+	@Test
+	void exportEmployees_ShouldWriteJsonArray() throws ExportException, IOException {
+		Path jsonFile = tempDir.resolve("employees.json");
+
+		exportService.exportEmployees(jsonFile, ExportFormat.JSON);
+
+		JsonArray employees = new Gson().fromJson(Files.readString(jsonFile), JsonArray.class);
+		assertEquals(3, employees.size());
+		JsonObject anna = employees.get(1).getAsJsonObject();
+		assertEquals("Acme, \"Polska\" Sp. z o.o.", anna.get("company").getAsString());
+		assertEquals("13000.50", anna.get("salary").getAsString());
+	}
+
+	@Test
+	void exportCompanyStatistics_ShouldWriteOneRowPerCompany() throws ExportException, IOException {
+		Path csvFile = tempDir.resolve("statistics.csv");
+
+		long companies = exportService.exportCompanyStatistics(csvFile, ExportFormat.CSV);
+
+		List<String> lines = Files.readAllLines(csvFile, StandardCharsets.UTF_8);
+		assertEquals(2, companies);
+		assertEquals(ExportService.STATISTICS_CSV_HEADER, lines.get(0));
+		assertEquals("\"Acme, \"\"Polska\"\" Sp. z o.o.\",1,13000.5,Anna Nowak", lines.get(1));
+		assertEquals("Firma,2,5750.0,Jan Kowalski", lines.get(2));
+	}
+
+	@Test
+	void exportEmployees_ShouldFailForMissingDirectory() {
+		Path csvFile = tempDir.resolve("missing").resolve("employees.csv");
+
+		ExportException exception =
+		  assertThrows(ExportException.class, () -> exportService.exportEmployees(csvFile, ExportFormat.CSV));
+
+		assertTrue(exception.getMessage().contains("Failed to export"));
+	}
+
+	private void assertImportsBack(Path file) {
+		EmployeeService target = new EmployeeService();
+		ImportSummary summary = new ImportService(target).importFromCsv(file);
+
+		assertTrue(summary.getErrors().isEmpty(), summary.getErrors().toString());
+		assertEquals(3, summary.getImportedCount());
+		for (Employee original : employeeService.findAll()) {
+			Employee imported = target.findAll()
+								  .stream()
+								  .filter(e -> e.getEmail().equals(original.getEmail()))
+								  .findFirst()
+								  .orElseThrow();
+			assertEquals(original.getFirstName(), imported.getFirstName());
+			assertEquals(original.getLastName(), imported.getLastName());
+			assertEquals(original.getCompany(), imported.getCompany());
+			assertEquals(original.getPosition(), imported.getPosition());
+			assertEquals(original.getSalary(), imported.getSalary());
+		}
+	}
+}
\ No newline at end of file
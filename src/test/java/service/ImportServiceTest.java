@@ -7,6 +7,7 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import model.Employee;
 import model.ImportSummary;
 import org.junit.jupiter.api.BeforeEach;
@@ -179,6 +180,46 @@ class ImportServiceTest {
 		verify(employeeService, times(1)).addEmployee(any(Employee.class));
 	}
 
+	@Test
+	void parseCsv_ShouldReturnEmployeesWithoutAddingThem() throws IOException {
+		String csvContent = "firstName,lastName,email,company,position,salary\n"
+							+ "John,Doe,john@example.com,Company1,MANAGER,15000\n"
+							+ "Jane,Smith,jane@example.com,Company1,INVALID_POSITION,10000\n";
+
+		csvFile = createTempCsvFile(csvContent);
+
+		ImportSummary summary = new ImportSummary();
+		List<Employee> employees = importService.parseCsv(csvFile, summary);
+
+		assertEquals(1, employees.size());
+		assertEquals("john@example.com", employees.get(0).getEmail());
+		assertEquals(1, summary.getImportedCount());
+		assertEquals(1, summary.getErrors().size());
+
+		// Verify nothing was written to employeeService
+		verify(employeeService, never()).addEmployee(any(Employee.class));
+	}
+
+	@Test
+	void parseCsv_ShouldShareCompanyAndFirstNameStringsBetweenRows() throws IOException {
+		String csvContent = "firstName,lastName,email,company,position,salary\n"
+							+ "John,Doe,john@example.com,Company1,MANAGER,15000\n"
+							+ "John , Doe,john2@example.com, Company1 ,MANAGER,15000\n"
+							+ "\"John\",Doe,john3@example.com,\"Company1\",MANAGER,15000\n";
+
+		csvFile = createTempCsvFile(csvContent);
+
+		List<Employee> employees = importService.parseCsv(csvFile, new ImportSummary());
+
+		assertEquals(3, employees.size());
+		for (Employee employee : employees) {
+			assertEquals("Company1", employee.getCompany());
+			assertSame(employees.get(0).getCompany(), employee.getCompany());
+			assertSame(employees.get(0).getFirstName(), employee.getFirstName());
+			assertEquals("Doe", employee.getLastName());
+		}
+	}
+
 	private Path createTempCsvFile(String content) throws IOException {
 		Path file = tempDir.resolve("test.csv");
 		Files.writeString(file, content);
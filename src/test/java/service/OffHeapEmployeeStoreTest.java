@@ -0,0 +1,58 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static service.StorageFixtures.employee;
+
+import java.math.BigDecimal;
+import java.util.List;
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+class OffHeapEmployeeStoreTest {
+
+	@Test
+	void get_ShouldRestoreAllFields() {
+		OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+		List<Employee> employees = List.of(
+		  new Employee("Łucja", "Żółkiewska", "lucja@example.com", "Zakłady Łódź", Position.MANAGER,
+					   new BigDecimal("12345.678")),
+		  new Employee("Jan", "Kowalski", "Jan@Example.com", "TechCorp", Position.PROGRAMISTA),
+		  new Employee("Anna", "Nowak", "anna@example.com", "TechCorp", Position.PREZES, new BigDecimal("3E+4")));
+
+		employees.forEach(store::add);
+
+		assertEquals(3, store.size());
+		assertEquals(2, store.distinctCompanies());
+		for (int row = 0; row < employees.size(); row++) {
+			Employee restored = store.get(row);
+			assertEquals(employees.get(row).toString(), restored.toString());
+			assertEquals(employees.get(row).getSalary(), restored.getSalary());
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+	}
+
+	@Test
+	void add_ShouldSpanRecordAndTextChunks() {
+		OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+		int rows = 150_000;
+		for (int i = 0; i < rows; i++) { assertEquals(i, store.add(employee(i))); }
+
+		assertEquals(rows, store.size());
+		for (int row = 0; row < rows; row += 4_999) {
+			assertEquals(employee(row).toString(), store.get(row).toString());
+		}
+		assertEquals(employee(rows - 1).toString(), store.get(rows - 1).toString());
+		assertTrue(store.offHeapBytes() >= (long) rows * 24);
+	}
+
+	@Test
+	void add_ShouldRejectSalaryThatDoesNotFitScaledLong() {
+		OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+		Employee rich = new Employee(
+		  "Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PREZES, new BigDecimal("1" + "0".repeat(20)));
+
+		assertThrows(IllegalArgumentException.class, () -> store.add(rich));
+		assertEquals(0, store.size());
+	}
+}
\ No newline at end of file
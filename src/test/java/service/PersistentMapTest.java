@@ -0,0 +1,58 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+
+	@Test
+	void put_ShouldBehaveLikeHashMap() {
+		PersistentMap<Integer, Integer> map = PersistentMap.empty();
+		Map<Integer, Integer> oracle = new HashMap<>();
+		Random random = new Random(9);
+		for (int i = 0; i < 50_000; i++) {
+			int key = random.nextInt(20_000) - 10_000;
+			map = map.put(key, i);
+			oracle.put(key, i);
+		}
+
+		assertEquals(oracle.size(), map.size());
+		for (Map.Entry<Integer, Integer> entry : oracle.entrySet()) {
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+		assertNull(map.get(10_001));
+		Map<Integer, Integer> visited = new HashMap<>();
+		map.forEach(visited::put);
+		assertEquals(oracle, visited);
+	}
+
+	@Test
+	void put_ShouldLeavePreviousVersionUntouched() {
+		PersistentMap<String, Integer> first = PersistentMap.<String, Integer>empty().put("a", 1).put("b", 2);
+
+		PersistentMap<String, Integer> second = first.put("a", 10).put("c", 3);
+
+		assertEquals(1, first.get("a"));
+		assertNull(first.get("c"));
+		assertEquals(2, first.size());
+		assertEquals(10, second.get("a"));
+		assertEquals(3, second.size());
+	}
+
+	@Test
+	void put_ShouldKeepKeysWithEqualHashCodes() {
+		// "Aa" i "BB" mają ten sam hashCode - trafiają do węzła kolizji
+		PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().put("Aa", 1).put("BB", 2);
+		map = map.put("AaAa", 3).put("BBBB", 4).put("AaBB", 5).put("Aa", 6);
+
+		assertEquals(6, map.get("Aa"));
+		assertEquals(2, map.get("BB"));
+		assertEquals(5, map.get("AaBB"));
+		assertEquals(5, map.size());
+		assertThrows(NullPointerException.class, () -> PersistentMap.empty().put("x", null));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import config.QueryCacheSettings;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import metrics.SimpleMetricsRegistry;
+import model.Employee;
+import model.Position;
+import model.StorageMode;
+import org.junit.jupiter.api.Test;
+
+class QueryResultCacheTest {
+
+	@Test
+	void findByCompany_ShouldServeRepeatedCallsFromCache() {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		EmployeeService employeeService = new EmployeeService(metrics);
+		for (int i = 0; i < 100; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 4)); }
+
+		List<Employee> first = employeeService.findByCompany("Firma1");
+		List<Employee> second = employeeService.findByCompany("firma1");
+
+		assertSame(first, second);
+		assertEquals(25, second.size());
+		assertEquals(1, metrics.counter("employees.cache.misses").get());
+		assertEquals(1, metrics.counter("employees.cache.hits").get());
+		assertThrows(UnsupportedOperationException.class, () -> second.add(employee(1000, "Firma1")));
+	}
+
+	@Test
+	void addEmployee_ShouldInvalidateOnlyEntriesOfThatCompanyAndPosition() {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		EmployeeService employeeService = new EmployeeService(metrics);
+		for (int i = 0; i < 100; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 4)); }
+		List<Employee> otherCompany = employeeService.findByCompany("Firma2");
+		List<Employee> company = employeeService.findByCompany("Firma1");
+		Map<Position, List<Employee>> groups = employeeService.groupByPosition();
+
+		employeeService.addEmployee(employee(100, "Firma1", Position.MANAGER));
+
+		assertSame(otherCompany, employeeService.findByCompany("Firma2"));
+		assertEquals(company.size() + 1, employeeService.findByCompany("Firma1").size());
+		Map<Position, List<Employee>> regrouped = employeeService.groupByPosition();
+		assertSame(groups.get(Position.PROGRAMISTA), regrouped.get(Position.PROGRAMISTA));
+		assertEquals(1, regrouped.get(Position.MANAGER).size());
+		assertEquals(2, metrics.counter("employees.cache.invalidations").get());
+	}
+
+	@Test
+	void get_ShouldEvictLeastRecentlyUsed_WhenEntryLimitIsReached() {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		QueryCacheSettings settings = QueryCacheSettings.builder().maxEntries(2).build();
+		EmployeeService employeeService = new EmployeeService(metrics, StorageMode.HEAP, settings);
+		for (int i = 0; i < 30; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 3)); }
+
+		List<Employee> firma0 = employeeService.findByCompany("Firma0");
+		employeeService.findByCompany("Firma1");
+		employeeService.findByCompany("Firma0");
+		employeeService.findByCompany("Firma2");
+
+		assertSame(firma0, employeeService.findByCompany("Firma0"));
+		assertEquals(1, metrics.counter("employees.cache.evictions").get());
+		assertTrue(metrics.dump().contains("gauge employees.cache.entries 2\n"));
+	}
+
+	@Test
+	void get_ShouldNotKeepResults_HeavierThanWeightLimit() {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		QueryCacheSettings settings = QueryCacheSettings.builder().maxWeight(10).build();
+		EmployeeService employeeService = new EmployeeService(metrics, StorageMode.HEAP, settings);
+		for (int i = 0; i < 30; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 5)); }
+
+		employeeService.findAllSortedByLastName();
+		employeeService.findByCompany("Firma0");
+		employeeService.findByCompany("Firma1");
+
+		assertTrue(metrics.dump().contains("gauge employees.cache.entries 1\n"));
+		assertTrue(metrics.dump().contains("gauge employees.cache.weight 6\n"));
+		assertEquals(1, metrics.counter("employees.cache.evictions").get());
+	}
+
+	@Test
+	void queries_ShouldNeverReturnStaleResults_WhenInterleavedWithInserts() {
+		QueryCacheSettings settings = QueryCacheSettings.builder().maxEntries(8).build();
+		EmployeeService employeeService = new EmployeeService(new SimpleMetricsRegistry(), StorageMode.HEAP, settings);
+		Random random = new Random(42);
+		for (int i = 0; i < 3_000; i++) {
+			if (random.nextInt(3) == 0) { employeeService.addEmployee(employee(i, "Firma" + random.nextInt(10))); }
+			String company = "Firma" + random.nextInt(10);
+			assertEquals(expectedByCompany(employeeService, company), employeeService.findByCompany(company));
+			assertEquals(expectedGroups(employeeService), employeeService.groupByPosition());
+			if (i % 50 == 0) {
+				assertEquals(expectedSorted(employeeService), employeeService.findAllSortedByLastName());
+			}
+		}
+	}
+
+	@Test
+	void queries_ShouldNotCacheResultsComputedDuringConcurrentInsert() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread reader = Thread.ofPlatform().start(() -> {
+			try {
+				while (writing.get()) {
+					employeeService.findByCompany("Firma1");
+					employeeService.groupByPosition();
+				}
+			} catch (Throwable e) { failure.set(e); }
+		});
+
+		for (int i = 0; i < 20_000; i++) { employeeService.addEmployee(employee(i, "Firma" + i % 3)); }
+		writing.set(false);
+		reader.join();
+
+		assertNull(failure.get());
+		assertEquals(expectedByCompany(employeeService, "Firma1"), employeeService.findByCompany("Firma1"));
+		assertEquals(expectedGroups(employeeService), employeeService.groupByPosition());
+	}
+
+	@Test
+	void build_ShouldRejectInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> QueryCacheSettings.builder().maxEntries(-1).build());
+		assertThrows(IllegalArgumentException.class, () -> QueryCacheSettings.builder().maxWeight(0).build());
+	}
+
+	// Oczekiwane wyniki liczone bez pamięci podręcznej, z pełnej listy pracowników
+	private static List<Employee> expectedByCompany(EmployeeService employeeService, String company) {
+		return employeeService.findAll().stream().filter(e -> e.getCompany().equalsIgnoreCase(company)).toList();
+	}
+
+	private static Map<Position, List<Employee>> expectedGroups(EmployeeService employeeService) {
+		Map<Position, List<Employee>> groups = new EnumMap<>(Position.class);
+		employeeService.findAll().forEach(e -> groups.computeIfAbsent(e.getPosition(), k -> new ArrayList<>()).add(e));
+		return groups;
+	}
+
+	private static List<Employee> expectedSorted(EmployeeService employeeService) {
+		return employeeService.findAll().stream().sorted(Comparator.comparing(Employee::getLastName)).toList();
+	}
+
+	private static Employee employee(int i, String company) {
+		return employee(i, company, i % 2 == 0 ? Position.PROGRAMISTA : Position.STAZYSTA);
+	}
+
+	private static Employee employee(int i, String company, Position position) {
+		return new Employee("Imię" + i,
+							"Nazwisko" + i % 97,
+							"employee" + i + "@example.com",
+							company,
+							position,
+							position.getBaseSalary().add(BigDecimal.valueOf(i % 1_000)));
+	}
+}
\ No newline at end of file
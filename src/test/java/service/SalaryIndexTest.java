@@ -0,0 +1,191 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+	private SalaryIndex index;
+	// Wyrocznia: ta sama kolejność co w indeksie (pensja, potem kolejność wstawiania)
+	private List<Employee> sorted;
+
+	@BeforeEach
+	void setUp() {
+		HeapEmployeeStore store = new HeapEmployeeStore();
+		index = new SalaryIndex(store);
+		List<Employee> inserted = new ArrayList<>();
+		Random random = new Random(11);
+		for (int i = 0; i < 3_000; i++) {
+			// Mało różnych wartości, żeby było dużo remisów
+			BigDecimal salary = BigDecimal.valueOf(8_000 + 250L * random.nextInt(40));
+			Employee employee = new Employee(
+			  "Imię" + i, "Nazwisko" + i, "e" + i + "@example.com", "Firma", Position.PROGRAMISTA, salary);
+			index.add(store.add(employee), salary);
+			inserted.add(employee);
+		}
+		sorted = new ArrayList<>(inserted);
+		sorted.sort(Comparator.comparing(Employee::getSalary)); // sort stabilny - remisy wg kolejności wstawiania
+	}
+
+	@Test
+	void select_ShouldReturnKthSmallest() {
+		for (int k = 0; k < sorted.size(); k += 97) { assertSame(sorted.get(k), index.select(k)); }
+		assertSame(sorted.get(sorted.size() - 1), index.select(sorted.size() - 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> index.select(sorted.size()));
+	}
+
+	@Test
+	void countBetweenAndRange_ShouldMatchOracle() {
+		Random random = new Random(3);
+		for (int i = 0; i < 200; i++) {
+			BigDecimal min = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(7_900 + random.nextInt(10_500));
+			BigDecimal max = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(7_900 + random.nextInt(10_500));
+			List<Employee> expected = sorted.stream()
+										.filter(e -> min == null || e.getSalary().compareTo(min) >= 0)
+										.filter(e -> max == null || e.getSalary().compareTo(max) <= 0)
+										.toList();
+
+			assertEquals(expected.size(), index.countBetween(min, max));
+			assertEquals(expected, index.range(min, max));
+		}
+	}
+
+	@Test
+	void iterator_ShouldWalkRangeBackwards_WhenDescending() {
+		BigDecimal min = BigDecimal.valueOf(9_000);
+		BigDecimal max = BigDecimal.valueOf(10_000);
+		List<Employee> expected = new ArrayList<>(index.range(min, max));
+		Collections.reverse(expected);
+
+		List<Employee> actual = new ArrayList<>();
+		Iterator<Employee> descending = index.iterator(min, max, true);
+		descending.forEachRemaining(actual::add);
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void top_ShouldReturnHighestSalariesFirst() {
+		List<Employee> top = index.top(50);
+
+		assertEquals(50, top.size());
+		for (int i = 0; i < top.size(); i++) { assertSame(sorted.get(sorted.size() - 1 - i), top.get(i)); }
+	}
+
+	@Test
+	void highest_ShouldPreferEarliestInsertedOnTie() {
+		Employee expected = sorted.stream().max(Comparator.comparing(Employee::getSalary)).orElseThrow();
+
+		assertSame(expected, index.highest());
+	}
+
+	@Test
+	void percentile_ShouldUseNearestRank() {
+		int n = sorted.size();
+		for (double p : new double[] { 0.0, 0.01, 0.25, 0.5, 0.9, 0.99, 1.0 }) {
+			int rank = Math.max(1, (int) Math.ceil(p * n));
+			assertEquals(sorted.get(rank - 1).getSalary(), index.percentile(p), "p=" + p);
+		}
+		assertThrows(IllegalArgumentException.class, () -> index.percentile(1.5));
+		assertNull(new SalaryIndex(new HeapEmployeeStore()).percentile(0.5));
+	}
+
+	@Test
+	void iterator_ShouldKeepItsVersion_WhenRowsAreAddedLater() {
+		HeapEmployeeStore store = new HeapEmployeeStore();
+		SalaryIndex versioned = new SalaryIndex(store);
+		for (int i = 0; i < 100; i++) {
+			Employee employee = employee("a" + i + "@x.pl", "X", Position.PROGRAMISTA, 8_000 + i);
+			versioned.add(store.add(employee), employee.getSalary());
+		}
+		Iterator<Employee> before = versioned.iterator(null, null, false);
+
+		for (int i = 0; i < 100; i++) {
+			Employee employee = employee("b" + i + "@x.pl", "X", Position.PROGRAMISTA, 8_000 + i);
+			versioned.add(store.add(employee), employee.getSalary());
+		}
+
+		int seen = 0;
+		while (before.hasNext()) {
+			assertTrue(before.next().getEmail().startsWith("a"));
+			seen++;
+		}
+		assertEquals(100, seen);
+		assertEquals(200, versioned.size());
+	}
+
+	@Test
+	void salaryQueries_ShouldStayConsistent_WhileWriterInserts() throws Exception {
+		EmployeeService employeeService = new EmployeeService();
+		int total = 50_000;
+		AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+		Thread writer = new Thread(() -> {
+			try {
+				for (int i = 0; i < total; i++) {
+					employeeService.addEmployee(
+					  employee("e" + i + "@x.pl", "Firma" + i % 10, Position.PROGRAMISTA, 8_000 + (i * 7_919) % 5_000));
+				}
+			} catch (Throwable e) { writerFailure.set(e); }
+		});
+		writer.start();
+
+		int checks = 0;
+		while (writer.isAlive() || checks == 0) {
+			List<Employee> top = employeeService.findTopEarners("Firma3", 20);
+			for (int i = 1; i < top.size(); i++) {
+				assertTrue(top.get(i - 1).getSalary().compareTo(top.get(i).getSalary()) >= 0);
+			}
+			List<Employee> range =
+			  employeeService.findBySalaryRange(BigDecimal.valueOf(9_000), BigDecimal.valueOf(9_500));
+			for (int i = 1; i < range.size(); i++) {
+				assertTrue(range.get(i - 1).getSalary().compareTo(range.get(i).getSalary()) <= 0);
+			}
+			EmployeeQuery byLastName = EmployeeQuery.builder().lastNamePrefix("Kowal").limit(5).build();
+			assertTrue(employeeService.query(byLastName).size() <= 5);
+			checks++;
+		}
+		writer.join();
+
+		assertNull(writerFailure.get());
+		assertEquals(total, employeeService.countBySalaryRange(null, null));
+	}
+
+	@Test
+	void employeeService_ShouldAnswerPerCompanyAndPositionQueries() {
+		EmployeeService employeeService = new EmployeeService();
+		employeeService.addEmployee(employee("a@x.pl", "X", Position.PROGRAMISTA, 8_000));
+		employeeService.addEmployee(employee("b@x.pl", "X", Position.PROGRAMISTA, 9_000));
+		employeeService.addEmployee(employee("c@x.pl", "X", Position.MANAGER, 14_000));
+		employeeService.addEmployee(employee("d@y.pl", "Y", Position.PROGRAMISTA, 12_000));
+
+		assertEquals(List.of("c@x.pl", "b@x.pl"),
+					 employeeService.findTopEarners("x", 2).stream().map(Employee::getEmail).toList());
+		assertEquals(List.of("b@x.pl", "d@y.pl"),
+					 employeeService.findBySalaryRange(BigDecimal.valueOf(8_500), BigDecimal.valueOf(13_000))
+					   .stream()
+					   .map(Employee::getEmail)
+					   .toList());
+		assertEquals(BigDecimal.valueOf(9_000), employeeService.salaryPercentile("X", 0.5).orElseThrow());
+		assertEquals(BigDecimal.valueOf(9_000),
+					 employeeService.salaryPercentile(Position.PROGRAMISTA, 0.5).orElseThrow());
+		assertTrue(employeeService.salaryPercentile("Nieznana", 0.5).isEmpty());
+		assertEquals("c@x.pl", employeeService.findHighestPaidEmployee().orElseThrow().getEmail());
+	}
+
+	private static Employee employee(String email, String company, Position position, long salary) {
+		return new Employee("Jan", "Kowalski", email, company, position, BigDecimal.valueOf(salary));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SalaryScanTest {
+
+	@TempDir Path tempDir;
+
+	@Test
+	void queries_ShouldMatchSalaryIndex_IncludingTies() {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 64);
+		SalaryIndex index = new SalaryIndex(store);
+		for (int i = 0; i < 3_000; i++) {
+			// Dużo remisów: tylko 97 różnych pensji
+			BigDecimal salary = BigDecimal.valueOf(5_000 + (i * 31) % 97 * 50);
+			index.add(store.add(employee(i, salary)), salary);
+		}
+		SalaryScan scan = new SalaryScan(store, store.size(), row -> row);
+
+		assertEquals(describe(index.top(25)), describe(scan.top(25)));
+		assertEquals(0, scan.top(0).size());
+		Random random = new Random(11);
+		for (int i = 0; i < 20; i++) {
+			BigDecimal min = BigDecimal.valueOf(5_000 + random.nextInt(5_000));
+			BigDecimal max = min.add(BigDecimal.valueOf(random.nextInt(2_000)));
+			assertEquals(index.countBetween(min, max), scan.countBetween(min, max));
+			assertEquals(describe(index.range(min, max)), describe(scan.range(min, max)));
+			assertEquals(describe(index.iterator(min, null, true)), describe(scan.iterator(min, null, true)));
+		}
+		for (double p : new double[] {0, 0.01, 0.25, 0.5, 0.9, 0.999, 1}) {
+			assertEquals(index.percentile(p), scan.percentile(p), "p=" + p);
+		}
+		assertThrows(IllegalArgumentException.class, () -> scan.percentile(1.5));
+		assertNull(new SalaryScan(store, 0, row -> row).percentile(0.5));
+	}
+
+	@Test
+	void percentile_ShouldNarrowInPasses_WhenRowsExceedBuffer() {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 1 << 14);
+		List<BigDecimal> salaries = new ArrayList<>();
+		Random random = new Random(5);
+		for (int i = 0; i < 200_000; i++) {
+			// Połowa pensji równa, reszta rozproszona - oba przypadki wyboru
+			BigDecimal salary = i % 2 == 0 ? new BigDecimal("8000.00")
+										   : BigDecimal.valueOf(3_000_00 + random.nextInt(2_000_000), 2);
+			salaries.add(salary);
+			store.add(employee(i, salary));
+		}
+		salaries.sort(null);
+		SalaryScan scan = new SalaryScan(store, store.size(), row -> row);
+
+		for (double p : new double[] {0.001, 0.1, 0.3, 0.5, 0.75, 0.99}) {
+			int rank = Math.max(1, (int) Math.ceil(p * salaries.size()));
+			assertEquals(0, salaries.get(rank - 1).compareTo(scan.percentile(p)), "p=" + p);
+		}
+	}
+
+	private static Employee employee(int i, BigDecimal salary) {
+		return new Employee("Imię" + i, "Nazwisko" + i, "employee" + i + "@example.com", "Firma" + i % 7,
+							Position.STAZYSTA, salary);
+	}
+
+	private static List<String> describe(List<Employee> employees) {
+		return employees.stream().map(Employee::getEmail).toList();
+	}
+
+	private static List<String> describe(Iterator<Employee> employees) {
+		List<String> emails = new ArrayList<>();
+		employees.forEachRemaining(employee -> emails.add(employee.getEmail()));
+		return emails;
+	}
+}
\ No newline at end of file
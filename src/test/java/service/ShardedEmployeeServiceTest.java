@@ -0,0 +1,190 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.CompanyStatistics;
+import model.Employee;
+import model.EmployeeQuery;
+import model.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedEmployeeServiceTest {
+
+	private List<Employee> dataset;
+	private EmployeeService single;
+	private ShardedEmployeeService sharded;
+
+	@BeforeEach
+	void setUp() {
+		dataset = new ArrayList<>();
+		Random random = new Random(13);
+		Position[] positions = Position.values();
+		for (int i = 0; i < 5_000; i++) {
+			Position position = positions[random.nextInt(positions.length)];
+			// Pensje unikalne, żeby kolejność przy remisach nie zależała od podziału na shardy
+			BigDecimal salary = position.getBaseSalary().add(BigDecimal.valueOf(i));
+			dataset.add(new Employee(
+			  "Imię" + i, "Nazwisko" + i, "e" + i + "@example.com", "Firma" + random.nextInt(40), position, salary));
+		}
+		single = new EmployeeService();
+		single.addEmployees(dataset);
+		sharded = ShardedEmployeeService.inProcess(4);
+		sharded.addEmployees(dataset);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sharded.close();
+	}
+
+	@Test
+	void addEmployees_ShouldSpreadEmployeesAcrossShards() {
+		assertEquals(dataset.size(), sharded.count());
+		int[] perShard = new int[sharded.getShardCount()];
+		dataset.forEach(employee -> perShard[sharded.shardIndex(employee.getEmail())]++);
+		for (int count : perShard) { assertTrue(count > dataset.size() / 8, "unbalanced shard: " + count); }
+	}
+
+	@Test
+	void getCompanyStatistics_ShouldMatchSingleService() {
+		Map<String, CompanyStatistics> expected = single.getCompanyStatistics();
+		Map<String, CompanyStatistics> actual = sharded.getCompanyStatistics();
+
+		assertEquals(expected.keySet(), actual.keySet());
+		expected.forEach((company, stats) -> {
+			assertEquals(stats.getEmployeeCount(), actual.get(company).getEmployeeCount());
+			assertEquals(stats.getAverageSalary(), actual.get(company).getAverageSalary());
+			assertEquals(stats.getTopEarnerFullName(), actual.get(company).getTopEarnerFullName());
+		});
+	}
+
+	@Test
+	void aggregates_ShouldMatchSingleService() {
+		assertEquals(single.countByPosition(), sharded.countByPosition());
+		assertEquals(single.calculateAverageSalary(), sharded.calculateAverageSalary());
+		assertEquals(single.findHighestPaidEmployee(), sharded.findHighestPaidEmployee());
+		assertEquals(single.findTopEarners(25), sharded.findTopEarners(25));
+	}
+
+	@Test
+	void query_ShouldMergeSortedAndLimitedPartials() {
+		EmployeeQuery query = EmployeeQuery.builder()
+								.position(Position.PROGRAMISTA)
+								.sortBy(EmployeeQuery.SortKey.SALARY, true)
+								.limit(30)
+								.build();
+
+		assertEquals(single.query(query), sharded.query(query));
+		assertEquals(new HashSet<>(single.findByCompany("firma7")), new HashSet<>(sharded.findByCompany("firma7")));
+		assertEquals(dataset.size(), sharded.findAll().size());
+	}
+
+	@Test
+	void query_ShouldRejectLimitWithoutSortKey() {
+		EmployeeQuery query = EmployeeQuery.builder().company("Firma7").limit(10).build();
+
+		assertThrows(IllegalArgumentException.class, () -> sharded.query(query));
+	}
+
+	@Test
+	void addEmployees_ShouldStopAtFirstDuplicate_LikeSingleService() {
+		List<Employee> batch = new ArrayList<>();
+		for (int i = 0; i < 20; i++) { batch.add(employee("new" + i + "@example.com", 9_000)); }
+		// Duplikat z partii na pozycji 8 i z magazynu na pozycji 15 - liczy się pierwszy
+		batch.set(8, employee("NEW3@example.com", 9_000));
+		batch.set(15, dataset.get(0));
+		EmployeeService plain = new EmployeeService();
+		plain.addEmployees(dataset);
+
+		assertThrows(IllegalArgumentException.class, () -> plain.addEmployees(batch));
+		assertThrows(IllegalArgumentException.class, () -> sharded.addEmployees(batch));
+
+		assertEquals(plain.count(), sharded.count());
+		assertEquals(dataset.size() + 8, sharded.count());
+		for (int i = 0; i < 20; i++) {
+			String email = "new" + i + "@example.com";
+			assertEquals(plain.containsEmail(email), sharded.containsEmail(email), email);
+		}
+	}
+
+	@Test
+	void findTopEarners_ShouldBreakSalaryTiesByShardOrder() {
+		try (ShardedEmployeeService store = ShardedEmployeeService.inProcess(4)) {
+			List<Employee> tied = new ArrayList<>();
+			for (int i = 0; i < 40; i++) { tied.add(employee("tie" + i + "@example.com", 10_000)); }
+			store.addEmployees(tied);
+
+			// W shardzie remisy jak w SalaryIndex (później dodany wyżej), shardy po kolei
+			List<Employee> expected = new ArrayList<>();
+			for (int shard = 0; shard < store.getShardCount(); shard++) {
+				for (int i = tied.size() - 1; i >= 0; i--) {
+					if (store.shardIndex(tied.get(i).getEmail()) == shard) { expected.add(tied.get(i)); }
+				}
+			}
+			assertEquals(expected.subList(0, 10), store.findTopEarners(10));
+
+			Employee highest = tied.stream()
+								 .min(Comparator.comparingInt((Employee e) -> store.shardIndex(e.getEmail())))
+								 .orElseThrow();
+			assertEquals(highest, store.findHighestPaidEmployee().orElseThrow());
+		}
+	}
+
+	@Test
+	void addEmployee_ShouldRejectDuplicateEmailRegardlessOfCase() {
+		Employee duplicate = new Employee("Inny", "Pracownik", "E7@EXAMPLE.com", "Firma1", Position.STAZYSTA);
+
+		assertTrue(sharded.containsEmail("E7@Example.com"));
+		assertThrows(IllegalArgumentException.class, () -> sharded.addEmployee(duplicate));
+		assertThrows(IllegalArgumentException.class, () -> sharded.addEmployees(List.of(duplicate)));
+		assertEquals(dataset.size(), sharded.count());
+	}
+
+	@Test
+	void addEmployee_ShouldAcceptConcurrentWriters() throws Exception {
+		try (ShardedEmployeeService store = ShardedEmployeeService.inProcess(8);
+			 ExecutorService writers = Executors.newFixedThreadPool(8)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int writer = 0; writer < 8; writer++) {
+				int offset = writer;
+				futures.add(writers.submit(() -> {
+					for (int i = offset; i < dataset.size(); i += 8) { store.addEmployee(dataset.get(i)); }
+				}));
+			}
+			for (Future<?> future : futures) { future.get(); }
+
+			assertEquals(dataset.size(), store.count());
+			assertEquals(single.countByPosition(), store.countByPosition());
+		}
+	}
+
+	private static Employee employee(String email, long salary) {
+		return new Employee("Jan", "Kowalski", email, "Firma1", Position.PROGRAMISTA, BigDecimal.valueOf(salary));
+	}
+
+	@Test
+	void shardInterface_ShouldAcceptCustomImplementations() {
+		EmployeeService plain = new EmployeeService();
+		try (ShardedEmployeeService store = new ShardedEmployeeService(List.of(plain))) {
+			store.addEmployees(dataset.subList(0, 100));
+
+			assertEquals(100, plain.count());
+			assertEquals(plain.getCompanyStatistics().keySet(), store.getCompanyStatistics().keySet());
+			List<Employee> expected = new ArrayList<>(dataset.subList(0, 100));
+			expected.sort(Comparator.comparing(Employee::getSalary).reversed());
+			assertEquals(expected.subList(0, 5), store.findTopEarners(5));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.concurrent.Callable;
+import model.Employee;
+import model.ImportSummary;
+import model.Position;
+import model.SourceLoadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SourceLoaderTest {
+
+	private EmployeeService employeeService;
+	private SourceLoader sourceLoader;
+
+	@BeforeEach
+	void setUp() {
+		employeeService = new EmployeeService();
+		sourceLoader = new SourceLoader(employeeService);
+	}
+
+	@Test
+	void loadAll_ShouldLoadSourcesConcurrently() {
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		sources.put("A", delayed(400, employee("a@example.com", "CompanyA")));
+		sources.put("B", delayed(400, employee("b@example.com", "CompanyB")));
+		sources.put("C", delayed(400, employee("c@example.com", "CompanyC")));
+
+		long start = System.nanoTime();
+		List<SourceLoadResult> results = sourceLoader.loadAll(sources);
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		assertEquals(3, results.size());
+		assertEquals(3, employeeService.findAll().size());
+		assertTrue(elapsedMs < 1_000, "sources were loaded sequentially: " + elapsedMs + " ms");
+	}
+
+	@Test
+	void loadAll_ShouldPreferEarlierSourceForDuplicateEmail() {
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		// Źródło o wyższym priorytecie kończy się później
+		sources.put("Primary", delayed(300, employee("dup@example.com", "PrimaryCompany")));
+		sources.put("Secondary", delayed(0, employee("DUP@example.com", "SecondaryCompany")));
+
+		List<SourceLoadResult> results = sourceLoader.loadAll(sources);
+
+		assertEquals(1, employeeService.findAll().size());
+		assertEquals("PrimaryCompany", employeeService.findAll().get(0).getCompany());
+		assertEquals(1, results.get(0).getAddedCount());
+		assertEquals(0, results.get(1).getAddedCount());
+		assertEquals(1, results.get(1).getDuplicateCount());
+	}
+
+	@Test
+	void loadAll_ShouldReportFailedSourceAndKeepOthers() {
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		sources.put("Broken", () -> { throw new IOException("source unavailable"); });
+		sources.put("Working", delayed(0, employee("ok@example.com", "Company")));
+
+		List<SourceLoadResult> results = sourceLoader.loadAll(sources);
+
+		assertFalse(results.get(0).isSuccessful());
+		assertEquals("source unavailable", results.get(0).getError());
+		assertTrue(results.get(1).isSuccessful());
+		assertEquals(1, employeeService.findAll().size());
+	}
+
+	@Test
+	void loadAll_ShouldDescribeFailure_WhenExceptionHasNoMessage() {
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		sources.put("Broken", () -> { throw new IllegalStateException(); });
+
+		List<SourceLoadResult> results = sourceLoader.loadAll(sources);
+
+		assertEquals("java.lang.IllegalStateException", results.get(0).getError());
+	}
+
+	@Test
+	void importSummary_ShouldCountOnlyRowsThatSurviveMerge() {
+		String csv = """
+		  firstName,lastName,email,company,position,salary
+		  Jan,Kowalski,DUP@example.com,Firma,PROGRAMISTA,9000
+		  Anna,Nowak,anna@example.com,Firma,PROGRAMISTA,9000
+		  """;
+		ImportSummary summary = new ImportSummary();
+		SequencedMap<String, Callable<List<Employee>>> sources = new LinkedHashMap<>();
+		sources.put("Seed", delayed(0, employee("dup@example.com", "SeedCompany")));
+		sources.put("CSV", () -> new ImportService(employeeService).parseCsv(new StringReader(csv), summary));
+
+		SourceLoadResult result = sourceLoader.loadAll(sources).get(1);
+		summary.rejectDuplicates(result.getDuplicateCount());
+
+		assertEquals(1, result.getAddedCount());
+		assertEquals(1, summary.getImportedCount());
+		assertEquals(1, summary.getErrors().size());
+	}
+
+	private static Employee employee(String email, String company) {
+		return new Employee("First", "Last", email, company, Position.PROGRAMISTA, BigDecimal.valueOf(9000));
+	}
+
+	private static Callable<List<Employee>> delayed(long delayMs, Employee... employees) {
+		return () -> {
+			Thread.sleep(delayMs);
+			return List.of(employees);
+		};
+	}
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static service.StorageFixtures.employee;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import metrics.SimpleMetricsRegistry;
+import model.Employee;
+import model.Position;
+import model.StorageMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillEmployeeStoreTest {
+
+	@TempDir Path tempDir;
+
+	@Test
+	void get_ShouldReadRowsFromMemtableAndCompactedSegments() throws IOException, InterruptedException {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 8);
+		for (int i = 0; i < 1_000; i++) { assertEquals(i, store.add(employee(i))); }
+		store.awaitCompaction();
+
+		for (int i = 0; i < 1_000; i++) { assertEquals(employee(i).toString(), store.get(i).toString()); }
+		assertEquals(1_000, store.size());
+		// 1000 = 124 zrzuty po 8 wierszy; warstwy 8 -> 32 -> 128 -> 512 zostawiają najwyżej 3 pliki na warstwę
+		assertTrue(store.segmentCount() <= 12, "segments: " + store.segmentCount());
+		try (Stream<Path> files = Files.list(tempDir)) { assertEquals(store.segmentCount(), files.count()); }
+		assertTrue(store.diskBytes() > 0);
+	}
+
+	@Test
+	void add_ShouldRejectUnstorableEmployee_BeforeItReachesMemtable() throws IOException {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 2);
+		Employee rich = new Employee(
+		  "Jan", "Kowalski", "jan@example.com", "TechCorp", Position.PREZES, new BigDecimal("1" + "0".repeat(20)));
+		Employee longCompany = new Employee(
+		  "Jan", "Kowalski", "jan@example.com", "ą".repeat(40_000), Position.PROGRAMISTA, new BigDecimal("8000"));
+
+		assertThrows(IllegalArgumentException.class, () -> store.add(rich));
+		assertThrows(IllegalArgumentException.class, () -> store.add(longCompany));
+		assertEquals(0, store.size());
+		// Kolejne zrzuty działają, a w katalogu są tylko pełne segmenty
+		for (int i = 0; i < 7; i++) { store.add(employee(i)); }
+		assertEquals(employee(0).toString(), store.get(0).toString());
+		try (Stream<Path> files = Files.list(tempDir)) { assertEquals(3, files.count()); }
+	}
+
+	@Test
+	void writer_ShouldDeletePartialFile_WhenClosedWithoutFinish() throws IOException {
+		Path path = tempDir.resolve("partial.emps");
+		try (SpillSegment.Writer writer = new SpillSegment.Writer(path, 0, 2)) {
+			writer.append(employee(1), 0);
+			// Emaile muszą rosnąć - employee0 < employee1
+			assertThrows(IllegalArgumentException.class, () -> writer.append(employee(0), 1));
+		}
+
+		assertFalse(Files.exists(path));
+	}
+
+	@Test
+	void emailIndex_ShouldFindEmailsInMemtableAndSegmentsOnly() {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 16);
+		for (int i = 0; i < 500; i++) { store.add(employee(i)); }
+		EmailIndex emails = store.emailIndex();
+
+		for (int i = 0; i < 500; i++) { assertTrue(emails.contains("employee" + i + "@example.com")); }
+		for (int i = 500; i < 2_000; i++) { assertFalse(emails.contains("employee" + i + "@example.com")); }
+	}
+
+	@Test
+	void company_ShouldConcatenateSegmentAndMemtableRows_UpToWatermark() {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 16);
+		for (int i = 0; i < 300; i++) { store.add(employee(i)); }
+
+		SpillEmployeeStore.RowView rows = store.company("firma3", 300);
+		assertEquals(300 / 40 + 1, rows.size());
+		for (int i = 0; i < rows.size(); i++) { assertEquals(3 + 40 * i, rows.row(i)); }
+		assertEquals(3, store.company("firma3", 100).size());
+		assertEquals(0, store.company("missing", 300).size());
+		assertEquals(60, store.position(Position.MANAGER, 300).size());
+	}
+
+	@Test
+	void lastNamePrefix_ShouldMatchHeapIndex_ByFilteredScan() {
+		SpillEmployeeStore store = new SpillEmployeeStore(tempDir, 16);
+		HeapEmployeeStore heapStore = new HeapEmployeeStore();
+		EmployeeIndexes heap = new EmployeeIndexes(heapStore);
+		for (int i = 0; i < 300; i++) {
+			store.add(employee(i));
+			heap.add(employee(i), heapStore.add(employee(i)));
+		}
+		EmployeeIndexes spill = EmployeeIndexes.create(store);
+
+		assertEquals(heap.lastNamePrefix("NAZWISKO1").toString(), spill.lastNamePrefix("NAZWISKO1").toString());
+		assertEquals(0, spill.lastNamePrefix("Kowalski").size());
+	}
+
+	@Test
+	void findByCompany_ShouldNotCacheResults_WhenSpilled() {
+		SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+		EmployeeService employeeService = new EmployeeService(metrics, StorageMode.SPILL);
+		for (int i = 0; i < 100; i++) { employeeService.addEmployee(employee(i)); }
+
+		assertEquals(3, employeeService.findByCompany("Firma3").size());
+		assertEquals(3, employeeService.findByCompany("Firma3").size());
+		assertTrue(metrics.dump().contains("gauge employees.cache.entries 0\n"), metrics.dump());
+	}
+
+	@Test
+	void addEmployee_ShouldRejectDuplicates_FromDiskAndMemtable() {
+		EmployeeService employeeService = new EmployeeService(StorageMode.SPILL);
+		int total = SpillEmployeeStore.MEMTABLE_ROWS + 10;
+		for (int i = 0; i < total; i++) { employeeService.addEmployee(employee(i)); }
+
+		// Wiersz 0 jest już w pliku segmentu, ostatni wciąż w memtable
+		assertThrows(IllegalArgumentException.class, () -> employeeService.addEmployee(employee(0)));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.addEmployee(employee(total - 1)));
+		assertTrue(employeeService.containsEmail("EMPLOYEE5@example.com"));
+		assertFalse(employeeService.containsEmail("employee" + total + "@example.com"));
+		assertEquals(total, employeeService.count());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import model.Employee;
+import model.Position;
+
+// Wspólne dane testów magazynów: 40 firm, 500 nazwisk, wszystkie stanowiska i pensje z groszami
+final class StorageFixtures {
+
+	private StorageFixtures() {}
+
+	static Employee employee(int i) {
+		Position position = Position.values()[i % Position.values().length];
+		BigDecimal salary = position.getBaseSalary().add(BigDecimal.valueOf(i % 7_919, 2));
+		return new Employee(
+		  "Imię" + i, "Nazwisko" + i % 500, "employee" + i + "@example.com", "Firma" + i % 40, position, salary);
+	}
+
+	static List<String> describe(List<Employee> employees) {
+		return employees.stream().map(Employee::toString).toList();
+	}
+}
\ No newline at end of file
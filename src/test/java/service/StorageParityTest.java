@@ -0,0 +1,61 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static service.StorageFixtures.describe;
+import static service.StorageFixtures.employee;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import model.EmployeeQuery;
+import model.EmployeeQuery.SortKey;
+import model.Position;
+import model.StorageMode;
+import org.junit.jupiter.api.Test;
+
+// Każdy tryb przechowywania musi odpowiadać dokładnie jak magazyn na stercie
+class StorageParityTest {
+
+	@Test
+	void employeeService_ShouldAnswerLikeHeapStore_WhenStoredOffHeap() {
+		assertSameAnswersAsHeap(StorageMode.OFF_HEAP, 3_000);
+	}
+
+	@Test
+	void employeeService_ShouldAnswerLikeHeapStore_WhenSpilledToDisk() {
+		// Kilka zrzutów memtable i wiersze wciąż w pamięci
+		assertSameAnswersAsHeap(StorageMode.SPILL, 3 * SpillEmployeeStore.MEMTABLE_ROWS + 1_000);
+	}
+
+	private static void assertSameAnswersAsHeap(StorageMode mode, int rows) {
+		EmployeeService heap = new EmployeeService(StorageMode.HEAP);
+		EmployeeService other = new EmployeeService(mode);
+		for (int i = 0; i < rows; i++) {
+			heap.addEmployee(employee(i));
+			other.addEmployee(employee(i));
+		}
+
+		assertEquals(describe(heap.findAll()), describe(other.findAll()));
+		assertEquals(describe(heap.findByCompany("firma3")), describe(other.findByCompany("FIRMA3")));
+		assertEquals(describe(heap.findTopEarners(25)), describe(other.findTopEarners(25)));
+		assertEquals(describe(heap.findTopEarners("Firma7", 10)), describe(other.findTopEarners("Firma7", 10)));
+		assertEquals(heap.findHighestPaidEmployee().toString(), other.findHighestPaidEmployee().toString());
+		assertEquals(heap.countByPosition(), other.countByPosition());
+		assertEquals(heap.groupByPosition().keySet(), other.groupByPosition().keySet());
+		assertEquals(heap.calculateAverageSalary(), other.calculateAverageSalary());
+		assertEquals(heap.getCompanyStatistics().toString(), other.getCompanyStatistics().toString());
+		assertEquals(heap.salaryPercentile(Position.MANAGER, 0.5), other.salaryPercentile(Position.MANAGER, 0.5));
+		assertTrue(other.containsEmail("EMPLOYEE7@example.com"));
+
+		Random random = new Random(5);
+		for (int i = 0; i < 50; i++) {
+			int min = 3_000 + random.nextInt(20_000);
+			EmployeeQuery query = EmployeeQuery.builder()
+									.company(random.nextBoolean() ? "Firma" + random.nextInt(40) : null)
+									.salaryBetween(BigDecimal.valueOf(min), BigDecimal.valueOf(min + 5_000))
+									.sortBy(SortKey.SALARY, random.nextBoolean())
+									.limit(1 + random.nextInt(30))
+									.build();
+			assertEquals(describe(heap.query(query)), describe(other.query(query)), query.toString());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package sketch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+	// 3 odchylenia standardowe dla p = 14 (1.04 / sqrt(16384) = 0.81%)
+	private static final double RELATIVE_ERROR = 0.025;
+
+	@Test
+	void estimate_ShouldStayWithinRelativeErrorBound() {
+		for (int cardinality : new int[] { 1_000, 50_000, 1_000_000 }) {
+			HyperLogLog hll = new HyperLogLog();
+			for (int i = 0; i < cardinality; i++) { hll.add("Company" + i); }
+
+			assertEquals(cardinality, hll.estimate(), cardinality * RELATIVE_ERROR, "n=" + cardinality);
+		}
+	}
+
+	@Test
+	void estimate_ShouldIgnoreDuplicates() {
+		HyperLogLog hll = new HyperLogLog();
+		for (int repeat = 0; repeat < 20; repeat++) {
+			for (int i = 0; i < 5_000; i++) { hll.add("Company" + i); }
+		}
+
+		assertEquals(5_000, hll.estimate(), 5_000 * RELATIVE_ERROR);
+	}
+
+	@Test
+	void estimate_ShouldBeExactForSmallSets() {
+		HyperLogLog hll = new HyperLogLog();
+		assertEquals(0, hll.estimate());
+		for (int i = 0; i < 10; i++) { hll.add("Firma" + i); }
+
+		assertEquals(10, hll.estimate());
+	}
+
+	@Test
+	void merge_ShouldEstimateUnion() {
+		HyperLogLog first = new HyperLogLog();
+		HyperLogLog second = new HyperLogLog();
+		for (int i = 0; i < 60_000; i++) { first.add("Company" + i); }
+		for (int i = 40_000; i < 100_000; i++) { second.add("Company" + i); }
+
+		first.merge(second);
+
+		assertEquals(100_000, first.estimate(), 100_000 * RELATIVE_ERROR);
+		assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+	}
+}
\ No newline at end of file
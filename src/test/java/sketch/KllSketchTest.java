@@ -0,0 +1,128 @@
+package sketch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class KllSketchTest {
+
+	private static final int N = 200_000;
+	// Udokumentowana granica dla k = 200 to ok. 1% rangi; test zostawia zapas na losowość
+	private static final double RANK_ERROR = 0.02;
+
+	@Test
+	void quantile_ShouldStayWithinRankErrorBound() {
+		KllSketch sketch = new KllSketch(KllSketch.DEFAULT_K, new SplittableRandom(1));
+		double[] values = lognormalSalaries(N, 2);
+		for (double value : values) { sketch.update(value); }
+		Arrays.sort(values);
+
+		assertEquals(N, sketch.getCount());
+		assertEquals(values[0], sketch.getMin());
+		assertEquals(values[N - 1], sketch.getMax());
+		for (double q = 0.01; q < 1; q += 0.01) {
+			double estimate = sketch.quantile(q);
+			assertTrue(rankError(values, estimate, q) <= RANK_ERROR, "q=" + q + " estimate=" + estimate);
+		}
+	}
+
+	@Test
+	void rank_ShouldStayWithinRankErrorBound() {
+		KllSketch sketch = new KllSketch(KllSketch.DEFAULT_K, new SplittableRandom(3));
+		double[] values = lognormalSalaries(N, 4);
+		for (double value : values) { sketch.update(value); }
+		Arrays.sort(values);
+
+		for (int i = 0; i < N; i += N / 100) {
+			long exactRank = upperBound(values, values[i]);
+			assertEquals(exactRank, sketch.rank(values[i]), RANK_ERROR * N);
+		}
+	}
+
+	@Test
+	void merge_ShouldMatchSingleSketchWithinBound() {
+		double[] values = lognormalSalaries(N, 5);
+		KllSketch merged = new KllSketch(KllSketch.DEFAULT_K, new SplittableRandom(6));
+		for (int part = 0; part < 8; part++) {
+			KllSketch partial = new KllSketch(KllSketch.DEFAULT_K, new SplittableRandom(10 + part));
+			for (int i = part; i < N; i += 8) { partial.update(values[i]); }
+			merged.merge(partial);
+		}
+		Arrays.sort(values);
+
+		assertEquals(N, merged.getCount());
+		for (double q : new double[] { 0.1, 0.5, 0.9, 0.99 }) {
+			assertTrue(rankError(values, merged.quantile(q), q) <= RANK_ERROR, "q=" + q);
+		}
+	}
+
+	@Test
+	void retainedItems_ShouldStayBoundedByK() {
+		KllSketch sketch = new KllSketch(KllSketch.DEFAULT_K, new SplittableRandom(7));
+		for (int i = 0; i < 1_000_000; i++) { sketch.update(i); }
+
+		assertTrue(sketch.getRetainedItems() < 4 * KllSketch.DEFAULT_K, "retained " + sketch.getRetainedItems());
+	}
+
+	@Test
+	void quantile_ShouldBeExact_WhenFewerItemsThanK() {
+		KllSketch sketch = new KllSketch();
+		for (int i = 1; i <= 100; i++) { sketch.update(i); }
+
+		assertEquals(50.0, sketch.quantile(0.5));
+		assertEquals(1.0, sketch.quantile(0));
+		assertEquals(100.0, sketch.quantile(1));
+		assertTrue(Double.isNaN(new KllSketch().quantile(0.5)));
+	}
+
+	private static double[] lognormalSalaries(int n, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			// Box-Muller: rozkład logarytmicznie normalny przypomina rozkład pensji
+			double radius = Math.sqrt(-2 * Math.log(random.nextDouble()));
+			double gaussian = radius * Math.cos(2 * Math.PI * random.nextDouble());
+			values[i] = Math.round(Math.exp(9.2 + 0.45 * gaussian));
+		}
+		return values;
+	}
+
+	// Odległość między rangami, w których występuje oszacowanie, a rangą docelową q * n
+	private static double rankError(double[] sorted, double estimate, double q) {
+		double target = q * sorted.length;
+		long low = lowerBound(sorted, estimate);
+		long high = upperBound(sorted, estimate);
+		double distance = target < low ? low - target : target > high ? target - high : 0;
+		return distance / sorted.length;
+	}
+
+	private static long lowerBound(double[] sorted, double value) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static long upperBound(double[] sorted, double value) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] <= value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
\ No newline at end of file